@@ -0,0 +1,349 @@
+import java.util.Arrays;
+
+
+/**
+ * This class holds the bipartites made from a coloring by one of the two bipartite methods, along with
+ * the number of vertices, edges, components and faces of each one.
+ * The first method pairs up the four largest color classes into six bipartites. The second method
+ * pairs the first color class with the first three colors of a second coloring of the vertices that
+ * are next to the first class two or three times.
+ * Everything is worked out from an ImmutableGraph, a Coloring and an Ordering, so a summary can be
+ * made again or at the same time as another without changing the graph.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class BipartiteSummary {
+	
+	/**
+	 * The first and second independent set of each bipartite.
+	 */
+	private final VertexSet[] firstSets, secondSets;
+	
+	/**
+	 * The color of the first set of each bipartite. For the second method the color of the second
+	 * set is its color in the second coloring.
+	 */
+	private final int[] firstColors, secondColors;
+	
+	/**
+	 * The number of vertices, edges, components and faces of each bipartite.
+	 */
+	private final int[] vertexCounts, edgeCounts, componentCounts, faceCounts;
+	
+	/**
+	 * The four largest color classes from largest to smallest for the first method, or null for the second.
+	 */
+	private final int[] fourLargest;
+	
+	/**
+	 * This counts the edges, components and faces of each bipartite.
+	 * 
+	 * @param graph The graph the sets are from.
+	 * @param firstSets The first independent set of each bipartite.
+	 * @param secondSets The second independent set of each bipartite.
+	 * @param firstColors The color of each first set.
+	 * @param secondColors The color of each second set.
+	 * @param fourLargest The four largest color classes, or null.
+	 */
+	private BipartiteSummary(ImmutableGraph graph, VertexSet[] firstSets, VertexSet[] secondSets, int[] firstColors, int[] secondColors, int[] fourLargest) {
+		this.firstSets = firstSets;
+		this.secondSets = secondSets;
+		this.firstColors = firstColors;
+		this.secondColors = secondColors;
+		this.fourLargest = fourLargest;
+		int count = firstSets.length;
+		vertexCounts = new int[count];
+		edgeCounts = new int[count];
+		componentCounts = new int[count];
+		faceCounts = new int[count];
+		
+		int[] parent = new int[graph.getVertexCount()];
+		for(int b = 0; b < count; b++) {
+			countFaces(graph, b, parent);
+		}
+	}
+	
+	/**
+	 * This finds the edges, components and faces of one bipartite.
+	 * The components are found by starting with every vertex on its own and joining the two sides of
+	 * each edge, and Euler's formula gives the faces from them. The faces include only one "background" face.
+	 * 
+	 * @param graph The graph the sets are from.
+	 * @param b The bipartite to count.
+	 * @param parent Space for the component tree, with one entry per vertex.
+	 */
+	private void countFaces(ImmutableGraph graph, int b, int[] parent) {
+		VertexSet first = firstSets[b];
+		VertexSet second = secondSets[b];
+		int vertices = first.size() + second.size();
+		for(int v = first.nextId(0); v >= 0; v = first.nextId(v+1)) {
+			parent[v] = v;
+		}
+		for(int v = second.nextId(0); v >= 0; v = second.nextId(v+1)) {
+			parent[v] = v;
+		}
+		
+		int edges = 0;
+		int components = vertices;
+		for(int v = first.nextId(0); v >= 0; v = first.nextId(v+1)) {
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int x = graph.neighbor(k);
+				if(second.contains(x)) {
+					edges++;
+					int i = root(parent, v);
+					int j = root(parent, x);
+					// If they're not both in the same component then merge
+					if(i != j) {
+						parent[j] = i;
+						components--;
+					}
+				}
+			}
+		}
+		/*
+		 * v - e + f = 2 for each component, with the background face shared by all of them
+		 * f = 1 + (e - v + 1) summed over the components = 1 + e - v + c
+		 */
+		vertexCounts[b] = vertices;
+		edgeCounts[b] = edges;
+		componentCounts[b] = components;
+		faceCounts[b] = 1 + edges - vertices + components;
+	}
+	
+	/**
+	 * @param parent The component tree.
+	 * @param v A vertex ID.
+	 * @return the vertex at the root of the component of v
+	 */
+	private static int root(int[] parent, int v) {
+		while(parent[v] != v) {
+			parent[v] = parent[parent[v]]; // Halve the path on the way up
+			v = parent[v];
+		}
+		return v;
+	}
+	
+	/**
+	 * This makes the bipartites of the first method.
+	 * It uses the four largest color classes as the independent sets, and pairs each of them with
+	 * every other to make six bipartites.
+	 * 
+	 * @param graph The colored graph.
+	 * @param coloring The coloring of the graph.
+	 * @return the six bipartites, or null if there are fewer than four colors
+	 */
+	public static BipartiteSummary firstMethod(ImmutableGraph graph, Coloring coloring) {
+		if(coloring.getNumberOfColors() < 4)
+			return null;
+		
+		// Find the four largest color classes
+		int[] fourLargestIndex = new int[]{0,1,2,3};
+		int[] copyOf4 = new int[4];
+		for(int i = 0; i < 4; i++) {
+			copyOf4[i] = coloring.colorSize(i);
+		}
+		for(int i = 0; i < 4; i++) {
+			int maxIndex = 0;
+			for(int j = 1; j < 4; j++) {
+				if(copyOf4[j] > copyOf4[maxIndex]) {
+					maxIndex = j;
+				}
+			}
+			copyOf4[maxIndex] = -1;
+			fourLargestIndex[i] = maxIndex;
+		}
+		for(int i = 4; i < coloring.getNumberOfColors(); i++) {
+			if(coloring.colorSize(i) > coloring.colorSize(fourLargestIndex[0])) {
+				fourLargestIndex[0] = i;
+			}
+			else if(coloring.colorSize(i) > coloring.colorSize(fourLargestIndex[1])) {
+				fourLargestIndex[1] = i;
+			}
+			else if(coloring.colorSize(i) > coloring.colorSize(fourLargestIndex[2])) {
+				fourLargestIndex[2] = i;
+			}
+			else if(coloring.colorSize(i) > coloring.colorSize(fourLargestIndex[3])) {
+				fourLargestIndex[3] = i;
+			}
+		}
+		
+		// Pair them up in the order <0,1>, <0,2>, <0,3>, <1,2>, <1,3>, <2,3>
+		VertexSet[] classes = coloring.colorClasses();
+		VertexSet[] firstSets = new VertexSet[6];
+		VertexSet[] secondSets = new VertexSet[6];
+		int[] firstColors = new int[6];
+		int[] secondColors = new int[6];
+		int b = 0;
+		for(int i = 0; i < 4; i++) {
+			for(int j = i+1; j < 4; j++) {
+				firstColors[b] = fourLargestIndex[i];
+				secondColors[b] = fourLargestIndex[j];
+				firstSets[b] = classes[firstColors[b]];
+				secondSets[b] = classes[secondColors[b]];
+				b++;
+			}
+		}
+		return new BipartiteSummary(graph, firstSets, secondSets, firstColors, secondColors, fourLargestIndex);
+	}
+	
+	/**
+	 * This makes the bipartites of the second method.
+	 * The first color class is the first independent set. The vertices of the other classes that are
+	 * next to the first class exactly three times (R3) or two times (R2) are colored again in smallest
+	 * last order, R3 first. The first three colors of this second coloring are the second sets.
+	 * 
+	 * @param graph The colored graph.
+	 * @param coloring The coloring of the graph.
+	 * @param ordering The smallest last ordering the graph was colored with.
+	 * @return the three bipartites, or null if there are not enough colors for them
+	 */
+	public static BipartiteSummary secondMethod(ImmutableGraph graph, Coloring coloring, Ordering ordering) {
+		if(coloring.getNumberOfColors() <= 1)
+			return null;
+		int n = graph.getVertexCount();
+		
+		// Figure out how much each point has an edge with first set
+		int[] timesAdjacentToFirst = new int[n];
+		for(int v = 0; v < n; v++) {
+			if(coloring.colorOf(v) == 0) {
+				for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+					timesAdjacentToFirst[graph.neighbor(k)]++;
+				}
+			}
+		}
+		
+		// Walking the ordering gives R3 and R2 already in smallest last order
+		int[] R3UR2 = new int[n];
+		int size = 0;
+		for(int times = 3; times >= 2; times--) {
+			for(int j = 0; j < n; j++) {
+				int v = ordering.vertexAt(j);
+				if(coloring.colorOf(v) != 0 && timesAdjacentToFirst[v] == times)
+					R3UR2[size++] = v;
+			}
+		}
+		
+		// Color the combined list
+		int[] R3UR2color = new int[n];
+		Arrays.fill(R3UR2color, -1);
+		int[] colorMarks = new int[graph.getMaxDegree()+1];
+		int currentColorCount = -1;
+		for(int i = 0; i < size; i++) {
+			int v = R3UR2[i];
+			int degree = graph.degree(v);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int c = R3UR2color[graph.neighbor(k)];
+				if(c != -1 && c < degree)
+					colorMarks[c] = i+1;
+			}
+			int color = degree;
+			for(int c = 0; c < degree; c++) {
+				if(colorMarks[c] != i+1) {
+					color = c;
+					break;
+				}
+			}
+			R3UR2color[v] = color;
+			if(color > currentColorCount)
+				currentColorCount = color;
+		}
+		currentColorCount++;
+		if(currentColorCount < 3)
+			return null;
+		
+		// Seperate the three sets
+		VertexSet firstSet = coloring.colorClasses()[0];
+		VertexSet[] firstSets = new VertexSet[3];
+		VertexSet[] secondSets = new VertexSet[3];
+		for(int c = 0; c < 3; c++) {
+			firstSets[c] = firstSet;
+			secondSets[c] = new VertexSet(n);
+		}
+		for(int i = 0; i < size; i++) {
+			int color = R3UR2color[R3UR2[i]];
+			if(color < 3)
+				secondSets[color].add(R3UR2[i]);
+		}
+		return new BipartiteSummary(graph, firstSets, secondSets, new int[]{0,0,0}, new int[]{0,1,2}, null);
+	}
+	
+	/**
+	 * @return the number of bipartites
+	 */
+	public int size() {
+		return firstSets.length;
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the first independent set of the bipartite
+	 */
+	public VertexSet getFirstSet(int b) {
+		return firstSets[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the second independent set of the bipartite
+	 */
+	public VertexSet getSecondSet(int b) {
+		return secondSets[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the color of the first set
+	 */
+	public int getFirstColor(int b) {
+		return firstColors[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the color of the second set
+	 */
+	public int getSecondColor(int b) {
+		return secondColors[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the number of vertices in both sets
+	 */
+	public int getVertexCount(int b) {
+		return vertexCounts[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the number of edges between the two sets
+	 */
+	public int getEdgeCount(int b) {
+		return edgeCounts[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the number of components
+	 */
+	public int getComponentCount(int b) {
+		return componentCounts[b];
+	}
+	
+	/**
+	 * @param b A bipartite.
+	 * @return the number of faces, including the background face
+	 */
+	public int getFaceCount(int b) {
+		return faceCounts[b];
+	}
+	
+	/**
+	 * @return a copy of the four largest color classes from largest to smallest, or null for the second method
+	 */
+	public int[] getFourLargest() {
+		return fourLargest == null ? null : fourLargest.clone();
+	}
+}
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+
+/**
+ * This class keeps vertices in buckets numbered by a key, such as the degree, so a vertex can be
+ * moved between buckets and the first vertex of a bucket found in constant time.
+ * Each bucket is a linked list kept in int arrays. Vertices join the end of a bucket, so taking
+ * the first one out always gives the vertex that has been in the bucket the longest.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class BucketQueue {
+	
+	/**
+	 * The first and last vertex in each bucket, or -1 if it is empty.
+	 */
+	private int[] head, tail;
+	
+	/**
+	 * The vertex after and before each vertex in its bucket, or -1.
+	 */
+	private int[] next, previous;
+	
+	/**
+	 * The bucket each vertex is in, or -1 if it is in none.
+	 */
+	private int[] bucketOf;
+	
+	/**
+	 * @param vertices The number of vertices.
+	 * @param buckets The number of buckets, numbered from 0.
+	 */
+	public BucketQueue(int vertices, int buckets) {
+		head = new int[buckets];
+		tail = new int[buckets];
+		next = new int[vertices];
+		previous = new int[vertices];
+		bucketOf = new int[vertices];
+		Arrays.fill(head, -1);
+		Arrays.fill(tail, -1);
+		Arrays.fill(bucketOf, -1);
+	}
+	
+	/**
+	 * This adds a vertex to the end of a bucket.
+	 * 
+	 * @param v The vertex, which must not be in a bucket.
+	 * @param bucket The bucket to add it to.
+	 */
+	public void add(int v, int bucket) {
+		bucketOf[v] = bucket;
+		next[v] = -1;
+		previous[v] = tail[bucket];
+		if(tail[bucket] == -1)
+			head[bucket] = v;
+		else
+			next[tail[bucket]] = v;
+		tail[bucket] = v;
+	}
+	
+	/**
+	 * This takes a vertex out of its bucket.
+	 * 
+	 * @param v The vertex, which must be in a bucket.
+	 */
+	public void remove(int v) {
+		int bucket = bucketOf[v];
+		if(previous[v] == -1)
+			head[bucket] = next[v];
+		else
+			next[previous[v]] = next[v];
+		if(next[v] == -1)
+			tail[bucket] = previous[v];
+		else
+			previous[next[v]] = previous[v];
+		bucketOf[v] = -1;
+	}
+	
+	/**
+	 * This moves a vertex to the end of another bucket.
+	 * 
+	 * @param v The vertex, which must be in a bucket.
+	 * @param bucket The bucket to move it to.
+	 */
+	public void move(int v, int bucket) {
+		remove(v);
+		add(v, bucket);
+	}
+	
+	/**
+	 * @param bucket A bucket.
+	 * @return the vertex that has been in the bucket the longest, or -1 if it is empty
+	 */
+	public int first(int bucket) {
+		return head[bucket];
+	}
+	
+	/**
+	 * @param v A vertex.
+	 * @return the bucket the vertex is in, or -1 if it is in none
+	 */
+	public int bucketOf(int v) {
+		return bucketOf[v];
+	}
+}
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+
+/**
+ * This class holds a coloring of the vertices of a graph, where no two neighbors share a color.
+ * The colors start from 0. A coloring can not be changed once it is made, so many of them can be
+ * made from the same graph without affecting each other.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class Coloring {
+	
+	/**
+	 * The color of each vertex ID.
+	 */
+	private final int[] colors;
+	
+	/**
+	 * The number of colors used.
+	 */
+	private final int numberOfColors;
+	
+	/**
+	 * The number of vertices with each color.
+	 */
+	private final int[] colorSizes;
+	
+	/**
+	 * The number of distinct colors among the neighbors of each vertex at the time it was colored,
+	 * or null if that is not known.
+	 */
+	private final int[] distinctAdjacentColors;
+	
+	/**
+	 * This makes a coloring from the colors of the vertices, such as colors that were changed
+	 * after the graph was first colored.
+	 * 
+	 * @param colors The color of each vertex ID. The array is copied.
+	 */
+	public Coloring(int[] colors) {
+		this(colors.clone(), null);
+	}
+	
+	/**
+	 * @param colors The color of each vertex ID. The array is kept, not copied.
+	 * @param distinctAdjacentColors The distinct colors next to each vertex when it was colored, or null.
+	 */
+	private Coloring(int[] colors, int[] distinctAdjacentColors) {
+		this.colors = colors;
+		this.distinctAdjacentColors = distinctAdjacentColors;
+		int largest = -1;
+		for(int c : colors) {
+			if(c > largest)
+				largest = c;
+		}
+		numberOfColors = largest+1;
+		colorSizes = new int[numberOfColors];
+		for(int c : colors) {
+			colorSizes[c]++;
+		}
+	}
+	
+	/**
+	 * This colors the vertices one at a time in the given order.
+	 * Each vertex gets the smallest color that none of its already colored neighbors have.
+	 * With the smallest last ordering this is the smallest last coloring.
+	 * 
+	 * @param graph The graph to color.
+	 * @param ordering The order to color the vertices in.
+	 * @return the coloring
+	 */
+	public static Coloring greedy(ImmutableGraph graph, Ordering ordering) {
+		int n = graph.getVertexCount();
+		int[] colors = new int[n];
+		int[] distinct = new int[n];
+		Arrays.fill(colors, -1);
+		// Marks the colors next to the current vertex, a new stamp for every vertex saves clearing it
+		int[] colorMarks = new int[graph.getMaxDegree()+1];
+		
+		for(int j = 0; j < n; j++) {
+			int v = ordering.vertexAt(j);
+			int degree = graph.degree(v);
+			int stamp = j+1;
+			// Figure out which adjacent vertices have a color already
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int c = colors[graph.neighbor(k)];
+				if(c != -1 && c < degree && colorMarks[c] != stamp) {
+					colorMarks[c] = stamp;
+					distinct[v]++;
+				}
+			}
+			// Find the first not used color
+			int color = degree;
+			for(int c = 0; c < degree; c++) {
+				if(colorMarks[c] != stamp) {
+					color = c;
+					break;
+				}
+			}
+			colors[v] = color;
+		}
+		return new Coloring(colors, distinct);
+	}
+	
+	/**
+	 * This colors the vertices with DSATUR. The next vertex to color is always the one whose
+	 * neighbors already have the most distinct colors (its saturation), and ties go to the
+	 * vertex with the larger degree. It gets the smallest color none of its neighbors have.
+	 * The vertices wait in a SaturationQueue, with one bucket for each saturation that keeps its vertices
+	 * in a heap by degree, so the queue takes memory linear in the vertices plus the largest degree.
+	 * The colors next to each vertex are kept as a small bitset. A step costs the degree of the vertex
+	 * times the logarithm of a bucket size to move its neighbors, and the search down for the highest
+	 * bucket that is not empty can pass up to the largest degree of empty buckets, although over the
+	 * whole coloring it passes no more buckets than there are saturation increases.
+	 * 
+	 * @param graph The graph to color.
+	 * @return the coloring
+	 */
+	public static Coloring dsatur(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		int maxDegree = graph.getMaxDegree();
+		int[] colors = new int[n];
+		int[] saturation = new int[n];
+		Arrays.fill(colors, -1);
+		// No vertex can need more than maxDegree+1 colors
+		int words = (maxDegree+1+63)/64;
+		long[] adjacentColors = new long[n*words];
+		
+		int[] degree = new int[n];
+		for(int v = 0; v < n; v++) {
+			degree[v] = graph.degree(v);
+		}
+		SaturationQueue queue = new SaturationQueue(degree, maxDegree+1);
+		for(int v = 0; v < n; v++) {
+			queue.add(v, 0);
+		}
+		int top = 0;
+		
+		for(int j = 0; j < n; j++) {
+			while(queue.first(top) == -1)
+				top--;
+			int v = queue.first(top);
+			queue.remove(v);
+			
+			// The first color that is not next to the vertex
+			int color = 0;
+			for(int w = 0; w < words; w++) {
+				long free = ~adjacentColors[v*words+w];
+				if(free != 0) {
+					color = w*64+Long.numberOfTrailingZeros(free);
+					break;
+				}
+			}
+			colors[v] = color;
+			
+			// Tell the neighbors still waiting that they are next to one more color
+			int word = color >>> 6;
+			long bit = 1L << (color & 63);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int u = graph.neighbor(k);
+				if(colors[u] == -1 && (adjacentColors[u*words+word] & bit) == 0) {
+					adjacentColors[u*words+word] |= bit;
+					saturation[u]++;
+					queue.move(u, saturation[u]);
+					if(saturation[u] > top)
+						top = saturation[u];
+				}
+			}
+		}
+		return new Coloring(colors, saturation);
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the color of the vertex
+	 */
+	public int colorOf(int v) {
+		return colors[v];
+	}
+	
+	/**
+	 * @return the number of colors used
+	 */
+	public int getNumberOfColors() {
+		return numberOfColors;
+	}
+	
+	/**
+	 * @param c A color.
+	 * @return the number of vertices with the color
+	 */
+	public int colorSize(int c) {
+		return colorSizes[c];
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the number of distinct colors among the neighbors of the vertex at the time it was colored,
+	 * or -1 if the coloring was not made here
+	 */
+	public int distinctAdjacentColors(int v) {
+		return distinctAdjacentColors == null ? -1 : distinctAdjacentColors[v];
+	}
+	
+	/**
+	 * @return a new set of vertices for each color
+	 */
+	public VertexSet[] colorClasses() {
+		VertexSet[] sets = new VertexSet[numberOfColors];
+		for(int c = 0; c < numberOfColors; c++) {
+			sets[c] = new VertexSet(colors.length);
+		}
+		for(int v = 0; v < colors.length; v++) {
+			sets[colors[v]].add(v);
+		}
+		return sets;
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * This class measures how much memory a whole graph takes for each point, with the points keeping their
+ * coordinates as doubles and with them kept compact as fixed point numbers. The graph is measured in two
+ * parts: the points with their adjacency lists, and then the graph that can not be changed, which is made
+ * from them for the orderings and colorings. Each part is the growth of the heap once it is made, after
+ * the garbage is collected, so the numbers are close but not exact. The time to make the points and
+ * find their edges is printed too.
+ * The arguments are the number of vertices and the average degree, if other ones are wanted.
+ * For example: 200000 32
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class CompactCoordinateBenchmark {
+	
+	/**
+	 * @param args The number of vertices and the average degree, or nothing for 200000 and 32.
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int degree = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		
+		System.out.println("Distribution,N,Avg Degree,Coordinates,Points B/pt,Immutable graph B/pt,Total B/pt,Build ms");
+		for(String distribution : new String[] {"square", "torus", "sphere", "cube5"}) {
+			double r = makeGraph(distribution).estimateRadius(n, degree, 0.05);
+			for(boolean compact : new boolean[] {false, true}) {
+				RandomGeometricGraph rgg = makeGraph(distribution);
+				rgg.setCompactCoordinates(compact);
+				long before = usedMemory();
+				long start = System.nanoTime();
+				rgg.createPoints(n, r);
+				long time = System.nanoTime()-start;
+				long points = usedMemory();
+				rgg.getImmutableGraph();
+				long all = usedMemory();
+				System.out.println(String.format("%s,%d,%d,%s,%.1f,%.1f,%.1f,%.0f", rgg.distributionType(), n, degree, compact ? "Fixed point" : "Double",
+						(double) (points-before)/n, (double) (all-points)/n, (double) (all-before)/n, time/1e6));
+			}
+		}
+	}
+	
+	/**
+	 * @param distribution square, torus, sphere or cube5
+	 * @return a new graph of that distribution
+	 */
+	private static RandomGeometricGraph makeGraph(String distribution) {
+		if(distribution.equals("torus"))
+			return new RGGUnitTorus(650, 650);
+		else if(distribution.equals("sphere"))
+			return new RGGSphere(650, 650);
+		else if(distribution.equals("cube5"))
+			return new RGGUnitCube(650, 650, 5);
+		else
+			return new RGGUnitSquare(650, 650);
+	}
+	
+	/**
+	 * @return the number of bytes in use on the heap once the garbage is collected
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 4; i++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return runtime.totalMemory()-runtime.freeMemory();
+	}
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+
+
+/**
+ * This class holds how the components of a random geometric graph change as the radius grows.
+ * The candidate edges are added in increasing length into DisjointSets, and every edge that
+ * joins two components is a step where the component count drops by one. There are at most N-1
+ * steps, and between them nothing changes, so the steps give the number of components and the
+ * size of the giant component at every radius from a single pass.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class ConnectivityAnalysis {
+	
+	/**
+	 * The number of vertices.
+	 */
+	private final int vertexCount;
+	
+	/**
+	 * The largest radius the edges were found for.
+	 */
+	private final double maxRadius;
+	
+	/**
+	 * The radius of each step, the length of the edge that joined two components.
+	 */
+	private final double[] stepRadius;
+	
+	/**
+	 * The number of components after each step.
+	 */
+	private final int[] stepComponents;
+	
+	/**
+	 * The size of the giant component after each step.
+	 */
+	private final int[] stepGiant;
+	
+	/**
+	 * This adds the edges in order and records every step.
+	 * 
+	 * @param n The number of vertices.
+	 * @param from One end of each edge.
+	 * @param to The other end of each edge.
+	 * @param lengthSq The squared length of each edge, in increasing order.
+	 * @param count The number of edges.
+	 * @param maxRadius The largest radius the edges were found for.
+	 */
+	public ConnectivityAnalysis(int n, int[] from, int[] to, double[] lengthSq, int count, double maxRadius) {
+		this.vertexCount = n;
+		this.maxRadius = maxRadius;
+		int most = Math.max(n-1, 0);
+		double[] radii = new double[most];
+		int[] components = new int[most];
+		int[] giant = new int[most];
+		DisjointSets sets = new DisjointSets(n);
+		int steps = 0;
+		// Once everything is joined no edge can change anything
+		for(int i = 0; i < count && sets.getCount() > 1; i++) {
+			if(sets.union(from[i], to[i])) {
+				radii[steps] = radiusOf(lengthSq[i]);
+				components[steps] = sets.getCount();
+				giant[steps] = sets.getLargestSize();
+				steps++;
+			}
+		}
+		stepRadius = Arrays.copyOf(radii, steps);
+		stepComponents = Arrays.copyOf(components, steps);
+		stepGiant = Arrays.copyOf(giant, steps);
+	}
+	
+	/**
+	 * The square root can round down, and then giving the radius back to setSweepRadius would leave out
+	 * the edge, so this finds the smallest radius whose square is at least the squared length.
+	 * 
+	 * @param lengthSq The squared length of an edge.
+	 * @return the smallest radius that has the edge when it is squared
+	 */
+	private static double radiusOf(double lengthSq) {
+		double r = Math.sqrt(lengthSq);
+		while(r*r < lengthSq)
+			r = Math.nextUp(r);
+		while(r > 0 && Math.nextAfter(r, 0)*Math.nextAfter(r, 0) >= lengthSq)
+			r = Math.nextAfter(r, 0);
+		return r;
+	}
+	
+	/**
+	 * @param r A radius.
+	 * @return the number of steps at or below the radius
+	 */
+	private int stepsUpTo(double r) {
+		int low = 0, high = stepRadius.length;
+		while(low < high) {
+			int mid = (low+high) >>> 1;
+			if(stepRadius[mid] <= r)
+				low = mid+1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * @return true if the graph is connected at the largest radius
+	 */
+	public boolean isConnected() {
+		return vertexCount <= 1 || stepRadius.length == vertexCount-1;
+	}
+	
+	/**
+	 * @return the smallest radius where the graph is connected, or -1 if it is not connected at the largest radius
+	 */
+	public double getConnectivityRadius() {
+		if(vertexCount <= 1)
+			return 0;
+		return isConnected() ? stepRadius[stepRadius.length-1] : -1;
+	}
+	
+	/**
+	 * @param fraction A share of the vertices, from 0 to 1.
+	 * @return the smallest radius where the giant component has at least the share of the vertices,
+	 * or -1 if it does not by the largest radius
+	 */
+	public double getPercolationRadius(double fraction) {
+		double needed = fraction*vertexCount;
+		if(needed <= 1)
+			return 0;
+		// The giant component never shrinks, so the first step that reaches it is found by halving
+		int low = 0, high = stepGiant.length;
+		while(low < high) {
+			int mid = (low+high) >>> 1;
+			if(stepGiant[mid] >= needed)
+				high = mid;
+			else
+				low = mid+1;
+		}
+		return low < stepGiant.length ? stepRadius[low] : -1;
+	}
+	
+	/**
+	 * @param r A radius no larger than the largest radius.
+	 * @return the number of components at the radius
+	 */
+	public int componentsAt(double r) {
+		int s = stepsUpTo(r);
+		return s == 0 ? vertexCount : stepComponents[s-1];
+	}
+	
+	/**
+	 * @param r A radius no larger than the largest radius.
+	 * @return the number of vertices in the giant component at the radius
+	 */
+	public int giantComponentAt(double r) {
+		int s = stepsUpTo(r);
+		if(s == 0)
+			return vertexCount > 0 ? 1 : 0;
+		return stepGiant[s-1];
+	}
+	
+	/**
+	 * @return the number of steps, the edges that joined two components
+	 */
+	public int getStepCount() {
+		return stepRadius.length;
+	}
+	
+	/**
+	 * @param i A step.
+	 * @return the radius of the step
+	 */
+	public double getStepRadius(int i) {
+		return stepRadius[i];
+	}
+	
+	/**
+	 * @param i A step.
+	 * @return the number of components after the step
+	 */
+	public int getStepComponents(int i) {
+		return stepComponents[i];
+	}
+	
+	/**
+	 * @param i A step.
+	 * @return the size of the giant component after the step
+	 */
+	public int getStepGiant(int i) {
+		return stepGiant[i];
+	}
+	
+	/**
+	 * @return the number of vertices
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+	
+	/**
+	 * @return the largest radius the edges were found for
+	 */
+	public double getMaxRadius() {
+		return maxRadius;
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * This class holds the core number of every vertex of a graph. The k-core is the largest part of
+ * the graph where every vertex has at least k neighbors, and the core number of a vertex is the
+ * largest k whose core it is in. The largest core number is the degeneracy, which is the same as
+ * the largest degree when deleted in the smallest last ordering.
+ * <p>
+ * The core numbers are found with the h-index iteration, so the vertices can be worked on at the
+ * same time. Every vertex starts at its degree. Then, over and over, each vertex takes the largest h
+ * such that at least h of its neighbors have a value of h or more. The values only go down and stop
+ * at the core numbers. Only vertices next to one that changed are worked on again.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class CoreDecomposition {
+	
+	/**
+	 * The core number of each vertex ID.
+	 */
+	private final int[] cores;
+	
+	/**
+	 * The largest core number.
+	 */
+	private final int degeneracy;
+	
+	/**
+	 * The number of rounds the iteration took.
+	 */
+	private final int rounds;
+	
+	/**
+	 * @param cores The core number of each vertex ID, which is kept, not copied.
+	 * @param rounds The number of rounds it took to find them.
+	 */
+	private CoreDecomposition(int[] cores, int rounds) {
+		this.cores = cores;
+		this.rounds = rounds;
+		int largest = 0;
+		for(int k : cores) {
+			if(k > largest)
+				largest = k;
+		}
+		degeneracy = largest;
+	}
+	
+	/**
+	 * This finds the core numbers with a thread for each processor.
+	 * 
+	 * @param graph The graph to decompose.
+	 * @return the core numbers
+	 */
+	public static CoreDecomposition compute(ImmutableGraph graph) {
+		return compute(graph, ParallelRange.getThreads());
+	}
+	
+	/**
+	 * This finds the core numbers.
+	 * A vertex can read the new value of a neighbor in the same round or the one from the round
+	 * before. Both are at least the core number of the neighbor, so either way the values stay
+	 * at or above the core numbers, and a round where nothing changes means they are all found.
+	 * 
+	 * @param graph The graph to decompose.
+	 * @param threads The number of threads to use.
+	 * @return the core numbers
+	 */
+	public static CoreDecomposition compute(final ImmutableGraph graph, int threads) {
+		final int n = graph.getVertexCount();
+		final int[] values = new int[n];
+		final boolean[] active = new boolean[n];
+		final boolean[] nextActive = new boolean[n];
+		for(int v = 0; v < n; v++) {
+			values[v] = graph.degree(v);
+			active[v] = true;
+		}
+		// More chunks than threads so a chunk with many active vertices does not hold up the round
+		final int chunks = threads <= 1 ? 1 : threads*4;
+		final boolean[] changed = new boolean[chunks];
+		final int[][] counts = new int[chunks][graph.getMaxDegree()+2];
+		
+		int rounds = 0;
+		boolean anyChanged = true;
+		while(anyChanged) {
+			rounds++;
+			final boolean[] current = (rounds % 2 == 1) ? active : nextActive;
+			final boolean[] next = (rounds % 2 == 1) ? nextActive : active;
+			ParallelRange.forEach(n, chunks, new ParallelRange.Body() {
+				@Override
+				public void run(int chunk, int start, int end) {
+					int[] count = counts[chunk];
+					boolean any = false;
+					for(int v = start; v < end; v++) {
+						if(!current[v])
+							continue;
+						current[v] = false;
+						int h = hIndex(graph, v, values, count);
+						if(h < values[v]) {
+							values[v] = h;
+							any = true;
+							for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+								next[graph.neighbor(k)] = true;
+							}
+						}
+					}
+					changed[chunk] = any;
+				}
+			});
+			anyChanged = false;
+			for(int c = 0; c < chunks; c++) {
+				anyChanged |= changed[c];
+			}
+		}
+		return new CoreDecomposition(values, rounds);
+	}
+	
+	/**
+	 * This finds the largest h, no more than the value of the vertex, such that at least h
+	 * neighbors have a value of h or more.
+	 * 
+	 * @param graph The graph.
+	 * @param v The vertex.
+	 * @param values The value of every vertex.
+	 * @param count A work array with room for the largest degree plus one, which is left cleared.
+	 * @return the h-index of the neighbors
+	 */
+	private static int hIndex(ImmutableGraph graph, int v, int[] values, int[] count) {
+		int bound = values[v];
+		for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+			count[Math.min(values[graph.neighbor(k)], bound)]++;
+		}
+		int h = bound;
+		int atLeast = count[bound];
+		while(h > 0 && atLeast < h) {
+			h--;
+			atLeast += count[h];
+		}
+		for(int i = 0; i <= bound; i++) {
+			count[i] = 0;
+		}
+		return h;
+	}
+	
+	/**
+	 * This checks the core numbers against a smallest last ordering. Since the smallest last
+	 * ordering always removes a vertex of the smallest degree left, the core number of a vertex is
+	 * the largest degree when deleted of it and every vertex removed before it.
+	 * 
+	 * @param smallestLast The smallest last ordering of the same graph.
+	 * @return true if the core numbers agree with it
+	 */
+	public boolean agreesWith(Ordering smallestLast) {
+		if(smallestLast.size() != cores.length)
+			return false;
+		int largest = 0;
+		// The last position was removed first
+		for(int j = smallestLast.size()-1; j >= 0; j--) {
+			largest = Math.max(largest, smallestLast.degreeRemovedAt(j));
+			if(cores[smallestLast.vertexAt(j)] != largest)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the core number of the vertex
+	 */
+	public int coreOf(int v) {
+		return cores[v];
+	}
+	
+	/**
+	 * @return the number of vertices
+	 */
+	public int size() {
+		return cores.length;
+	}
+	
+	/**
+	 * @return the largest core number
+	 */
+	public int getDegeneracy() {
+		return degeneracy;
+	}
+	
+	/**
+	 * @return the number of rounds the iteration took
+	 */
+	public int getRounds() {
+		return rounds;
+	}
+	
+	/**
+	 * @return the number of vertices with each core number, from 0 to the degeneracy
+	 */
+	public int[] coreDistribution() {
+		int[] distribution = new int[degeneracy+1];
+		for(int k : cores) {
+			distribution[k]++;
+		}
+		return distribution;
+	}
+}
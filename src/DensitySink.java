@@ -0,0 +1,257 @@
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+
+/**
+ * This sink turns the drawing calls for a view into a density picture instead of drawing them.
+ * It is used when far more points and edges would be drawn than there are pixels, so most of
+ * them would land on top of each other anyway. Each circle is counted at its center pixel and
+ * each line at its middle pixel, which is a single pass over the coordinates. Filled circles
+ * with a color are also counted by color at their pixel, in a table that only holds the pairs of
+ * a pixel and a color that come up, so a colored view shows the most common color at each pixel.
+ * When colors are tied at a pixel, the one with the smallest RGB value is shown, so the picture
+ * does not depend on the order the circles are drawn in.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class DensitySink implements PrimitiveSink {
+	
+	/**
+	 * The width of the picture in pixels.
+	 */
+	private int width;
+	
+	/**
+	 * The height of the picture in pixels.
+	 */
+	private int height;
+	
+	/**
+	 * The number of circles centered on each pixel.
+	 */
+	private int[] pointCounts;
+	
+	/**
+	 * The number of lines with their middle on each pixel.
+	 */
+	private int[] edgeCounts;
+	
+	/**
+	 * The smallest number of slots in the table of color counts.
+	 */
+	private static final int MIN_SLOTS = 1024;
+	
+	/**
+	 * The pixel in the high 32 bits and the palette index in the low 32 bits for each slot of
+	 * the table of color counts, in open addressing, or -1 for an empty slot.
+	 */
+	private long[] colorKeys;
+	
+	/**
+	 * The number of circles of the color at the pixel for each slot of the table.
+	 */
+	private int[] colorCounts;
+	
+	/**
+	 * The number of slots in use.
+	 */
+	private int usedSlots;
+	
+	/**
+	 * The colors that have voted.
+	 */
+	private ArrayList<Color> palette = new ArrayList<Color>();
+	
+	/**
+	 * The index in the palette of each color.
+	 */
+	private HashMap<Color, Integer> paletteIndex = new HashMap<Color, Integer>();
+	
+	/**
+	 * @param w The width of the picture in pixels.
+	 * @param h The height of the picture in pixels.
+	 */
+	public DensitySink(int w, int h) {
+		width = w;
+		height = h;
+		pointCounts = new int[w*h];
+		edgeCounts = new int[w*h];
+		colorKeys = new long[MIN_SLOTS];
+		colorCounts = new int[MIN_SLOTS];
+		Arrays.fill(colorKeys, -1);
+	}
+	
+	/**
+	 * @param x The horizontal location.
+	 * @param y The vertical location.
+	 * @return the pixel index, or -1 if it is outside of the picture
+	 */
+	private int pixel(int x, int y) {
+		if(x < 0 || y < 0 || x >= width || y >= height)
+			return -1;
+		return y*width + x;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#line(int, int, int, int)
+	 */
+	@Override
+	public void line(int x1, int y1, int x2, int y2) {
+		int i = pixel((x1+x2)/2, (y1+y2)/2);
+		if(i >= 0)
+			edgeCounts[i]++;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#fillOval(int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void fillOval(int x, int y, int size, Color fill) {
+		int i = pixel(x+size/2, y+size/2);
+		if(i < 0)
+			return;
+		pointCounts[i]++;
+		if(Color.WHITE.equals(fill))
+			return; // Plain vertices only add to the density
+		Integer index = paletteIndex.get(fill);
+		if(index == null) {
+			index = palette.size();
+			palette.add(fill);
+			paletteIndex.put(fill, index);
+		}
+		countColor(((long) i << 32) | index);
+	}
+	
+	/**
+	 * This adds one to the count of a pair of a pixel and a color, making the table bigger when it is half full.
+	 * 
+	 * @param key The pixel in the high 32 bits and the palette index in the low 32 bits.
+	 */
+	private void countColor(long key) {
+		int slot = slotOf(colorKeys, key);
+		if(colorKeys[slot] == key) {
+			colorCounts[slot]++;
+			return;
+		}
+		colorKeys[slot] = key;
+		colorCounts[slot] = 1;
+		if(++usedSlots*2 > colorKeys.length) {
+			long[] oldKeys = colorKeys;
+			int[] oldCounts = colorCounts;
+			colorKeys = new long[oldKeys.length*2];
+			colorCounts = new int[oldKeys.length*2];
+			Arrays.fill(colorKeys, -1);
+			for(int s = 0; s < oldKeys.length; s++) {
+				if(oldKeys[s] >= 0) {
+					int to = slotOf(colorKeys, oldKeys[s]);
+					colorKeys[to] = oldKeys[s];
+					colorCounts[to] = oldCounts[s];
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param keys The slots of a table.
+	 * @param key A key.
+	 * @return the slot holding the key, or the empty slot it would go in
+	 */
+	private static int slotOf(long[] keys, long key) {
+		int mask = keys.length-1;
+		long hash = key*0x9E3779B97F4A7C15L;
+		int slot = (int) (hash ^ (hash >>> 32)) & mask;
+		while(keys[slot] != -1 && keys[slot] != key) {
+			slot = (slot+1) & mask;
+		}
+		return slot;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#drawOval(int, int, int)
+	 */
+	@Override
+	public void drawOval(int x, int y, int size) {
+		// The outline belongs to a circle that was already counted
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#marker(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void marker(int x, int y, int fillSize, int outlineSize, Color fill) {
+		fillOval(x, y, fillSize, fill);
+	}
+	
+	/**
+	 * This makes the density picture. Vertices are darker or more strongly colored where
+	 * there are more of them, and edges show as a lighter gray where there are no vertices.
+	 * The shading uses a log scale so sparse areas still show up.
+	 * 
+	 * @return the picture
+	 */
+	public BufferedImage toImage() {
+		int maxPoints = 0, maxEdges = 0;
+		for(int i = 0; i < pointCounts.length; i++) {
+			maxPoints = Math.max(maxPoints, pointCounts[i]);
+			maxEdges = Math.max(maxEdges, edgeCounts[i]);
+		}
+		double pointScale = 1.0/Math.log1p(Math.max(1, maxPoints));
+		double edgeScale = 1.0/Math.log1p(Math.max(1, maxEdges));
+		
+		// The most common color of each pixel, as a palette index plus one, or 0 for none
+		int pixels = width*height;
+		int[] topColor = new int[pixels];
+		int[] topCount = new int[pixels];
+		for(int s = 0; s < colorKeys.length; s++) {
+			if(colorKeys[s] < 0)
+				continue;
+			int i = (int) (colorKeys[s] >>> 32);
+			int index = (int) colorKeys[s];
+			int count = colorCounts[s];
+			if(count > topCount[i] || (count == topCount[i]
+					&& (palette.get(index).getRGB() & 0xFFFFFF) < (palette.get(topColor[i]-1).getRGB() & 0xFFFFFF))) {
+				topColor[i] = index+1;
+				topCount[i] = count;
+			}
+		}
+		
+		int[] rgb = new int[width*height];
+		for(int i = 0; i < rgb.length; i++) {
+			if(pointCounts[i] > 0) {
+				double t = Math.log1p(pointCounts[i])*pointScale;
+				if(topColor[i] > 0) {
+					rgb[i] = blend(palette.get(topColor[i]-1), 0.35 + 0.65*t);
+				}
+				else {
+					rgb[i] = blend(Color.BLACK, 0.35 + 0.6*t);
+				}
+			}
+			else if(edgeCounts[i] > 0) {
+				rgb[i] = blend(Color.BLACK, 0.15 + 0.45*Math.log1p(edgeCounts[i])*edgeScale);
+			}
+			else {
+				rgb[i] = 0xFFFFFF;
+			}
+		}
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		image.setRGB(0, 0, width, height, rgb, 0, width);
+		return image;
+	}
+	
+	/**
+	 * @param c The color to move towards.
+	 * @param amount How far to move from white, from 0 to 1.
+	 * @return the RGB value between white and the color
+	 */
+	private static int blend(Color c, double amount) {
+		int r = (int) (255 - (255 - c.getRed())*amount);
+		int g = (int) (255 - (255 - c.getGreen())*amount);
+		int b = (int) (255 - (255 - c.getBlue())*amount);
+		return (r << 16) | (g << 8) | b;
+	}
+}
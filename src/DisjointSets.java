@@ -0,0 +1,106 @@
+/**
+ * This class keeps the vertices in sets that can be joined, such as the components of a graph
+ * that edges are being added to. Each set is a tree, and the smaller tree is always put under
+ * the larger one, so finding the set of a vertex takes almost constant time.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class DisjointSets {
+	
+	/**
+	 * The vertex above each vertex in its tree, or itself at the root.
+	 */
+	private final int[] parent;
+	
+	/**
+	 * The number of vertices in the tree of each root.
+	 */
+	private final int[] size;
+	
+	/**
+	 * The number of sets.
+	 */
+	private int count;
+	
+	/**
+	 * The number of vertices in the largest set.
+	 */
+	private int largest;
+	
+	/**
+	 * This puts every vertex in a set of its own.
+	 * 
+	 * @param n The number of vertices.
+	 */
+	public DisjointSets(int n) {
+		parent = new int[n];
+		size = new int[n];
+		for(int v = 0; v < n; v++) {
+			parent[v] = v;
+			size[v] = 1;
+		}
+		count = n;
+		largest = n > 0 ? 1 : 0;
+	}
+	
+	/**
+	 * @param v A vertex.
+	 * @return the vertex at the root of the set of v
+	 */
+	public int find(int v) {
+		while(parent[v] != v) {
+			parent[v] = parent[parent[v]]; // Halve the path on the way up
+			v = parent[v];
+		}
+		return v;
+	}
+	
+	/**
+	 * This joins the sets of two vertices.
+	 * 
+	 * @param u A vertex.
+	 * @param v Another vertex.
+	 * @return true if they were in different sets, false if nothing changed
+	 */
+	public boolean union(int u, int v) {
+		int i = find(u);
+		int j = find(v);
+		if(i == j)
+			return false;
+		if(size[i] < size[j]) {
+			int t = i;
+			i = j;
+			j = t;
+		}
+		parent[j] = i;
+		size[i] += size[j];
+		if(size[i] > largest)
+			largest = size[i];
+		count--;
+		return true;
+	}
+	
+	/**
+	 * @param v A vertex.
+	 * @return the number of vertices in the set of v
+	 */
+	public int sizeOf(int v) {
+		return size[find(v)];
+	}
+	
+	/**
+	 * @return the number of sets
+	 */
+	public int getCount() {
+		return count;
+	}
+	
+	/**
+	 * @return the number of vertices in the largest set
+	 */
+	public int getLargestSize() {
+		return largest;
+	}
+}
@@ -0,0 +1,253 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class tests one point against a block of candidate points at a time. The candidates are
+ * kept in primitive arrays of coordinates, one array for each axis, instead of in Point objects,
+ * and the result is a mask with a bit set for every candidate within the distance. The coordinates
+ * are read one after another from memory instead of from objects spread around the heap, and the loop
+ * has no calls and no branch on the comparison, so about as many candidates are tested as fit in a
+ * cache line before the next one is needed. The distance is summed in the same order as
+ * Point.distanceSq, so the mask agrees with testing the pairs one at a time.
+ * If the jdk.incubator.vector module is there, the blocks are tested by the VectorDistanceKernel
+ * instead, which finds exactly the same masks, and otherwise by the scalar loops here.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class DistanceKernel {
+	
+	/**
+	 * The most candidates one call looks at, one for each bit of the mask.
+	 */
+	public static final int BLOCK = 64;
+	
+	/**
+	 * The kernel that tests the blocks one candidate at a time.
+	 */
+	public static final DistanceKernel SCALAR = new DistanceKernel();
+	
+	/**
+	 * The kernel that tests the blocks with vector instructions, or null if the jdk.incubator.vector
+	 * module was not added when the program was started.
+	 */
+	public static final DistanceKernel VECTOR = loadVector();
+	
+	/**
+	 * The kernel the searches use.
+	 */
+	private static DistanceKernel kernel = VECTOR != null ? VECTOR : SCALAR;
+	
+	/**
+	 * Only this class and the VectorDistanceKernel make kernels.
+	 */
+	protected DistanceKernel() {
+	}
+	
+	/**
+	 * The VectorDistanceKernel is loaded by name, so this class still runs where the module is missing.
+	 * 
+	 * @return the vector kernel, or null if it cannot be loaded
+	 */
+	private static DistanceKernel loadVector() {
+		try {
+			return (DistanceKernel) Class.forName("VectorDistanceKernel").getConstructor().newInstance();
+		}
+		catch(Exception e) {
+			return null;
+		}
+		catch(LinkageError e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * @param vector true to test the blocks with the vector kernel if it was loaded, false for the scalar one
+	 */
+	public static void setVector(boolean vector) {
+		kernel = vector && VECTOR != null ? VECTOR : SCALAR;
+	}
+	
+	/**
+	 * @return true if the blocks are tested with the vector kernel
+	 */
+	public static boolean isVector() {
+		return kernel == VECTOR && VECTOR != null;
+	}
+	
+	/**
+	 * This finds which candidates in a block are within the distance of a point.
+	 * 
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, ignored if there are two dimensions.
+	 * @param coords The coordinates of the candidates, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param count The number of candidates in the block, at most BLOCK.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @return the mask with bit k set if the candidate at from+k is within the distance
+	 */
+	public static long within(double x, double y, double z, double[][] coords, int from, int count, double distanceSq) {
+		return kernel.mask(x, y, z, coords, from, count, distanceSq);
+	}
+	
+	/**
+	 * This finds which candidates in a block are within the distance of a point, with this kernel.
+	 * 
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, ignored if there are two dimensions.
+	 * @param coords The coordinates of the candidates, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param count The number of candidates in the block, at most BLOCK.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @return the mask with bit k set if the candidate at from+k is within the distance
+	 */
+	public long mask(double x, double y, double z, double[][] coords, int from, int count, double distanceSq) {
+		double[] xs = coords[0];
+		double[] ys = coords[1];
+		long mask = 0;
+		if(coords.length == 2) {
+			for(int k = 0; k < count; k++) {
+				double dx = x-xs[from+k];
+				double dy = y-ys[from+k];
+				double d = dx*dx+dy*dy;
+				mask |= (d <= distanceSq ? 1L : 0L) << k;
+			}
+		}
+		else {
+			double[] zs = coords[2];
+			for(int k = 0; k < count; k++) {
+				double dx = x-xs[from+k];
+				double dy = y-ys[from+k];
+				double dz = z-zs[from+k];
+				double d = dx*dx+dy*dy+dz*dz;
+				mask |= (d <= distanceSq ? 1L : 0L) << k;
+			}
+		}
+		return mask;
+	}
+	
+	/**
+	 * This finds every candidate in a range that is within the distance of a point, a block at a time,
+	 * and adds them to the neighbors. The point itself is left out if it is one of the candidates.
+	 * 
+	 * @param p The point.
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, ignored if there are two dimensions.
+	 * @param candidates The candidate points, in the same order as their coordinates.
+	 * @param coords The coordinates of the candidates, one array for each axis.
+	 * @param from The position of the first candidate.
+	 * @param to One past the position of the last candidate.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	public static void addNeighbors(Point p, double x, double y, double z, Point[] candidates, double[][] coords,
+			int from, int to, double distanceSq, ArrayList<Point> neighbors) {
+		for(int start = from; start < to; start += BLOCK) {
+			int count = Math.min(BLOCK, to-start);
+			long mask = within(x, y, z, coords, start, count, distanceSq);
+			// Go through the set bits from the lowest
+			while(mask != 0) {
+				Point q = candidates[start + Long.numberOfTrailingZeros(mask)];
+				if(q != p)
+					neighbors.add(q);
+				mask &= mask-1;
+			}
+		}
+	}
+	
+	/**
+	 * This finds every candidate in a range that is within the distance of a point, using coordinates
+	 * kept as fixed point numbers, and adds them to the neighbors. The point itself is left out.
+	 * The squared distance in steps is exact in a long. Each fixed point coordinate is within half a step
+	 * of the real one, so on each axis the difference is off by at most one step, and the distance by at
+	 * most the square root of the number of dimensions in steps. A pair at most inside apart in steps is
+	 * therefore within the distance and a pair more than outside apart is not, with room to spare for how
+	 * Point.distanceSq rounds. Only the pairs in between, which are right at the threshold, are measured
+	 * again with Point.distanceSq, so exactly the same neighbors are found as with doubles.
+	 * 
+	 * @param p The point.
+	 * @param x The horizontal location of the point in steps.
+	 * @param y The vertical location of the point in steps.
+	 * @param z The depth location of the point in steps, ignored if there are two dimensions.
+	 * @param candidates The candidate points, in the same order as their coordinates.
+	 * @param fixed The coordinates of the candidates in steps, one array for each axis.
+	 * @param from The position of the first candidate.
+	 * @param to One past the position of the last candidate.
+	 * @param inside The largest squared distance in steps that is sure to be within the distance.
+	 * @param outside The largest squared distance in steps that may be within the distance.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	public static void addNeighborsFixed(Point p, int x, int y, int z, Point[] candidates, int[][] fixed,
+			int from, int to, long inside, long outside, double distanceSq, ArrayList<Point> neighbors) {
+		for(int start = from; start < to; start += BLOCK) {
+			int count = Math.min(BLOCK, to-start);
+			long mask = kernel.maskFixed(x, y, z, fixed, start, count, outside);
+			while(mask != 0) {
+				int k = start + Long.numberOfTrailingZeros(mask);
+				Point q = candidates[k];
+				if(q != p && (distanceFixed(x, y, z, fixed, k) <= inside || p.distanceSq(q) <= distanceSq))
+					neighbors.add(q);
+				mask &= mask-1;
+			}
+		}
+	}
+	
+	/**
+	 * This finds which candidates in a block are at most a squared distance in steps from a point, with this kernel.
+	 * 
+	 * @param x The horizontal location of the point in steps.
+	 * @param y The vertical location of the point in steps.
+	 * @param z The depth location of the point in steps, ignored if there are two dimensions.
+	 * @param fixed The coordinates of the candidates in steps, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param count The number of candidates in the block, at most BLOCK.
+	 * @param limit The largest squared distance in steps to set the bit for.
+	 * @return the mask with bit k set if the candidate at from+k is at most the limit away
+	 */
+	public long maskFixed(int x, int y, int z, int[][] fixed, int from, int count, long limit) {
+		int[] xs = fixed[0];
+		int[] ys = fixed[1];
+		long mask = 0;
+		if(fixed.length == 2) {
+			for(int k = 0; k < count; k++) {
+				long dx = x-xs[from+k];
+				long dy = y-ys[from+k];
+				mask |= (dx*dx+dy*dy <= limit ? 1L : 0L) << k;
+			}
+		}
+		else {
+			int[] zs = fixed[2];
+			for(int k = 0; k < count; k++) {
+				long dx = x-xs[from+k];
+				long dy = y-ys[from+k];
+				long dz = z-zs[from+k];
+				mask |= (dx*dx+dy*dy+dz*dz <= limit ? 1L : 0L) << k;
+			}
+		}
+		return mask;
+	}
+	
+	/**
+	 * @param x The horizontal location of the point in steps.
+	 * @param y The vertical location of the point in steps.
+	 * @param z The depth location of the point in steps, ignored if there are two dimensions.
+	 * @param fixed The coordinates of the candidates in steps, one array for each axis.
+	 * @param k The position of the candidate.
+	 * @return the squared distance to the candidate in steps
+	 */
+	private static long distanceFixed(int x, int y, int z, int[][] fixed, int k) {
+		long dx = x-fixed[0][k];
+		long dy = y-fixed[1][k];
+		long d = dx*dx+dy*dy;
+		if(fixed.length == 3) {
+			long dz = z-fixed[2][k];
+			d += dz*dz;
+		}
+		return d;
+	}
+}
@@ -0,0 +1,122 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class times the inner loop of finding the edges with a grid, where each point is tested against
+ * the points in the cells around it. The same grid is searched for every point twice, first with the
+ * lists of points of each cell, testing each pair with Point.distanceSq, and then packed, testing the
+ * points a block at a time with the DistanceKernel, and then packed with fixed point coordinates, which
+ * take half the memory. The packed searches are timed with the scalar kernel and, if the program was
+ * started with --add-modules jdk.incubator.vector, with the vector kernel too. Every search must find the
+ * same neighbors in the same order for every point, or the times are not printed.
+ * The arguments are the number of vertices and the average degree, if other ones are wanted.
+ * For example: 200000 32
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class DistanceKernelBenchmark {
+	
+	/**
+	 * The number of times each search is timed, keeping the quickest.
+	 */
+	private static final int RUNS = 5;
+	
+	/**
+	 * @param args The number of vertices and the average degree, or nothing for 200000 and 32.
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int degree = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		
+		boolean vector = DistanceKernel.VECTOR != null;
+		if(!vector)
+			System.out.println("The jdk.incubator.vector module was not added, so only the scalar kernel is timed");
+		System.out.println("Distribution,N,Avg Degree,Cell lists ms,Packed kernel ms,Speedup,Packed vector ms,Vector speedup,"
+				+ "Fixed point ms,Fixed point vector ms,Vector speedup,Double coordinate MB,Fixed point coordinate MB");
+		for(RandomGeometricGraph rgg : new RandomGeometricGraph[] {new RGGUnitSquare(650, 650), new RGGUnitCircle(650, 650),
+				new RGGDenseDisk(650, 650), new RGGSphere(650, 650)}) {
+			double r = rgg.estimateRadius(n, degree, 0.05);
+			rgg.createPoints(n, r);
+			ArrayList<Point> points = rgg.getListOfPoints();
+			SpatialGrid grid = new SpatialGrid(rgg.getMinCoordinate(), rgg.getMaxCoordinate(), r, rgg.getDimensions(), n);
+			for(Point p : points) {
+				grid.add(p);
+			}
+			double distanceSq = r*r;
+			
+			// Keep what the lists find to check the kernel against
+			ArrayList<ArrayList<Point>> expected = new ArrayList<ArrayList<Point>>();
+			for(Point p : points) {
+				ArrayList<Point> neighbors = new ArrayList<Point>();
+				grid.findNeighbors(p, distanceSq, neighbors);
+				expected.add(neighbors);
+			}
+			long lists = time(grid, points, distanceSq);
+			grid.pack();
+			DistanceKernel.setVector(false);
+			long packed = time(grid, points, distanceSq);
+			boolean same = check(grid, points, distanceSq, expected);
+			DistanceKernel.setVector(true);
+			long packedVector = time(grid, points, distanceSq);
+			same &= check(grid, points, distanceSq, expected);
+			long doubleBytes = grid.getPackedCoordinateBytes();
+			grid.pack(true);
+			DistanceKernel.setVector(false);
+			long fixed = time(grid, points, distanceSq);
+			same &= check(grid, points, distanceSq, expected);
+			DistanceKernel.setVector(true);
+			long fixedVector = time(grid, points, distanceSq);
+			same &= check(grid, points, distanceSq, expected);
+			long fixedBytes = grid.getPackedCoordinateBytes();
+			
+			if(same)
+				System.out.println(String.format("%s,%d,%d,%.1f,%.1f,%.2f,%.1f,%.2f,%.1f,%.1f,%.2f,%.1f,%.1f", rgg.distributionType(), n, degree,
+						lists/1e6, packed/1e6, (double) lists/packed, packedVector/1e6, (double) packed/packedVector,
+						fixed/1e6, fixedVector/1e6, (double) fixed/fixedVector, doubleBytes/1e6, fixedBytes/1e6));
+			else
+				System.out.println(String.format("%s,%d,%d,The packed grid found different neighbors", rgg.distributionType(), n, degree));
+		}
+	}
+	
+	/**
+	 * @param grid The grid over the points.
+	 * @param points The points.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param expected The neighbors of each point found with the lists of points of each cell.
+	 * @return true if the grid finds the expected neighbors for every point
+	 */
+	private static boolean check(SpatialGrid grid, ArrayList<Point> points, double distanceSq, ArrayList<ArrayList<Point>> expected) {
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		for(int i = 0; i < points.size(); i++) {
+			neighbors.clear();
+			grid.findNeighbors(points.get(i), distanceSq, neighbors);
+			if(!neighbors.equals(expected.get(i)))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * This searches the grid for the neighbors of every point a few times.
+	 * 
+	 * @param grid The grid over the points.
+	 * @param points The points.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @return the quickest time in nanoseconds
+	 */
+	private static long time(SpatialGrid grid, ArrayList<Point> points, double distanceSq) {
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		long best = Long.MAX_VALUE;
+		for(int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			for(Point p : points) {
+				neighbors.clear();
+				grid.findNeighbors(p, distanceSq, neighbors);
+			}
+			best = Math.min(best, System.nanoTime()-start);
+		}
+		return best;
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * This subclass of Point keeps its location as doubles in the point itself, which is how the points of
+ * every distribution are made unless the graph keeps its coordinates compact.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class DoublePoint extends Point {
+	
+	/**
+	 * The horizontal location in a geometric graph.
+	 */
+	public double real_x;
+	
+	/**
+	 * The vertical location in a geometric graph.
+	 */
+	public double real_y;
+	
+	/**
+	 * The distance vector for use in projection.
+	 */
+	public double d;
+	
+	/**
+	 * This constructor makes a point with no location yet.
+	 */
+	public DoublePoint() {
+		super();
+	}
+	
+	/**
+	 * Typical constructor for the DoublePoint class that takes in the real coordinate.
+	 * The display coordinate is not stored; it is worked out from the real coordinate
+	 * whenever the graph is drawn so that the view can be zoomed and panned.
+	 * 
+	 * @param i Translates to real_x.
+	 * @param j Translates to real_y.
+	 */
+	public DoublePoint(double i, double j) {
+		super();
+		real_x = i;
+		real_y = j;
+		d = i*i+j*j;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#closeTo(Point, double)
+	 */
+	@Override
+	public boolean closeTo(Point point, double distanceSq) {
+		DoublePoint p = (DoublePoint) point;
+		double xsq = (real_x-p.real_x)*(real_x-p.real_x);
+		double ysq = (real_y-p.real_y)*(real_y-p.real_y);
+		if(xsq+ysq <= distanceSq)
+			return true;
+		else
+			return false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#distanceSq(Point)
+	 */
+	@Override
+	public double distanceSq(Point point) {
+		DoublePoint p = (DoublePoint) point;
+		double xsq = (real_x-p.real_x)*(real_x-p.real_x);
+		double ysq = (real_y-p.real_y)*(real_y-p.real_y);
+		return xsq+ysq;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getX()
+	 */
+	@Override
+	public double getX() {
+		return real_x;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getY()
+	 */
+	@Override
+	public double getY() {
+		return real_y;
+	}
+	
+	/**
+	 * @param axis The axis, from 0.
+	 * @return real_x for axis 0, real_y for axis 1, and 0 for any other axis of a point on a plane
+	 * @see Point#coordinate(int)
+	 */
+	@Override
+	public double coordinate(int axis) {
+		if(axis == 0)
+			return real_x;
+		if(axis == 1)
+			return real_y;
+		return 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getDimensions()
+	 */
+	@Override
+	public int getDimensions() {
+		return 2;
+	}
+}
@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+/**
+ * This class times each way of finding the edges against the one picked automatically, for every
+ * distribution over a grid of vertex counts and average degrees. The points are made once for each
+ * setting and the edges are found again on the same points by each strategy in turn, keeping the best of
+ * a few rounds, so that a change in the load of the machine slows them all alike. Each run starts after a
+ * garbage collection so that the lists left by the run before are not paid for, and every strategy is first
+ * run on a small graph of each distribution so that it is compiled before it is timed.
+ * The last two columns are how much longer the automatic run took than the quickest fixed strategy, and
+ * how much longer the fixed run of the strategy it picked took, which leaves out the time spent picking.
+ * Brute force is only timed for the smaller graphs.
+ * The arguments are the vertex counts and then, after a dash, the average degrees, if other ones are wanted.
+ * For example: 10000 100000 - 16 64
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class EdgeStrategyBenchmark {
+	
+	/**
+	 * The largest graph brute force is timed on.
+	 */
+	private static final int BRUTE_FORCE_LIMIT = 20000;
+	
+	/**
+	 * The number of rounds in which the edges are found by each strategy, keeping the quickest.
+	 */
+	private static final int RUNS = 5;
+	
+	/**
+	 * @param args The vertex counts, a dash and the average degrees, or nothing for the usual grid.
+	 */
+	public static void main(String[] args) {
+		int[] counts = {2000, 20000, 100000, 200000};
+		int[] degrees = {8, 32, 128};
+		if(args.length > 0) {
+			int dash = args.length;
+			for(int i = 0; i < args.length; i++) {
+				if(args[i].equals("-"))
+					dash = i;
+			}
+			counts = new int[dash];
+			for(int i = 0; i < dash; i++) {
+				counts[i] = Integer.parseInt(args[i]);
+			}
+			if(dash < args.length) {
+				degrees = new int[args.length-dash-1];
+				for(int i = 0; i < degrees.length; i++) {
+					degrees[i] = Integer.parseInt(args[dash+1+i]);
+				}
+			}
+		}
+		// The automatic choice is timed last in each round
+		RandomGeometricGraph.EdgeStrategy[] strategies = {RandomGeometricGraph.EdgeStrategy.BRUTE_FORCE,
+				RandomGeometricGraph.EdgeStrategy.SORT_SWEEP, RandomGeometricGraph.EdgeStrategy.GRID,
+				RandomGeometricGraph.EdgeStrategy.KD_TREE, RandomGeometricGraph.EdgeStrategy.AUTOMATIC};
+		int automatic = strategies.length-1;
+		
+		// Warm up every strategy on a small graph of each distribution
+		for(String distribution : new String[] {"square", "disk", "rim", "sphere"}) {
+			RandomGeometricGraph rgg = makeGraph(distribution);
+			rgg.createPoints(5000, rgg.estimateRadius(5000, 32, 0.05));
+			for(RandomGeometricGraph.EdgeStrategy strategy : RandomGeometricGraph.EdgeStrategy.values()) {
+				time(rgg, strategy);
+			}
+		}
+		
+		System.out.println("Distribution,N,Avg Degree,R,Brute Force ms,Sort Sweep ms,Grid ms,K-d Tree ms,Automatic ms,Automatic choice,Automatic over best,Choice over best");
+		double worst = 0, total = 0, worstChoice = 0, totalChoice = 0;
+		int settings = 0;
+		for(String distribution : new String[] {"square", "disk", "rim", "sphere"}) {
+			for(int n : counts) {
+				for(int degree : degrees) {
+					RandomGeometricGraph rgg = makeGraph(distribution);
+					double r = rgg.estimateRadius(n, degree, 0.02);
+					rgg.setEdgeStrategy(RandomGeometricGraph.EdgeStrategy.KD_TREE);
+					rgg.createPoints(n, r);
+					
+					double[] times = new double[strategies.length];
+					Arrays.fill(times, Double.MAX_VALUE);
+					for(int run = 0; run < RUNS; run++) {
+						for(int k = 0; k < strategies.length; k++) {
+							if(strategies[k] != RandomGeometricGraph.EdgeStrategy.BRUTE_FORCE || n <= BRUTE_FORCE_LIMIT)
+								times[k] = Math.min(times[k], time(rgg, strategies[k]));
+						}
+					}
+					String choice = rgg.getEdgeChoice();
+					RandomGeometricGraph.EdgeStrategy chosen = RandomGeometricGraph.EdgeStrategy.valueOf(choice.substring(0, choice.indexOf(' ')));
+					
+					StringBuilder line = new StringBuilder(String.format("%s,%d,%d,%.6f", rgg.distributionType(), n, degree, r));
+					double best = Double.MAX_VALUE, chosenTime = 0;
+					for(int k = 0; k < automatic; k++) {
+						if(times[k] == Double.MAX_VALUE) {
+							line.append(",-");
+							continue;
+						}
+						best = Math.min(best, times[k]);
+						if(strategies[k] == chosen)
+							chosenTime = times[k];
+						line.append(String.format(",%.1f", times[k]));
+					}
+					double over = times[automatic]/best-1;
+					double choiceOver = chosenTime/best-1;
+					line.append(String.format(",%.1f,%s,%.1f%%,%.1f%%", times[automatic], choice, 100*over, 100*choiceOver));
+					System.out.println(line);
+					worst = Math.max(worst, over);
+					total += over;
+					worstChoice = Math.max(worstChoice, choiceOver);
+					totalChoice += choiceOver;
+					settings++;
+				}
+			}
+		}
+		System.out.println(String.format("Automatic over best: %.1f%% on average, %.1f%% at worst", 100*total/settings, 100*worst));
+		System.out.println(String.format("Choice over best: %.1f%% on average, %.1f%% at worst", 100*totalChoice/settings, 100*worstChoice));
+	}
+	
+	/**
+	 * @param distribution square, disk, rim or sphere
+	 * @return a new graph of that distribution
+	 */
+	private static RandomGeometricGraph makeGraph(String distribution) {
+		if(distribution.equals("disk"))
+			return new RGGUnitCircle(650, 650);
+		else if(distribution.equals("rim"))
+			return new RGGDenseDisk(650, 650);
+		else if(distribution.equals("sphere"))
+			return new RGGSphere(650, 650);
+		else
+			return new RGGUnitSquare(650, 650);
+	}
+	
+	/**
+	 * This finds the edges of the points again with one strategy.
+	 * 
+	 * @param rgg the graph with its points already made
+	 * @param strategy the strategy to find the edges with
+	 * @return the time in milliseconds
+	 */
+	private static double time(RandomGeometricGraph rgg, RandomGeometricGraph.EdgeStrategy strategy) {
+		rgg.setEdgeStrategy(strategy);
+		rgg.clearEdges();
+		System.gc();
+		long start = System.nanoTime();
+		rgg.connectPoints();
+		return (System.nanoTime()-start)/1e6;
+	}
+}
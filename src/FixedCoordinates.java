@@ -0,0 +1,226 @@
+/**
+ * This class keeps the locations of the points of a graph as 32 bit fixed point numbers, in primitive
+ * arrays with one array for each axis, instead of as doubles in the points. Each coordinate counts
+ * steps of 2^-30 of the width of the box from its smallest corner, so it takes half the memory of a
+ * double and is within half a step of the location it was made from. The location of a point is the one
+ * its steps give back, worked out whenever it is read, so every way of finding the edges measures the
+ * same distances and finds the same edges.
+ * Each point added gets a slot, and the slots of the points that are removed are given out again.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class FixedCoordinates {
+	
+	/**
+	 * The number of steps across the box. The difference of two coordinates fits in an int
+	 * and the squared distance in three dimensions fits in a long.
+	 */
+	public static final int STEPS = 1 << 30;
+	
+	/**
+	 * The number of axes.
+	 */
+	private final int dimensions;
+	
+	/**
+	 * The smallest coordinate value along every axis.
+	 */
+	private final double minCoord;
+	
+	/**
+	 * The largest coordinate value along every axis.
+	 */
+	private final double maxCoord;
+	
+	/**
+	 * The width of one step.
+	 */
+	private final double stepSize;
+	
+	/**
+	 * True if each side of the box is joined to the opposite one, like on the unit torus.
+	 */
+	private final boolean periodic;
+	
+	/**
+	 * The location of each slot in steps, one array for each axis.
+	 */
+	private int[][] steps;
+	
+	/**
+	 * The number of slots given out so far, including the free ones.
+	 */
+	private int size;
+	
+	/**
+	 * The slots of removed points, to be given out again before any new ones.
+	 */
+	private int[] freeSlots = new int[0];
+	
+	/**
+	 * The number of free slots.
+	 */
+	private int freeCount;
+	
+	/**
+	 * This makes an empty store over the box [minCoord,maxCoord] in every dimension.
+	 * 
+	 * @param dimensions The number of axes.
+	 * @param minCoord The smallest coordinate value along every axis.
+	 * @param maxCoord The largest coordinate value along every axis.
+	 * @param periodic True if each side of the box is joined to the opposite one. The box must then be [0,1].
+	 * @param capacity The number of points expected.
+	 */
+	public FixedCoordinates(int dimensions, double minCoord, double maxCoord, boolean periodic, int capacity) {
+		this.dimensions = dimensions;
+		this.minCoord = minCoord;
+		this.maxCoord = maxCoord;
+		this.periodic = periodic;
+		stepSize = (maxCoord-minCoord)/STEPS;
+		steps = new int[dimensions][Math.max(1, capacity)];
+	}
+	
+	/**
+	 * This makes an empty store over the same box as another one, keeping only its first few axes.
+	 * 
+	 * @param like The store to copy the box from.
+	 * @param dimensions The number of axes, at most as many as the other store has.
+	 * @param capacity The number of points expected.
+	 */
+	public FixedCoordinates(FixedCoordinates like, int dimensions, int capacity) {
+		this(dimensions, like.minCoord, like.maxCoord, like.periodic, capacity);
+	}
+	
+	/**
+	 * @return the number of axes
+	 */
+	public int getDimensions() {
+		return dimensions;
+	}
+	
+	/**
+	 * This gives a point a slot and keeps its location there, rounded to the nearest step.
+	 * 
+	 * @param location A point at the location, which can keep it in any way.
+	 * @return the slot
+	 */
+	public int add(Point location) {
+		int slot = newSlot();
+		set(slot, location);
+		return slot;
+	}
+	
+	/**
+	 * This gives a point a slot with the same steps as a slot of another store over the same box.
+	 * 
+	 * @param from The other store.
+	 * @param fromSlot The slot in the other store.
+	 * @return the slot
+	 */
+	public int add(FixedCoordinates from, int fromSlot) {
+		int slot = newSlot();
+		for(int a = 0; a < dimensions; a++) {
+			steps[a][slot] = from.steps[a][fromSlot];
+		}
+		return slot;
+	}
+	
+	/**
+	 * @return a free slot, or a new one if there are none, with room made for it
+	 */
+	private int newSlot() {
+		if(freeCount > 0)
+			return freeSlots[--freeCount];
+		if(size == steps[0].length) {
+			int[][] bigger = new int[dimensions][size*2];
+			for(int a = 0; a < dimensions; a++) {
+				System.arraycopy(steps[a], 0, bigger[a], 0, size);
+			}
+			steps = bigger;
+		}
+		return size++;
+	}
+	
+	/**
+	 * This moves the location of a slot, rounded to the nearest step.
+	 * 
+	 * @param slot The slot.
+	 * @param location A point at the new location, which can keep it in any way.
+	 */
+	public void set(int slot, Point location) {
+		for(int a = 0; a < dimensions; a++) {
+			steps[a][slot] = toSteps(location.coordinate(a));
+		}
+	}
+	
+	/**
+	 * This lets the slot of a removed point be given out again.
+	 * 
+	 * @param slot The slot.
+	 */
+	public void remove(int slot) {
+		if(freeCount == freeSlots.length) {
+			int[] bigger = new int[Math.max(16, freeCount*2)];
+			System.arraycopy(freeSlots, 0, bigger, 0, freeCount);
+			freeSlots = bigger;
+		}
+		freeSlots[freeCount++] = slot;
+	}
+	
+	/**
+	 * @param coord The coordinate value.
+	 * @return the nearest number of steps from the smallest corner, around the wrap if the box is periodic
+	 */
+	private int toSteps(double coord) {
+		long k = Math.round((coord-minCoord)/stepSize);
+		if(periodic)
+			return (int) (((k % STEPS) + STEPS) % STEPS);
+		return (int) Math.max(0, Math.min(STEPS, k));
+	}
+	
+	/**
+	 * @param slot The slot.
+	 * @param axis The axis, from 0.
+	 * @return the location of the slot along the axis
+	 */
+	public double get(int slot, int axis) {
+		return minCoord + steps[axis][slot]*stepSize;
+	}
+	
+	/**
+	 * @param slot The slot.
+	 * @param axis The axis, from 0.
+	 * @return the location of the slot along the axis in steps from the smallest corner
+	 */
+	public int getSteps(int slot, int axis) {
+		return steps[axis][slot];
+	}
+	
+	/**
+	 * This measures the distance between two slots the same way the points that keep doubles do,
+	 * summing the squares of the differences along each axis in order, the short way around if the box is periodic.
+	 * 
+	 * @param a The first slot.
+	 * @param b The second slot.
+	 * @return the distance squared between them
+	 */
+	public double distanceSq(int a, int b) {
+		double sum = 0;
+		for(int axis = 0; axis < dimensions; axis++) {
+			double delta = get(a, axis)-get(b, axis);
+			if(periodic)
+				delta = TorusPoint.wrap(delta);
+			sum += delta*delta;
+		}
+		return sum;
+	}
+	
+	/**
+	 * @return the number of bytes the arrays of steps take
+	 */
+	public long getBytes() {
+		return 4L*dimensions*steps[0].length + 4L*freeSlots.length;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * This subclass of Point keeps no location of its own. Its location is kept in a slot of a
+ * FixedCoordinates shared by every point of the graph, as fixed point numbers, and the doubles are
+ * worked out from them whenever they are read. The point itself is 16 bytes smaller than a DoublePoint,
+ * and the location takes 4 bytes for each axis instead of 8.
+ * Points of any kind of distribution can be kept this way, since the store measures the distances
+ * the same way they do.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class FixedPoint extends Point {
+	
+	/**
+	 * The store the location is kept in.
+	 */
+	private final FixedCoordinates store;
+	
+	/**
+	 * The slot of the location in the store.
+	 */
+	private final int slot;
+	
+	/**
+	 * This makes a point at the location of another point, rounded to the nearest step of the store.
+	 * Only the location is taken from the other point.
+	 * 
+	 * @param store The store to keep the location in.
+	 * @param location A point at the location.
+	 */
+	public FixedPoint(FixedCoordinates store, Point location) {
+		super();
+		this.store = store;
+		slot = store.add(location);
+	}
+	
+	/**
+	 * This moves the point, rounded to the nearest step of the store.
+	 * 
+	 * @param location A point at the new location.
+	 */
+	public void setLocation(Point location) {
+		store.set(slot, location);
+	}
+	
+	/**
+	 * This gives the slot of the point back to the store once the point is taken out of the graph.
+	 */
+	public void release() {
+		store.remove(slot);
+	}
+	
+	/**
+	 * @return the store the location is kept in
+	 */
+	public FixedCoordinates getStore() {
+		return store;
+	}
+	
+	/**
+	 * @return the slot of the location in the store
+	 */
+	public int getSlot() {
+		return slot;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#distanceSq(Point)
+	 */
+	@Override
+	public double distanceSq(Point p) {
+		return store.distanceSq(slot, ((FixedPoint) p).slot);
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getX()
+	 */
+	@Override
+	public double getX() {
+		return store.get(slot, 0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getY()
+	 */
+	@Override
+	public double getY() {
+		return store.get(slot, 1);
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#coordinate(int)
+	 */
+	@Override
+	public double coordinate(int axis) {
+		return axis < store.getDimensions() ? store.get(slot, axis) : 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getDimensions()
+	 */
+	@Override
+	public int getDimensions() {
+		return store.getDimensions();
+	}
+}
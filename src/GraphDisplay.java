@@ -1,15 +1,20 @@
-import java.awt.Color;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 
 
 /**
  * This class provides the functionality to display the random geometric graph.
  * This is the subclass of JPanel that allows the user to display a given graph that is
  * a subclass of RandomGeometricGraph.
+ * The mouse wheel zooms in and out around the mouse, dragging moves the view and
+ * a double click shows the whole graph again.
  * 
  * @author Vladimir Jovanovic
  * @version 1.0.0
@@ -32,11 +37,6 @@ public class GraphDisplay extends JPanel {
 	 */
 	RandomGeometricGraph graph;
 	
-	/**
-	 * This is a pointer to the drawing variable for the draw methods.
-	 */
-	private Graphics2D g2d;
-	
 	/**
 	 * This is the width in pixels of the canvas to draw on.
 	 */
@@ -52,11 +52,6 @@ public class GraphDisplay extends JPanel {
 	 */
 	private int pointRadius;
 	
-	/**
-	 * This is the diameter in pixels of the vertices to be drawn.
-	 */
-	private int pointDiameter;
-	
 	/**
 	 * This is current drawing funciton to display on screen.
 	 * The default is CLEAR_SCREEN indicating that the CLEAR_SCREEN
@@ -70,452 +65,303 @@ public class GraphDisplay extends JPanel {
 	 */
 	private int optional;
 	
+	/**
+	 * This is the last finished drawing of the graph.
+	 * The screen is only updated by copying this image, so covering the panel or
+	 * resizing the window does not draw the graph again.
+	 */
+	private BufferedImage cachedImage;
+	
+	/**
+	 * This is true when cachedImage matches the current graph, draw method and point radius.
+	 */
+	private boolean cacheValid;
+	
+	/**
+	 * This counts the changes that made the cached image out of date.
+	 * A drawing that finishes for an older count is thrown away.
+	 */
+	private int renderGeneration;
+	
+	/**
+	 * This is the background drawing in progress, or null if there is none.
+	 */
+	private SwingWorker<BufferedImage, Void> renderWorker;
+	
+	/**
+	 * The most pixels the radius may span when zoomed in. The renderer turns real coordinates into
+	 * int pixels, and an edge reaches at most a radius past the points near the view, so this keeps
+	 * every pixel it draws to far from the limits of an int.
+	 */
+	private static final double MAX_RADIUS_PIXELS = 2000;
+	
+	/**
+	 * The most the view can be zoomed in, for a graph with no radius to go by.
+	 */
+	private static final double MAX_ZOOM = 100000;
+	
+	/**
+	 * How many times larger than the whole graph the view is drawn. 1 shows the whole graph.
+	 */
+	private double zoom = 1;
+	
+	/**
+	 * The center of the view as a fraction of the width and height of the graph.
+	 */
+	private double centerU = .5, centerV = .5;
+	
+	/**
+	 * The mouse location when the view was last dragged.
+	 */
+	private int dragX, dragY;
+	
 	/**
 	 * This is the setter function for graph.
+	 * The cached drawing is always thrown away, because the same graph may have been recreated.
 	 * 
 	 * @param rgg The new RandomGeometricGraph reference to store in graph.
 	 */
 	public void setGraph(RandomGeometricGraph rgg) {
 		graph = rgg;
+		zoom = 1;
+		centerU = .5;
+		centerV = .5;
+		invalidateImage();
 	}
 	
 	/**
-	 * This is a constructor for the class when a graph is known.
-	 * It sets the graph to a new value, though this will not apply in most
-	 * cases as the graph has not been made yet.
-	 * 
-	 * @param rgg The new RandomGeometricGraph reference to store in graph.
+	 * This shows the whole graph again after it was zoomed in or moved.
 	 */
-	public GraphDisplay(RandomGeometricGraph rgg) {
-		setGraph(rgg);
+	public void resetView() {
+		zoom = 1;
+		centerU = .5;
+		centerV = .5;
+		graphChanged();
 	}
 	
 	/**
-	 * This constructor when the panel is made before the graph.
+	 * This zooms the view in or out while keeping the same part of the graph under the mouse.
+	 * The view can not be zoomed out further than the whole graph, or in further than maxZoom.
 	 * 
-	 * @param w The width in pixels of the JPanel component.
-	 * @param h The height in pixels of the JPanel component.
+	 * @param factor How many times larger the graph should be drawn.
+	 * @param x The horizontal location of the mouse in pixels.
+	 * @param y The vertical location of the mouse in pixels.
 	 */
-	public GraphDisplay(int w, int h) {
-		super();
-		pxlWidth = w;
-		pxlHeight = h;
+	public void zoomAt(double factor, int x, int y) {
+		double newZoom = Math.max(1, Math.min(maxZoom(), zoom*factor));
+		double offsetX = (x - viewWidth()*.5)/viewWidth();
+		double offsetY = (y - viewHeight()*.5)/viewHeight();
+		centerU += offsetX/zoom - offsetX/newZoom;
+		centerV += offsetY/zoom - offsetY/newZoom;
+		zoom = newZoom;
+		if(zoom == 1) {
+			centerU = .5;
+			centerV = .5;
+		}
+		graphChanged();
 	}
 	
 	/**
-	 * This updes the pixel width and height.
-	 * In order to have the proper bounds for the JPanel, this information must
-	 * be regularly updated.  In order to get the accurate width and height of
-	 * the drawable area, the Dimension of the component should be accessed
-	 * after this component was set to visible.
-	 * 
-	 * @param w The width in pixels of the JPanel component.
-	 * @param h The height in pixels of the JPanel component.
+	 * @return the most the view can be zoomed in, which is where the radius spans MAX_RADIUS_PIXELS
+	 * across the wider side of the view, but no more than MAX_ZOOM
 	 */
-	public void setDimension(int w, int h) {
-		pxlWidth = w;
-		pxlHeight = h;
-		clearScreen();
+	private double maxZoom() {
+		if(graph == null || graph.getRadius() <= 0)
+			return MAX_ZOOM;
+		double span = graph.getMaxCoordinate() - graph.getMinCoordinate();
+		double radiusAtFullView = graph.getRadius()/span*Math.max(viewWidth(), viewHeight());
+		return Math.max(1, Math.min(MAX_ZOOM, MAX_RADIUS_PIXELS/radiusAtFullView));
 	}
 	
 	/**
-	 * This method determines what to do with the paint method chosen by other components.
-	 * The DrawMethod enum is used to easily determine which drawing method needs to be called.
+	 * This moves the view by a number of pixels.
 	 * 
-	 * @param g The super graphics component for drawing on this JPanel.
+	 * @param dx The number of pixels to move the graph to the right.
+	 * @param dy The number of pixels to move the graph down.
 	 */
-	@Override
-	public void paintComponent(Graphics g) {
-		super.paintComponent(g);
-		g2d = (Graphics2D) g;
-		g2d.setBackground(Color.white);
-		switch(paintSelected) {
-		case CLEAR_SCREEN:  // If doing nothing, show nothing as well.
-			clearScreen();
-			break;
-		case COLOR_SET: // To print a particular set of colors.
-			colorSet(optional);
-			break;
-		case DRAW_BIPARTITEI: // For the first method of bipartite selection
-			drawBipartiteI(optional);
-			break;
-		case DRAW_BIPARTITEII: // For the second method of bipartite selection.
-			drawBipartiteII(optional);
-			break;
-		case PAINT_NEGZ: // To print the negative z-axis hemisphere.
-			clearScreen();
-			paintNegZ();
-			break;
-		case PAINT_POINTS: // To print the graph on the first page.
-			clearScreen();
-			// First, shift the bits of the int by 0, then see if the last bit is one.
-			// If the last bit is one, then print out the edges.
-			if((optional & 1) == 1)
-				paintEdges();
-			// Shift the bits over by one and compare the last bits. This is like checking to see if 2 was added.
-			if((optional & 2) == 2)
-				paintPoints();
-			// Shifts the bits over by two and compares the LSD (least significant digit). This is like checking to see if 4 was added.
-			if((optional & 4) == 4)
-				paintMin();
-			// Shifts the bits over by three and compares the LSD.  This is like checking to see if 8 was added.
-			if((optional & 8) == 8)
-				paintMax();
-			break;
-		case PAINT_POSZ: // To print the positive z-axis hemisphere.
-			clearScreen();
-			paintPosZ();
-			break;
-		default:
-			break;
-		}
+	public void pan(int dx, int dy) {
+		centerU = Math.min(1, Math.max(0, centerU - dx/(zoom*viewWidth())));
+		centerV = Math.min(1, Math.max(0, centerV - dy/(zoom*viewHeight())));
+		graphChanged();
 	}
 	
 	/**
-	 * this clears the screen and keeps it blank.
+	 * @return the width in pixels that the graph is drawn at
 	 */
-	private void clearScreen() {
-		g2d.clearRect(0, 0, pxlWidth, pxlHeight);
-		g2d.setBackground(Color.white);
-		g2d.setColor(Color.black);
+	private int viewWidth() {
+		return Math.max(1, pxlWidth > 0 ? pxlWidth : getWidth());
 	}
 	
 	/**
-	 * This paints the entire set of vertices for the RGG according to the pointRadius.
+	 * @return the height in pixels that the graph is drawn at
 	 */
-	private void paintPoints() {
-		for(Point p : graph.getListOfPoints()) {
-			g2d.setColor(Color.WHITE);
-			g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			g2d.setColor(Color.BLACK);
-			g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-		}
+	private int viewHeight() {
+		return Math.max(1, pxlHeight > 0 ? pxlHeight : getHeight());
 	}
 	
 	/**
-	 * This paints the edges between all points using the edgePrint lists to reduce the time complexity to n^2/2.
+	 * This adds the mouse controls for zooming and moving the view.
 	 */
-	private void paintEdges() {
-		ArrayList<Point> points = graph.getListOfPoints();
-		Point p;
-		for(int i = 0; i < points.size(); i++) {
-			p = points.get(i);
-			for(Point q : p.edgePrint) {
-				g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
+	private void addViewControls() {
+		MouseAdapter controls = new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				dragX = e.getX();
+				dragY = e.getY();
 			}
-		}
+			
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				pan(e.getX()-dragX, e.getY()-dragY);
+				dragX = e.getX();
+				dragY = e.getY();
+			}
+			
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if(e.getClickCount() == 2)
+					resetView();
+			}
+			
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				zoomAt(Math.pow(1.25, -e.getWheelRotation()), e.getX(), e.getY());
+			}
+		};
+		addMouseListener(controls);
+		addMouseMotionListener(controls);
+		addMouseWheelListener(controls);
 	}
 	
 	/**
-	 * This paints all vertices with the same minimum degree blue.
-	 * For the first vertex found to meet this criteria, all of its neighbors are colored cyan.
-	 */
-	private void paintMin() {
-		boolean edgesOfOneDrawn = false;
-		for(Point p : graph.getListOfPoints()) {
-			if(p.degree == graph.getMinDegreeCount()) {
-				g2d.setColor(Color.BLUE);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				if(!edgesOfOneDrawn) {
-					edgesOfOneDrawn = true;
-					g2d.setColor(Color.CYAN);
-					for(Point q : p.adjacencies) {
-						g2d.fillOval(q.display_x-pointRadius, q.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					}
-					g2d.setColor(Color.BLACK);
-					for(Point q : p.adjacencies) {
-						g2d.drawOval(q.display_x-pointRadius, q.display_y-pointRadius, pointDiameter, pointDiameter);
-					}
-				}
-			}
-		}
+	 * This should be called after the points or edges of the current graph were changed
+	 * in place, so the next repaint draws the graph again.
+	 */
+	public void graphChanged() {
+		invalidateImage();
+		repaint();
 	}
 	
 	/**
-	 * This paints all vertices with the same maximum degree red.
-	 * For the first vertex found to meet this criteria, all of its neighbors are colored pink.
-	 */
-	private void paintMax() {
-		boolean edgesOfOneDrawn = false;
-		for(Point p : graph.getListOfPoints()) {
-			if(p.degree == graph.getMaxDegreeCount()) {
-				g2d.setColor(Color.RED);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				if(!edgesOfOneDrawn) {
-					edgesOfOneDrawn = true;
-					g2d.setColor(Color.PINK);
-					for(Point q : p.adjacencies) {
-						g2d.fillOval(q.display_x-pointRadius, q.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					}
-					g2d.setColor(Color.BLACK);
-					for(Point q : p.adjacencies) {
-						g2d.drawOval(q.display_x-pointRadius, q.display_y-pointRadius, pointDiameter, pointDiameter);
-					}
-				}
-			}
-		}
+	 * This marks the cached drawing as out of date.
+	 */
+	private void invalidateImage() {
+		cacheValid = false;
+		renderGeneration++;
 	}
 	
 	/**
-	 * This changes the point radius to a new value and calculates the point diameter as well.
+	 * This is a constructor for the class when a graph is known.
+	 * It sets the graph to a new value, though this will not apply in most
+	 * cases as the graph has not been made yet.
 	 * 
-	 * @param r This is the new radius to be set to.
+	 * @param rgg The new RandomGeometricGraph reference to store in graph.
 	 */
-	public void setPointRadius(int r) {
-		pointRadius = r;
-		pointDiameter = r*2;
-	}
-
-	/**
-	 * This prints only the edges of a Point3D list of vectors in the positive Z space.
-	 */
-	private void paintPosZ() {
-		ArrayList<Point> points = graph.getListOfPoints();
-		Point3D p;
-		g2d.setColor(Color.BLACK);
-		for(int i = 0; i < points.size(); i++) {
-			p = (Point3D)points.get(i);
-			if(p.real_z > 0) {
-				for(Point q : p.adjacencies) {
-					if(((Point3D) q).real_z >= 0)
-						g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
-				}
-				g2d.setColor(Color.WHITE);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-		}
+	public GraphDisplay(RandomGeometricGraph rgg) {
+		setGraph(rgg);
+		addViewControls();
 	}
 	
 	/**
-	 * This prints only the edges of a POint3D list of vectors in the negative Z space.
+	 * This constructor when the panel is made before the graph.
+	 * 
+	 * @param w The width in pixels of the JPanel component.
+	 * @param h The height in pixels of the JPanel component.
 	 */
-	private void paintNegZ() {
-		ArrayList<Point> points = graph.getListOfPoints();
-		Point3D p;
-		g2d.setColor(Color.BLACK);
-		for(int i = 0; i < points.size(); i++) {
-			p = (Point3D)points.get(i);
-			if(p.real_z < 0) {
-				for(Point q : p.adjacencies) {
-					if(((Point3D) q).real_z <= 0)
-						g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
-				}
-				g2d.setColor(Color.WHITE);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-		}
+	public GraphDisplay(int w, int h) {
+		super();
+		pxlWidth = w;
+		pxlHeight = h;
+		addViewControls();
 	}
 	
 	/**
-	 * This draws every point on the screen along with its associated color class.
+	 * This updes the pixel width and height.
+	 * In order to have the proper bounds for the JPanel, this information must
+	 * be regularly updated.  In order to get the accurate width and height of
+	 * the drawable area, the Dimension of the component should be accessed
+	 * after this component was set to visible.
+	 * 
+	 * @param w The width in pixels of the JPanel component.
+	 * @param h The height in pixels of the JPanel component.
 	 */
-	private void colorPoints() {
-		clearScreen();
-		for(Point p : graph.listOfPoints) {
-			g2d.setColor(graph.getClassColors()[p.color]);
-			g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-			g2d.setColor(Color.BLACK);
-			g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-		}
+	public void setDimension(int w, int h) {
+		pxlWidth = w;
+		pxlHeight = h;
+		invalidateImage();
 	}
-
+	
 	/**
-	 * This prints only one of the color classes depending on the selectedIndex.
+	 * This copies the last drawing of the graph to the screen.
+	 * If the drawing is out of date, a new one is started on a background thread and the
+	 * old one stays on screen until it is done.
 	 * 
-	 * @param selectedIndex This is the color class with the range of (0 to n) where n represents all of the color classes. 
+	 * @param g The super graphics component for drawing on this JPanel.
 	 */
-	@SuppressWarnings("unchecked")
-	private void colorSet(int selectedIndex) {
-		if(selectedIndex == graph.getNumberOfColors()) {
-			colorPoints();
+	@Override
+	public void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		if(cachedImage != null) {
+			g.drawImage(cachedImage, 0, 0, null);
 		}
-		else {
-			clearScreen();
-			for(Point p : (ArrayList<Point>) graph.getColorPointLists()[selectedIndex]) {
-				g2d.setColor(graph.getClassColors()[p.color]);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
+		if(!cacheValid && renderWorker == null) {
+			startRender();
 		}
 	}
-
-
+	
 	/**
-	 * This draws up the first bipartite method results.
-	 * 
-	 * @param buttonCount The option from the JFrame to determine which bipartite to display.
-	 */
-	@SuppressWarnings("unchecked")
-	private void drawBipartiteI(int buttonCount) {
-		int firstColor = 0, secondColor = 1; // First independent set color value, and second independent set color value
-		// This switch statement maps the buttonCount to the color class of the first and second independent set.
-		switch(buttonCount) {
-		case 0:
-			firstColor = 0;
-			secondColor = 1;
-			break;
-		case 1:
-			firstColor = 0;
-			secondColor = 2;
-			break;
-		case 2:
-			firstColor = 0;
-			secondColor = 3;
-			break;
-		case 3:
-			firstColor = 1;
-			secondColor = 2;
-			break;
-		case 4:
-			firstColor = 1;
-			secondColor = 3;
-			break;
-		case 5:
-			firstColor = 2;
-			secondColor = 3;
-			break;
-		}
-		firstColor = graph.fourLargestIndex[firstColor];
-		secondColor = graph.fourLargestIndex[secondColor];
-		
-		ArrayList<Point> firstSet = (ArrayList<Point>) graph.getColorPointLists()[firstColor];
-		ArrayList<Point> secondSet = (ArrayList<Point>) graph.getColorPointLists()[secondColor];
+	 * This starts drawing the current view into a new image on a background thread.
+	 * The GraphRenderer splits the image into tiles that are drawn in parallel.
+	 * Only one drawing runs at a time. When it is done it either becomes the cached image,
+	 * or, if the view changed in the meantime, it is thrown away and another drawing is started.
+	 */
+	private void startRender() {
+		final int generation = renderGeneration;
+		final DrawMethod method = paintSelected;
+		final int option = optional;
+		final int width = viewWidth();
+		final int height = viewHeight();
+		final GraphRenderer renderer = new GraphRenderer(graph, pointRadius);
+		renderer.setViewport(zoom, centerU, centerV);
 		
-		clearScreen();
-		if(graph.distributionType().equals("Sphere")) { // if it's a sphere, do the same thing but only showing the positive hemisphere.
-			for(Point p : firstSet) {
-				if(((Point3D) p).real_z  > 0)
-					for(Point q : p.adjacencies) {
-						if(q.color == secondColor && ((Point3D)q).real_z > 0) {
-							g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
-						}
-					}
-			}
-			
-			// This draws the vertices of the first set in the positive z-hemisphere.
-			for(Point p : firstSet) {
-				if(((Point3D) p).real_z > 0) {
-					g2d.setColor(graph.getClassColors()[p.color]);
-					g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					g2d.setColor(Color.BLACK);
-					g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				}
+		renderWorker = new SwingWorker<BufferedImage, Void>() {
+			@Override
+			protected BufferedImage doInBackground() {
+				return renderer.render(method, option, width, height);
 			}
 			
-			// This draws the vertices of the second set in the positive z-hemisphere.
-			for(Point p : secondSet) {
-				if(((Point3D) p).real_z > 0) {
-					g2d.setColor(graph.getClassColors()[p.color]);
-					g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					g2d.setColor(Color.BLACK);
-					g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);	
-				}
-			}
-		}
-		else {
-			// This draws all of the edges from a point in the first set to its adjacencies that have the same color as the second set.
-			for(Point p : firstSet) {
-				for(Point q : p.adjacencies) {
-					if(q.color == secondColor) {
-						g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
+			@Override
+			protected void done() {
+				renderWorker = null;
+				if(generation == renderGeneration) {
+					try {
+						cachedImage = get();
+						cacheValid = true;
+					}
+					catch (InterruptedException e) {
+						e.printStackTrace();
+					}
+					catch (ExecutionException e) {
+						// Keep the old image instead of drawing the same failing view over and over
+						e.printStackTrace();
+						cacheValid = true;
 					}
 				}
+				repaint();
 			}
-			
-			// This draws the vertices of the first set.
-			for(Point p : firstSet) {
-				g2d.setColor(graph.getClassColors()[p.color]);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-			// This draws the vertices of the second set.
-			for(Point p : secondSet) {
-				g2d.setColor(graph.getClassColors()[p.color]);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-		}
+		};
+		renderWorker.execute();
 	}
-
+	
 	/**
-	 * This draws up the results of the second bipartite method.
+	 * This changes the point radius to a new value.
 	 * 
-	 * @param buttonCount An option value to indicate whether the first, second or third bipartite is to be displayed.
+	 * @param r This is the new radius to be set to.
 	 */
-	@SuppressWarnings("unchecked")
-	private void drawBipartiteII(int buttonCount) {
-		int firstColor = 0, secondColor = buttonCount; // First independent set color value, and second independent set color value
-		
-		ArrayList<Point> firstSet = (ArrayList<Point>) graph.getColorPointLists()[firstColor];
-		ArrayList<Point> secondSet = (ArrayList<Point>) graph.getBipartiteIISecondSets()[secondColor];
-		
-		clearScreen();
-		if(graph.distributionType().equals("Sphere")) { // if it's a sphere, do something different
-			// Print the edges from the first to the second set as long as it is in the positive z-hemisphere.
-			for(Point p : firstSet) {
-				if(((Point3D) p).real_z  > 0)
-					for(Point q : p.adjacencies) {
-						if(q.R3UR2color == secondColor && ((Point3D)q).real_z > 0) {
-							g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
-						}
-					}
-			}
-			// Print the first set that is in the positive z-hemisphere.
-			for(Point p : firstSet) {
-				if(((Point3D) p).real_z > 0) {
-					g2d.setColor(graph.getClassColors()[p.color]);
-					g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					g2d.setColor(Color.BLACK);
-					g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-				}
-			}
-			// Print the second set that is in the positive z-hemisphere.
-			for(Point p : secondSet) {
-				if(((Point3D) p).real_z > 0) {
-					g2d.setColor(graph.getClassColors()[p.R3UR2color+1]);
-					g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-					g2d.setColor(Color.BLACK);
-					g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);	
-				}
-			}
-		}
-		else {
-			// This prints all the edges between the first and second set.
-			for(Point p : firstSet) {
-				for(Point q : p.adjacencies) {
-					if(q.R3UR2color == secondColor) {
-						g2d.drawLine(p.display_x, p.display_y, q.display_x, q.display_y);
-					}
-				}
-			}
-			
-			// Prints the first set.
-			for(Point p : firstSet) {
-				g2d.setColor(graph.getClassColors()[p.color]);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-			
-			// Prints the second set.
-			for(Point p : secondSet) {
-				g2d.setColor(graph.getClassColors()[p.R3UR2color+1]);
-				g2d.fillOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter+1, pointDiameter+1);
-				g2d.setColor(Color.BLACK);
-				g2d.drawOval(p.display_x-pointRadius, p.display_y-pointRadius, pointDiameter, pointDiameter);
-			}
-		}
+	public void setPointRadius(int r) {
+		if(r != pointRadius)
+			invalidateImage();
+		pointRadius = r;
 	}
 
 	/**
@@ -528,6 +374,8 @@ public class GraphDisplay extends JPanel {
 	 * @param also This translates to the optional varibale.
 	 */
 	public void paintThis(DrawMethod method, int also) {
+		if(method != paintSelected || also != optional)
+			invalidateImage();
 		paintSelected = method;
 		optional = also;
 		repaint();
@@ -0,0 +1,167 @@
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.imageio.ImageIO;
+
+
+/**
+ * This class saves a view of a random geometric graph to a PNG or SVG file without
+ * opening a window, so pictures of large runs can be made for reports at any size.
+ * Any GraphDisplay.DrawMethod can be saved. The PNG is drawn by a GraphRenderer and the
+ * SVG is written one element at a time by a SvgSink while the graph is walked.
+ * It can also be run from the command line, where it makes a graph and saves one view of it.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class GraphExporter {
+	
+	/**
+	 * This draws the views of the graph.
+	 */
+	private GraphRenderer renderer;
+	
+	/**
+	 * @param rgg The graph to save views of.
+	 * @param pointRadius The radius in pixels of the vertices.
+	 */
+	public GraphExporter(RandomGeometricGraph rgg, int pointRadius) {
+		renderer = new GraphRenderer(rgg, pointRadius);
+	}
+	
+	/**
+	 * This sets which part of the graph is saved.
+	 * 
+	 * @param zoom How many times larger than the whole graph the view is drawn, at least 1.
+	 * @param centerU The horizontal center of the view as a fraction of the graph's width.
+	 * @param centerV The vertical center of the view as a fraction of the graph's height.
+	 */
+	public void setViewport(double zoom, double centerU, double centerV) {
+		renderer.setViewport(zoom, centerU, centerV);
+	}
+	
+	/**
+	 * @param threshold The number of points and edges per pixel above which a PNG is saved as
+	 * a density picture. Use Double.POSITIVE_INFINITY to always draw every point and edge.
+	 */
+	public void setDetailThreshold(double threshold) {
+		renderer.setDetailThreshold(threshold);
+	}
+	
+	/**
+	 * This draws a view of the graph and saves it as a PNG file.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @param width The width of the picture in pixels.
+	 * @param height The height of the picture in pixels.
+	 * @param file The file to save to.
+	 * @throws IOException If the file can not be written.
+	 */
+	public void writePNG(GraphDisplay.DrawMethod method, int option, int width, int height, File file) throws IOException {
+		BufferedImage image = renderer.render(method, option, width, height);
+		if(!ImageIO.write(image, "png", file))
+			throw new IOException("No PNG writer is available");
+	}
+	
+	/**
+	 * This writes a view of the graph to an SVG file.
+	 * The elements are written as the graph is walked, so the file is never held in memory.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @param width The width of the picture in pixels.
+	 * @param height The height of the picture in pixels.
+	 * @param file The file to save to.
+	 * @throws IOException If the file can not be written.
+	 */
+	public void writeSVG(GraphDisplay.DrawMethod method, int option, int width, int height, File file) throws IOException {
+		PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file), 1 << 16));
+		try {
+			SvgSink svg = new SvgSink(out, width, height);
+			renderer.emit(method, option, width, height, svg);
+			svg.finish();
+			// A PrintWriter keeps errors to itself, so they are checked for at the end
+			if(out.checkError())
+				throw new IOException("Writing " + file + " failed");
+		}
+		finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * This saves a view of the graph, choosing PNG or SVG from the end of the file name.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @param width The width of the picture in pixels.
+	 * @param height The height of the picture in pixels.
+	 * @param file The file to save to, ending in .png or .svg.
+	 * @throws IOException If the file can not be written.
+	 */
+	public void write(GraphDisplay.DrawMethod method, int option, int width, int height, File file) throws IOException {
+		if(file.getName().toLowerCase().endsWith(".svg"))
+			writeSVG(method, option, width, height, file);
+		else
+			writePNG(method, option, width, height, file);
+	}
+	
+	/**
+	 * This makes a graph and saves one view of it without opening a window.
+	 * The arguments are the distribution (square, disk, rim, sphere, torus, cube or ball, with the number of
+	 * dimensions after cube or ball if it is not 3, such as cube5), the number of vertices,
+	 * the radius, the drawing method, its option, the width and height in pixels, the point radius
+	 * and the file name. The smallest last ordering, color classes and bipartites are only made
+	 * for the drawing methods that show them.
+	 * For example: square 20000 0.02 PAINT_POINTS 3 4000 4000 1 graph.svg
+	 * 
+	 * @param args The command line arguments.
+	 * @throws IOException If the file can not be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length != 9) {
+			System.err.println("Usage: GraphExporter square|disk|rim|sphere|torus|cube[d]|ball[d] vertices radius method option width height pointRadius file");
+			System.exit(1);
+		}
+		int width = Integer.parseInt(args[5]);
+		int height = Integer.parseInt(args[6]);
+		RandomGeometricGraph rgg;
+		if(args[0].equals("disk"))
+			rgg = new RGGUnitCircle(width, height);
+		else if(args[0].equals("rim"))
+			rgg = new RGGDenseDisk(width, height);
+		else if(args[0].equals("sphere"))
+			rgg = new RGGSphere(width, height);
+		else if(args[0].equals("torus"))
+			rgg = new RGGUnitTorus(width, height);
+		else if(args[0].startsWith("cube"))
+			rgg = new RGGUnitCube(width, height, args[0].length() > 4 ? Integer.parseInt(args[0].substring(4)) : 3);
+		else if(args[0].startsWith("ball"))
+			rgg = new RGGUnitBall(width, height, args[0].length() > 4 ? Integer.parseInt(args[0].substring(4)) : 3);
+		else
+			rgg = new RGGUnitSquare(width, height);
+		rgg.createPoints(Integer.parseInt(args[1]), Double.parseDouble(args[2]));
+		
+		GraphDisplay.DrawMethod method = GraphDisplay.DrawMethod.valueOf(args[3]);
+		int option = Integer.parseInt(args[4]);
+		if(method == GraphDisplay.DrawMethod.COLOR_SET || method == GraphDisplay.DrawMethod.DRAW_BIPARTITEI
+				|| method == GraphDisplay.DrawMethod.DRAW_BIPARTITEII) {
+			rgg.createSmallestLastOrdering();
+			rgg.createColorClasses();
+			if(method == GraphDisplay.DrawMethod.DRAW_BIPARTITEII && !rgg.createSecondBipartites()
+					|| method == GraphDisplay.DrawMethod.DRAW_BIPARTITEI && !rgg.createFirstBipartites()) {
+				System.err.println("Not enough color classes for the bipartites");
+				System.exit(1);
+			}
+		}
+		
+		GraphExporter exporter = new GraphExporter(rgg, Integer.parseInt(args[7]));
+		exporter.write(method, option, width, height, new File(args[8]));
+	}
+}
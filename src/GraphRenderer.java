@@ -0,0 +1,727 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * This class draws a view of a random geometric graph.
+ * Drawing happens in two steps. First the graph is walked once for the chosen DrawMethod and
+ * every line and circle is passed to a PrimitiveSink. Then, when drawing to an image, the
+ * stored calls are split into square tiles. Each tile only gets the calls whose bounds fall
+ * in it, is drawn on its own thread into its own small image, and is copied into the final image.
+ * Within a tile, vertices are stamped from small images made once per color and size.
+ * The real coordinates of the points are turned into pixels while drawing, through a viewport
+ * that can be zoomed and moved. When zoomed in, only the points the spatial grid finds near
+ * the view are walked. On a periodic distribution an edge that goes around the wrap is drawn as two
+ * halves, one from each end out past the side of the box it crosses.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class GraphRenderer {
+	
+	/**
+	 * The width and height in pixels of a single tile.
+	 */
+	public static final int TILE_SIZE = 128;
+	
+	/**
+	 * The default number of points and edges per pixel above which a density picture is drawn.
+	 */
+	public static final double DEFAULT_DETAIL_THRESHOLD = 4.0;
+	
+	/**
+	 * The two of the four largest color classes each option of the first bipartite method shows.
+	 */
+	private static final int[][] BIPARTITE_I_CLASSES = {{0, 1}, {0, 2}, {0, 3}, {1, 2}, {1, 3}, {2, 3}};
+	
+	/**
+	 * The threads shared by every renderer to draw tiles.
+	 */
+	private static ExecutorService tilePool;
+	
+	/**
+	 * This is the graph to be drawn.
+	 */
+	private RandomGeometricGraph graph;
+	
+	/**
+	 * This is the radius in pixels of the vertices to be drawn.
+	 */
+	private int pointRadius;
+	
+	/**
+	 * This is the diameter in pixels of the vertices to be drawn.
+	 */
+	private int pointDiameter;
+	
+	/**
+	 * This is where the drawing calls are sent while the graph is walked.
+	 */
+	private PrimitiveSink sink;
+	
+	/**
+	 * The points near enough to the view to be drawn, in order of their IDs.
+	 */
+	private ArrayList<Point> visiblePoints;
+	
+	/**
+	 * The number of points and edges per pixel above which a density picture is drawn
+	 * instead of every point and edge.
+	 */
+	private double detailThreshold = DEFAULT_DETAIL_THRESHOLD;
+	
+	/**
+	 * How many times larger than the whole graph the view is drawn. 1 shows the whole graph.
+	 */
+	private double zoom = 1;
+	
+	/**
+	 * The center of the view as a fraction of the width and height of the graph.
+	 */
+	private double centerU = .5, centerV = .5;
+	
+	/**
+	 * The number of pixels per unit of real distance, and the pixel that the real location 0 lands on,
+	 * for the drawing in progress.
+	 */
+	private double scaleX, scaleY, originX, originY;
+	
+	/**
+	 * True if each side of the box is joined to the opposite one, so edges can go around the wrap.
+	 */
+	private boolean periodic;
+	
+	/**
+	 * The width of the box in real distance.
+	 */
+	private double span;
+	
+	/**
+	 * Marks the IDs of the points that are near the view while drawing a zoomed in view.
+	 * This is null when the whole graph can be seen.
+	 */
+	private boolean[] inView;
+	
+	/**
+	 * @param rgg The graph to draw.
+	 * @param radius The radius in pixels of the vertices.
+	 */
+	public GraphRenderer(RandomGeometricGraph rgg, int radius) {
+		graph = rgg;
+		pointRadius = radius;
+		pointDiameter = radius*2;
+	}
+	
+	/**
+	 * @param threshold The number of points and edges per pixel above which a density picture
+	 * is drawn. Use Double.POSITIVE_INFINITY to always draw every point and edge.
+	 */
+	public void setDetailThreshold(double threshold) {
+		detailThreshold = threshold;
+	}
+	
+	/**
+	 * This sets which part of the graph is drawn.
+	 * 
+	 * @param zoom How many times larger than the whole graph the view is drawn, at least 1.
+	 * @param centerU The horizontal center of the view as a fraction of the graph's width.
+	 * @param centerV The vertical center of the view as a fraction of the graph's height.
+	 */
+	public void setViewport(double zoom, double centerU, double centerV) {
+		this.zoom = Math.max(1, zoom);
+		this.centerU = centerU;
+		this.centerV = centerV;
+	}
+	
+	/**
+	 * This estimates how many points and edges a view would draw, without walking the graph.
+	 * The views of color classes and bipartites only count the points of the classes they show
+	 * and the edges between them, and the views of a half of the sphere count half of the graph.
+	 * When zoomed in, only the part of the graph in view is counted.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @return the estimated number of points and edges
+	 */
+	private long estimateElements(GraphDisplay.DrawMethod method, int option) {
+		double view = 1/(zoom*zoom);
+		// The bipartite views of the sphere only show its positive half
+		double half = graph.distributionType().equals("Sphere") ? .5 : 1;
+		double points = graph.getVertexCount();
+		double edges = graph.getTotalEdges()/2;
+		Object[] classes = graph.getColorPointLists();
+		switch(method) {
+		case CLEAR_SCREEN:
+			return 0;
+		case PAINT_POINTS:
+			return (long) ((((option & 1) == 1 ? edges : 0) + points)*view);
+		case PAINT_POSZ:
+		case PAINT_NEGZ:
+			// Half of the points, whose edges are each drawn from both ends
+			return (long) ((points*.5 + edges)*view);
+		case COLOR_SET:
+			if(option < graph.getNumberOfColors())
+				points = ((ArrayList<?>) classes[option]).size();
+			return (long) (points*view);
+		case DRAW_BIPARTITEI:
+			int[] pair = bipartiteIClasses(option);
+			points = ((ArrayList<?>) classes[pair[0]]).size() + ((ArrayList<?>) classes[pair[1]]).size();
+			edges = graph.getEdgesForBipartiteI()[option >= 0 && option < BIPARTITE_I_CLASSES.length ? option : 0];
+			return (long) ((points + edges)*half*view);
+		case DRAW_BIPARTITEII:
+			points = ((ArrayList<?>) classes[0]).size() + ((ArrayList<?>) graph.getBipartiteIISecondSets()[option]).size();
+			edges = graph.getEdgesForBipartiteII()[option];
+			return (long) ((points + edges)*half*view);
+		default:
+			return (long) ((points + edges)*view);
+		}
+	}
+	
+	/**
+	 * @return the thread pool for drawing tiles, created the first time it is needed
+	 */
+	private static synchronized ExecutorService getTilePool() {
+		if(tilePool == null) {
+			tilePool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "GraphRenderer tile");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return tilePool;
+	}
+	
+	/**
+	 * This draws a view of the graph into a new image with a white background.
+	 * If the view has more points and edges than the detail threshold allows for the
+	 * number of pixels, a density picture is made by a DensitySink instead.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @param width The width of the image in pixels.
+	 * @param height The height of the image in pixels.
+	 * @return the finished image
+	 */
+	public BufferedImage render(GraphDisplay.DrawMethod method, int option, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		g.setBackground(Color.WHITE);
+		g.clearRect(0, 0, width, height);
+		g.dispose();
+		if(graph == null || method == GraphDisplay.DrawMethod.CLEAR_SCREEN)
+			return image;
+		
+		// With many more elements than pixels, only draw how dense each pixel is
+		if(estimateElements(method, option) > detailThreshold*width*height) {
+			DensitySink density = new DensitySink(width, height);
+			emit(method, option, width, height, density);
+			return density.toImage();
+		}
+		
+		PrimitiveBuffer buffer = new PrimitiveBuffer();
+		emit(method, option, width, height, buffer);
+		rasterize(buffer, image);
+		return image;
+	}
+	
+	/**
+	 * This draws stored calls into an image one tile at a time on the tile threads.
+	 * The calls are first sorted into the tiles their bounds overlap, keeping their order,
+	 * so each tile only looks at what can be seen in it.
+	 * 
+	 * @param buffer The drawing calls.
+	 * @param image The image to draw into.
+	 */
+	public void rasterize(final PrimitiveBuffer buffer, final BufferedImage image) {
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int tilesAcross = (width+TILE_SIZE-1)/TILE_SIZE;
+		final int tilesDown = (height+TILE_SIZE-1)/TILE_SIZE;
+		
+		// Count the calls for each tile, then place them, so every tile has an ordered list
+		final int[] tileStart = new int[tilesAcross*tilesDown+1];
+		for(int pass = 0; pass < 2; pass++) {
+			int[] next = pass == 0 ? null : tileStart.clone();
+			int[] entries = pass == 0 ? null : new int[tileStart[tileStart.length-1]];
+			for(int i = 0; i < buffer.size(); i++) {
+				int fromX = Math.max(0, buffer.minX(i)/TILE_SIZE);
+				int toX = Math.min(tilesAcross-1, buffer.maxX(i)/TILE_SIZE);
+				int fromY = Math.max(0, buffer.minY(i)/TILE_SIZE);
+				int toY = Math.min(tilesDown-1, buffer.maxY(i)/TILE_SIZE);
+				for(int ty = fromY; ty <= toY; ty++) {
+					for(int tx = fromX; tx <= toX; tx++) {
+						int tile = ty*tilesAcross+tx;
+						if(pass == 0)
+							tileStart[tile+1]++;
+						else
+							entries[next[tile]++] = i;
+					}
+				}
+			}
+			if(pass == 0) {
+				for(int t = 0; t < tilesAcross*tilesDown; t++)
+					tileStart[t+1] += tileStart[t];
+			}
+			else {
+				drawTiles(buffer, image, tileStart, entries, tilesAcross, tilesDown);
+			}
+		}
+	}
+	
+	/**
+	 * This draws every tile on the tile threads and copies them into the image.
+	 * 
+	 * @param buffer The drawing calls.
+	 * @param image The image to draw into.
+	 * @param tileStart The position in entries where each tile's calls begin.
+	 * @param entries The calls for each tile, one tile after the other.
+	 * @param tilesAcross The number of tiles in a row.
+	 * @param tilesDown The number of tiles in a column.
+	 */
+	private void drawTiles(final PrimitiveBuffer buffer, BufferedImage image, final int[] tileStart, final int[] entries, int tilesAcross, int tilesDown) {
+		ArrayList<Future<BufferedImage>> tiles = new ArrayList<Future<BufferedImage>>();
+		for(int t = 0; t < tilesAcross*tilesDown; t++) {
+			final int tile = t;
+			final int left = (t % tilesAcross)*TILE_SIZE;
+			final int top = (t / tilesAcross)*TILE_SIZE;
+			final int w = Math.min(TILE_SIZE, image.getWidth()-left);
+			final int h = Math.min(TILE_SIZE, image.getHeight()-top);
+			if(tileStart[tile] == tileStart[tile+1]) {
+				tiles.add(null); // Nothing to draw, the image is already white here
+				continue;
+			}
+			tiles.add(getTilePool().submit(new Callable<BufferedImage>() {
+				@Override
+				public BufferedImage call() {
+					BufferedImage tileImage = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+					Graphics2D g = tileImage.createGraphics();
+					g.setBackground(Color.WHITE);
+					g.clearRect(0, 0, w, h);
+					g.translate(-left, -top);
+					buffer.draw(entries, tileStart[tile], tileStart[tile+1], g);
+					g.dispose();
+					return tileImage;
+				}
+			}));
+		}
+		
+		// Put the tiles together
+		Graphics2D g = image.createGraphics();
+		try {
+			for(int t = 0; t < tiles.size(); t++) {
+				if(tiles.get(t) != null)
+					g.drawImage(tiles.get(t).get(), (t % tilesAcross)*TILE_SIZE, (t / tilesAcross)*TILE_SIZE, null);
+			}
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Drawing a tile failed", e);
+		}
+		finally {
+			g.dispose();
+		}
+	}
+	
+	/**
+	 * This walks the graph for a drawing method and sends every drawing call to the sink.
+	 * 
+	 * @param method The drawing method to use.
+	 * @param option The optional information for the drawing method.
+	 * @param width The width of the view in pixels.
+	 * @param height The height of the view in pixels.
+	 * @param out The sink to send the calls to.
+	 */
+	public void emit(GraphDisplay.DrawMethod method, int option, int width, int height, PrimitiveSink out) {
+		sink = out;
+		setUpView(width, height);
+		switch(method) {
+		case CLEAR_SCREEN:  // If doing nothing, show nothing as well.
+			break;
+		case COLOR_SET: // To print a particular set of colors.
+			colorSet(option);
+			break;
+		case DRAW_BIPARTITEI: // For the first method of bipartite selection
+			drawBipartiteI(option);
+			break;
+		case DRAW_BIPARTITEII: // For the second method of bipartite selection.
+			drawBipartiteII(option);
+			break;
+		case PAINT_NEGZ: // To print the negative z-axis hemisphere.
+			paintNegZ();
+			break;
+		case PAINT_POINTS: // To print the graph on the first page.
+			// First, shift the bits of the int by 0, then see if the last bit is one.
+			// If the last bit is one, then print out the edges.
+			if((option & 1) == 1)
+				paintEdges();
+			// Shift the bits over by one and compare the last bits. This is like checking to see if 2 was added.
+			if((option & 2) == 2)
+				paintPoints();
+			// Shifts the bits over by two and compares the LSD (least significant digit). This is like checking to see if 4 was added.
+			if((option & 4) == 4)
+				paintMin();
+			// Shifts the bits over by three and compares the LSD.  This is like checking to see if 8 was added.
+			if((option & 8) == 8)
+				paintMax();
+			break;
+		case PAINT_POSZ: // To print the positive z-axis hemisphere.
+			paintPosZ();
+			break;
+		default:
+			break;
+		}
+	}
+	
+	/**
+	 * This works out the pixel location of the real coordinates for the view and finds which
+	 * points are near enough to it to be drawn. Edges can reach into the view from a point up to
+	 * one radius away, so the area looked at is grown by the radius.
+	 * 
+	 * @param width The width of the view in pixels.
+	 * @param height The height of the view in pixels.
+	 */
+	private void setUpView(int width, int height) {
+		double min = graph.getMinCoordinate();
+		span = graph.getMaxCoordinate() - min;
+		periodic = graph.isPeriodic();
+		scaleX = zoom*width/span;
+		scaleY = zoom*height/span;
+		originX = width*.5 - (min + centerU*span)*scaleX;
+		originY = height*.5 - (min + centerV*span)*scaleY;
+		
+		double marginX = graph.getRadius() + (pointRadius+1)/scaleX;
+		double marginY = graph.getRadius() + (pointRadius+1)/scaleY;
+		double minX = (-originX)/scaleX - marginX;
+		double maxX = (width-originX)/scaleX + marginX;
+		double minY = (-originY)/scaleY - marginY;
+		double maxY = (height-originY)/scaleY + marginY;
+		
+		inView = null;
+		visiblePoints = graph.getListOfPoints();
+		if(minX > min || minY > min || maxX < min+span || maxY < min+span) {
+			ArrayList<Point> found = new ArrayList<Point>();
+			SpatialGrid grid = graph.getSpatialGrid();
+			grid.findInBox(minX, maxX, minY, maxY, found);
+			if(periodic) {
+				// Edges also reach into the view around the wrap, from points near the other sides
+				for(int sx = -1; sx <= 1; sx++) {
+					for(int sy = -1; sy <= 1; sy++) {
+						if(sx != 0 || sy != 0)
+							grid.findInBox(minX+sx*span, maxX+sx*span, minY+sy*span, maxY+sy*span, found);
+					}
+				}
+			}
+			// Keep the same drawing order as the whole graph
+			Collections.sort(found, new Comparator<Point>() {
+				@Override
+				public int compare(Point a, Point b) {
+					return a.id - b.id;
+				}
+			});
+			inView = new boolean[graph.getListOfPoints().size()];
+			visiblePoints = new ArrayList<Point>(found.size());
+			for(Point p : found) {
+				// A point found through more than one side of the wrap is drawn once
+				if(!inView[p.id])
+					visiblePoints.add(p);
+				inView[p.id] = true;
+			}
+		}
+	}
+	
+	/**
+	 * @param p The point to locate.
+	 * @return the horizontal pixel location of the point in the view
+	 */
+	private int screenX(Point p) {
+		return (int) Math.floor(originX + p.getX()*scaleX);
+	}
+	
+	/**
+	 * @param p The point to locate.
+	 * @return the vertical pixel location of the point in the view
+	 */
+	private int screenY(Point p) {
+		return (int) Math.floor(originY + p.getY()*scaleY);
+	}
+	
+	/**
+	 * @param p The point to check.
+	 * @return True if the point is near enough to the view to be drawn.
+	 */
+	private boolean isInView(Point p) {
+		return inView == null || inView[p.id];
+	}
+	
+	/**
+	 * This sends a line between two points to the sink.
+	 * 
+	 * @param p The first end of the line.
+	 * @param q The second end of the line.
+	 */
+	private void line(Point p, Point q) {
+		if(periodic) {
+			double shiftX = wrapShift(q.getX() - p.getX());
+			double shiftY = wrapShift(q.getY() - p.getY());
+			if(shiftX != 0 || shiftY != 0) {
+				// Each end goes out to where the other end would be past the side it crosses
+				sink.line(screenX(p), screenY(p), (int) Math.floor(originX + (q.getX()+shiftX)*scaleX),
+						(int) Math.floor(originY + (q.getY()+shiftY)*scaleY));
+				sink.line(screenX(q), screenY(q), (int) Math.floor(originX + (p.getX()-shiftX)*scaleX),
+						(int) Math.floor(originY + (p.getY()-shiftY)*scaleY));
+				return;
+			}
+		}
+		sink.line(screenX(p), screenY(p), screenX(q), screenY(q));
+	}
+	
+	/**
+	 * @param delta How far one end of an edge is from the other along an axis.
+	 * @return how far to move the far end so that the edge goes the short way around the wrap, or 0 if it already does
+	 */
+	private double wrapShift(double delta) {
+		if(delta > span/2)
+			return -span;
+		if(delta < -span/2)
+			return span;
+		return 0;
+	}
+	
+	/**
+	 * This draws a vertex as a filled circle with a black outline.
+	 * 
+	 * @param p The vertex to draw.
+	 * @param fill The color inside the circle.
+	 * @param grow How much larger than the outline the filled circle is.
+	 */
+	private void marker(Point p, Color fill, int grow) {
+		sink.marker(screenX(p)-pointRadius, screenY(p)-pointRadius, pointDiameter+grow, pointDiameter, fill);
+	}
+	
+	/**
+	 * This paints the entire set of vertices for the RGG according to the pointRadius.
+	 */
+	private void paintPoints() {
+		for(Point p : visiblePoints) {
+			marker(p, Color.WHITE, 0);
+		}
+	}
+	
+	/**
+	 * This paints the edges between all points using the edgePrint lists to reduce the time complexity to n^2/2.
+	 */
+	private void paintEdges() {
+		ArrayList<Point> points = visiblePoints;
+		Point p;
+		for(int i = 0; i < points.size(); i++) {
+			p = points.get(i);
+			for(Point q : p.edgePrint) {
+				line(p, q);
+			}
+		}
+	}
+	
+	/**
+	 * This paints all vertices with a given degree in one color.
+	 * For the first vertex found to meet this criteria, all of its neighbors are colored in a second color.
+	 * 
+	 * @param degree The degree of the vertices to paint.
+	 * @param color The color of the vertices with that degree.
+	 * @param neighborColor The color of the neighbors of the first one.
+	 */
+	private void paintDegree(int degree, Color color, Color neighborColor) {
+		boolean edgesOfOneDrawn = false;
+		for(Point p : visiblePoints) {
+			if(p.degree == degree) {
+				marker(p, color, 1);
+				if(!edgesOfOneDrawn) {
+					edgesOfOneDrawn = true;
+					for(Point q : p.adjacencies) {
+						sink.fillOval(screenX(q)-pointRadius, screenY(q)-pointRadius, pointDiameter+1, neighborColor);
+					}
+					for(Point q : p.adjacencies) {
+						sink.drawOval(screenX(q)-pointRadius, screenY(q)-pointRadius, pointDiameter);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * This paints all vertices with the same minimum degree blue.
+	 * For the first vertex found to meet this criteria, all of its neighbors are colored cyan.
+	 */
+	private void paintMin() {
+		paintDegree(graph.getMinDegreeCount(), Color.BLUE, Color.CYAN);
+	}
+	
+	/**
+	 * This paints all vertices with the same maximum degree red.
+	 * For the first vertex found to meet this criteria, all of its neighbors are colored pink.
+	 */
+	private void paintMax() {
+		paintDegree(graph.getMaxDegreeCount(), Color.RED, Color.PINK);
+	}
+	
+	/**
+	 * This prints only the edges of a Point3D list of vectors in the positive Z space.
+	 */
+	private void paintPosZ() {
+		ArrayList<Point> points = visiblePoints;
+		Point p;
+		for(int i = 0; i < points.size(); i++) {
+			p = points.get(i);
+			if(p.coordinate(2) > 0) {
+				for(Point q : p.adjacencies) {
+					if(q.coordinate(2) >= 0)
+						line(p, q);
+				}
+				marker(p, Color.WHITE, 0);
+			}
+		}
+	}
+	
+	/**
+	 * This prints only the edges of a POint3D list of vectors in the negative Z space.
+	 */
+	private void paintNegZ() {
+		ArrayList<Point> points = visiblePoints;
+		Point p;
+		for(int i = 0; i < points.size(); i++) {
+			p = points.get(i);
+			if(p.coordinate(2) < 0) {
+				for(Point q : p.adjacencies) {
+					if(q.coordinate(2) <= 0)
+						line(p, q);
+				}
+				marker(p, Color.WHITE, 0);
+			}
+		}
+	}
+	
+	/**
+	 * This draws every point on the screen along with its associated color class.
+	 */
+	private void colorPoints() {
+		for(Point p : visiblePoints) {
+			marker(p, graph.getClassColors()[p.color], 1);
+		}
+	}
+
+	/**
+	 * This prints only one of the color classes depending on the selectedIndex.
+	 * 
+	 * @param selectedIndex This is the color class with the range of (0 to n) where n represents all of the color classes. 
+	 */
+	@SuppressWarnings("unchecked")
+	private void colorSet(int selectedIndex) {
+		if(selectedIndex == graph.getNumberOfColors()) {
+			colorPoints();
+		}
+		else {
+			for(Point p : (ArrayList<Point>) graph.getColorPointLists()[selectedIndex]) {
+				if(isInView(p))
+					marker(p, graph.getClassColors()[p.color], 1);
+			}
+		}
+	}
+
+	/**
+	 * @param buttonCount The option from the JFrame to determine which bipartite to display, from 0 to 5.
+	 * @return the color classes of the first and second independent set, which are the two largest for any other option
+	 */
+	private int[] bipartiteIClasses(int buttonCount) {
+		int[] pair = buttonCount >= 0 && buttonCount < BIPARTITE_I_CLASSES.length ? BIPARTITE_I_CLASSES[buttonCount] : BIPARTITE_I_CLASSES[0];
+		return new int[] {graph.fourLargestIndex[pair[0]], graph.fourLargestIndex[pair[1]]};
+	}
+	
+	/**
+	 * This draws up the first bipartite method results.
+	 * 
+	 * @param buttonCount The option from the JFrame to determine which bipartite to display.
+	 */
+	@SuppressWarnings("unchecked")
+	private void drawBipartiteI(int buttonCount) {
+		int[] pair = bipartiteIClasses(buttonCount);
+		int firstColor = pair[0], secondColor = pair[1]; // First independent set color value, and second independent set color value
+		
+		ArrayList<Point> firstSet = (ArrayList<Point>) graph.getColorPointLists()[firstColor];
+		ArrayList<Point> secondSet = (ArrayList<Point>) graph.getColorPointLists()[secondColor];
+		
+		// If it's a sphere, do the same thing but only showing the positive hemisphere.
+		boolean sphere = graph.distributionType().equals("Sphere");
+		
+		// This draws all of the edges from a point in the first set to its adjacencies that have the same color as the second set.
+		for(Point p : firstSet) {
+			if(!isInView(p) || sphere && p.coordinate(2) <= 0)
+				continue;
+			for(Point q : p.adjacencies) {
+				if(q.color == secondColor && (!sphere || q.coordinate(2) > 0)) {
+					line(p, q);
+				}
+			}
+		}
+		
+		// This draws the vertices of the first set, then the second set.
+		for(Point p : firstSet) {
+			if(isInView(p) && (!sphere || p.coordinate(2) > 0))
+				marker(p, graph.getClassColors()[p.color], 1);
+		}
+		for(Point p : secondSet) {
+			if(isInView(p) && (!sphere || p.coordinate(2) > 0))
+				marker(p, graph.getClassColors()[p.color], 1);
+		}
+	}
+
+	/**
+	 * This draws up the results of the second bipartite method.
+	 * 
+	 * @param buttonCount An option value to indicate whether the first, second or third bipartite is to be displayed.
+	 */
+	@SuppressWarnings("unchecked")
+	private void drawBipartiteII(int buttonCount) {
+		int firstColor = 0, secondColor = buttonCount; // First independent set color value, and second independent set color value
+		
+		ArrayList<Point> firstSet = (ArrayList<Point>) graph.getColorPointLists()[firstColor];
+		ArrayList<Point> secondSet = (ArrayList<Point>) graph.getBipartiteIISecondSets()[secondColor];
+		VertexSet secondMembers = graph.getBipartiteIISecondMembers()[secondColor];
+		
+		// If it's a sphere, only show the positive z-hemisphere.
+		boolean sphere = graph.distributionType().equals("Sphere");
+		
+		// This prints all the edges between the first and second set.
+		for(Point p : firstSet) {
+			if(!isInView(p) || sphere && p.coordinate(2) <= 0)
+				continue;
+			for(Point q : p.adjacencies) {
+				if(secondMembers.contains(q) && (!sphere || q.coordinate(2) > 0)) {
+					line(p, q);
+				}
+			}
+		}
+		
+		// Prints the first set.
+		for(Point p : firstSet) {
+			if(isInView(p) && (!sphere || p.coordinate(2) > 0))
+				marker(p, graph.getClassColors()[p.color], 1);
+		}
+		
+		// Prints the second set.
+		for(Point p : secondSet) {
+			if(isInView(p) && (!sphere || p.coordinate(2) > 0))
+				marker(p, graph.getClassColors()[secondColor+1], 1);
+		}
+	}
+}
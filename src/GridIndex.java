@@ -0,0 +1,196 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class is a uniform grid over points with any number of dimensions. Like the SpatialGrid, the
+ * cells are at least as wide as the radius, so every neighbor of a point is in the cell of the point
+ * or one of the cells around it. The points are sorted by cell once, and their coordinates are copied
+ * into one primitive array in the same order, one point after another, so the cells around a point are
+ * read from a few runs of memory instead of from objects spread around the heap. The cells along the
+ * last axis follow each other, so the 3^d cells around a point come in 3^(d-1) runs.
+ * The distance is summed in the same order as PointND.distanceSq, so the same neighbors are found.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class GridIndex implements SpatialIndex {
+	
+	/**
+	 * The number of dimensions.
+	 */
+	private final int dimensions;
+	
+	/**
+	 * The smallest coordinate value along every axis.
+	 */
+	private final double minCoord;
+	
+	/**
+	 * The width of a single cell along every axis.
+	 */
+	private final double cellSize;
+	
+	/**
+	 * The number of cells along every axis.
+	 */
+	private final int cellsPerAxis;
+	
+	/**
+	 * The points of every cell, one cell after another.
+	 */
+	private final Point[] points;
+	
+	/**
+	 * The coordinates of the points in the same order, with dimensions values for each point.
+	 */
+	private final double[] coords;
+	
+	/**
+	 * The position of the first point of each cell, with one more entry for the end.
+	 */
+	private final int[] cellStart;
+	
+	/**
+	 * This sorts the points into a grid over the box [minCoord,maxCoord] in every dimension. The list is not changed.
+	 * The number of cells is limited to about twice the number of points, like the SpatialGrid.
+	 * 
+	 * @param list The points, which give their location along each axis through Point.coordinate.
+	 * @param dimensions The number of dimensions, at least 1.
+	 * @param minCoord The smallest coordinate value along every axis.
+	 * @param maxCoord The largest coordinate value along every axis.
+	 * @param radius The threshold to form an edge.
+	 */
+	public GridIndex(ArrayList<Point> list, int dimensions, double minCoord, double maxCoord, double radius) {
+		this.dimensions = dimensions;
+		this.minCoord = minCoord;
+		int n = list.size();
+		double span = maxCoord - minCoord;
+		
+		int maxPerAxis = (int) Math.pow(Math.max(1, 2*n), 1.0/dimensions);
+		int perAxis = radius > 0 ? (int) Math.min(span/radius, maxPerAxis) : maxPerAxis;
+		cellsPerAxis = Math.max(1, perAxis);
+		cellSize = span/cellsPerAxis;
+		int cellCount = 1;
+		for(int a = 0; a < dimensions; a++) {
+			cellCount *= cellsPerAxis;
+		}
+		
+		// Count the points of each cell, then place them
+		int[] cellOf = new int[n];
+		cellStart = new int[cellCount+1];
+		for(int i = 0; i < n; i++) {
+			Point p = list.get(i);
+			int cell = 0;
+			for(int a = 0; a < dimensions; a++) {
+				cell = cell*cellsPerAxis + axisCell(p.coordinate(a));
+			}
+			cellOf[i] = cell;
+			cellStart[cell+1]++;
+		}
+		for(int c = 0; c < cellCount; c++) {
+			cellStart[c+1] += cellStart[c];
+		}
+		int[] next = cellStart.clone();
+		points = new Point[n];
+		coords = new double[n*dimensions];
+		for(int i = 0; i < n; i++) {
+			Point p = list.get(i);
+			int k = next[cellOf[i]]++;
+			points[k] = p;
+			for(int a = 0; a < dimensions; a++) {
+				coords[k*dimensions+a] = p.coordinate(a);
+			}
+		}
+	}
+	
+	/**
+	 * This finds which cell along an axis a coordinate falls in.
+	 * Coordinates outside of the box are kept in the closest cell.
+	 * 
+	 * @param coord The coordinate value.
+	 * @return The cell index along the axis.
+	 */
+	private int axisCell(double coord) {
+		int c = (int) ((coord - minCoord)/cellSize);
+		if(c < 0)
+			return 0;
+		if(c >= cellsPerAxis)
+			return cellsPerAxis-1;
+		return c;
+	}
+	
+	/* (non-Javadoc)
+	 * @see SpatialIndex#findNeighbors(Point, double, java.util.ArrayList)
+	 */
+	@Override
+	public void findNeighbors(Point p, double distanceSq, ArrayList<Point> neighbors) {
+		double[] x = new double[dimensions];
+		int[] cell = new int[dimensions];
+		for(int a = 0; a < dimensions; a++) {
+			x[a] = p.coordinate(a);
+			cell[a] = axisCell(x[a]);
+		}
+		int last = dimensions-1;
+		int lastFrom = Math.max(0, cell[last]-1);
+		int lastTo = Math.min(cellsPerAxis-1, cell[last]+1);
+		
+		// Count through every offset of -1, 0 or 1 along the axes before the last
+		int[] offset = new int[last];
+		for(int a = 0; a < last; a++) {
+			offset[a] = -1;
+		}
+		while(true) {
+			int row = 0;
+			boolean inside = true;
+			for(int a = 0; a < last && inside; a++) {
+				int c = cell[a]+offset[a];
+				inside = c >= 0 && c < cellsPerAxis;
+				row = row*cellsPerAxis + c;
+			}
+			if(inside) {
+				row *= cellsPerAxis;
+				addRun(p, x, cellStart[row+lastFrom], cellStart[row+lastTo+1], distanceSq, neighbors);
+			}
+			int a = last-1;
+			while(a >= 0 && offset[a] == 1) {
+				offset[a] = -1;
+				a--;
+			}
+			if(a < 0)
+				break;
+			offset[a]++;
+		}
+	}
+	
+	/**
+	 * This adds the points in a run that are within the distance. The sum over the axes stops as soon
+	 * as it is past the distance, since it can only grow.
+	 * 
+	 * @param p The point to find the neighbors of.
+	 * @param x The location of the point along each axis.
+	 * @param from The position of the first point in the run.
+	 * @param to The position after the last point in the run.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	private void addRun(Point p, double[] x, int from, int to, double distanceSq, ArrayList<Point> neighbors) {
+		for(int k = from; k < to; k++) {
+			int base = k*dimensions;
+			double sum = 0;
+			for(int a = 0; a < dimensions && sum <= distanceSq; a++) {
+				double delta = x[a]-coords[base+a];
+				sum += delta*delta;
+			}
+			if(sum <= distanceSq && points[k] != p)
+				neighbors.add(points[k]);
+		}
+	}
+	
+	/**
+	 * @return the number of points in the grid
+	 */
+	public int size() {
+		return points.length;
+	}
+}
@@ -0,0 +1,191 @@
+import java.util.Arrays;
+
+
+/**
+ * This class finds where locations fall along a Hilbert curve, which fills space by visiting every
+ * cell of a grid so that cells next to each other on the curve are also next to each other in space.
+ * Sorting vertices by their place on the curve keeps vertices that are close together close in memory
+ * as well. It works in any number of dimensions using Skilling's method, with up to 63 bits in a key.
+ * The simpler Morton curve, which only interleaves the bits of the cells, can be used in the same way.
+ * It is quicker to find but jumps further between some of its neighboring cells.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class HilbertCurve {
+	
+	/**
+	 * 16 bits per axis already splits the box into far more cells than there are vertices,
+	 * and fewer bits make the keys quicker to find and sort.
+	 * 
+	 * @param dimensions The number of dimensions.
+	 * @return the number of bits per axis used for a key
+	 */
+	public static int bitsPerAxis(int dimensions) {
+		return Math.min(16, 63/dimensions);
+	}
+	
+	/**
+	 * This finds the place along the Hilbert curve of a grid cell.
+	 * 
+	 * @param cell The cell along each axis, from 0 to 2^bits-1. The array is changed.
+	 * @param bits The number of bits per axis.
+	 * @return the place along the curve
+	 */
+	public static long key(int[] cell, int bits) {
+		int n = cell.length;
+		int m = 1 << (bits-1);
+		// Undo the rotations and reflections of each level
+		for(int q = m; q > 1; q >>>= 1) {
+			int p = q-1;
+			for(int i = 0; i < n; i++) {
+				if((cell[i] & q) != 0) {
+					cell[0] ^= p;
+				}
+				else {
+					int t = (cell[0] ^ cell[i]) & p;
+					cell[0] ^= t;
+					cell[i] ^= t;
+				}
+			}
+		}
+		// Gray encode
+		for(int i = 1; i < n; i++) {
+			cell[i] ^= cell[i-1];
+		}
+		int t = 0;
+		for(int q = m; q > 1; q >>>= 1) {
+			if((cell[n-1] & q) != 0)
+				t ^= q-1;
+		}
+		for(int i = 0; i < n; i++) {
+			cell[i] ^= t;
+		}
+		// The transformed cell is read off like a Morton key
+		return mortonKey(cell, bits);
+	}
+	
+	/**
+	 * This finds the place along the Morton curve of a grid cell by interleaving its bits,
+	 * most significant first.
+	 * 
+	 * @param cell The cell along each axis, from 0 to 2^bits-1.
+	 * @param bits The number of bits per axis.
+	 * @return the place along the curve
+	 */
+	public static long mortonKey(int[] cell, int bits) {
+		long key = 0;
+		for(int b = bits-1; b >= 0; b--) {
+			for(int i = 0; i < cell.length; i++) {
+				key = (key << 1) | ((cell[i] >>> b) & 1);
+			}
+		}
+		return key;
+	}
+	
+	/**
+	 * This finds the place along the Hilbert curve of every location.
+	 * The box around the locations is split into a grid as fine as a key allows.
+	 * 
+	 * @param coords The locations, one after the other, with dimensions values each.
+	 * @param dimensions The number of values per location.
+	 * @return the place along the curve of each location
+	 */
+	public static long[] keys(double[] coords, int dimensions) {
+		return keys(coords, dimensions, false);
+	}
+	
+	/**
+	 * This finds the place along the Morton curve of every location, in the same grid as keys.
+	 * 
+	 * @param coords The locations, one after the other, with dimensions values each.
+	 * @param dimensions The number of values per location.
+	 * @return the place along the curve of each location
+	 */
+	public static long[] mortonKeys(double[] coords, int dimensions) {
+		return keys(coords, dimensions, true);
+	}
+	
+	/**
+	 * @param coords The locations, one after the other, with dimensions values each.
+	 * @param dimensions The number of values per location.
+	 * @param morton True for places along the Morton curve, false for the Hilbert curve.
+	 * @return the place along the curve of each location
+	 */
+	private static long[] keys(double[] coords, int dimensions, boolean morton) {
+		int n = coords.length/dimensions;
+		int bits = bitsPerAxis(dimensions);
+		double[] min = new double[dimensions];
+		double[] scale = new double[dimensions];
+		for(int d = 0; d < dimensions; d++) {
+			double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+			for(int i = 0; i < n; i++) {
+				lo = Math.min(lo, coords[i*dimensions+d]);
+				hi = Math.max(hi, coords[i*dimensions+d]);
+			}
+			min[d] = lo;
+			scale[d] = hi > lo ? ((1L << bits) - 1)/(hi - lo) : 0;
+		}
+		long[] keys = new long[n];
+		int[] cell = new int[dimensions];
+		for(int i = 0; i < n; i++) {
+			for(int d = 0; d < dimensions; d++) {
+				cell[d] = (int) ((coords[i*dimensions+d] - min[d])*scale[d]);
+			}
+			keys[i] = morton ? mortonKey(cell, bits) : key(cell, bits);
+		}
+		return keys;
+	}
+	
+	/**
+	 * This sorts indices by their keys with a radix sort of 16 bits at a time, which takes
+	 * time in proportion to the number of keys. Equal keys stay in order.
+	 * 
+	 * @param keys The key of each index, which must not be negative.
+	 * @return the indices from 0 to keys.length-1 in order of their keys
+	 */
+	public static int[] sortByKey(long[] keys) {
+		int n = keys.length;
+		int[] order = new int[n];
+		int[] buffer = new int[n];
+		for(int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		int[] counts = new int[1 << 16];
+		for(int shift = 0; shift < 64; shift += 16) {
+			Arrays.fill(counts, 0);
+			for(int i = 0; i < n; i++) {
+				counts[(int) (keys[i] >>> shift) & 0xFFFF]++;
+			}
+			// Skip a pass when every key has the same digit
+			if(n == 0 || counts[(int) (keys[0] >>> shift) & 0xFFFF] == n)
+				continue;
+			int sum = 0;
+			for(int c = 0; c < counts.length; c++) {
+				int count = counts[c];
+				counts[c] = sum;
+				sum += count;
+			}
+			for(int i = 0; i < n; i++) {
+				int v = order[i];
+				buffer[counts[(int) (keys[v] >>> shift) & 0xFFFF]++] = v;
+			}
+			int[] t = order;
+			order = buffer;
+			buffer = t;
+		}
+		return order;
+	}
+	
+	/**
+	 * This orders locations along the Hilbert curve.
+	 * 
+	 * @param coords The locations, one after the other, with dimensions values each.
+	 * @param dimensions The number of values per location.
+	 * @return the indices of the locations in order along the curve
+	 */
+	public static int[] order(double[] coords, int dimensions) {
+		return sortByKey(keys(coords, dimensions));
+	}
+}
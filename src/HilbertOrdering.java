@@ -0,0 +1,36 @@
+/**
+ * This strategy orders the vertices along a Hilbert curve through their locations.
+ * It does not look at the edges at all, so it is the cheapest ordering, but vertices that
+ * are colored one after another are close together in space.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class HilbertOrdering implements VertexOrdering {
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#order(ImmutableGraph)
+	 */
+	@Override
+	public Ordering order(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		int dimensions = graph.getDimensions();
+		double[] coords = new double[n*dimensions];
+		for(int v = 0; v < n; v++) {
+			coords[v*dimensions] = graph.getX(v);
+			coords[v*dimensions+1] = graph.getY(v);
+			if(dimensions == 3)
+				coords[v*dimensions+2] = graph.getZ(v);
+		}
+		return new Ordering(graph, HilbertCurve.order(coords, dimensions));
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#getName()
+	 */
+	@Override
+	public String getName() {
+		return "Hilbert Curve";
+	}
+}
@@ -0,0 +1,179 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class is a copy of the vertices and edges of a random geometric graph that can not be changed.
+ * The neighbors of every vertex are kept by ID in one array, with the neighbors of vertex v from
+ * neighborsStart(v) up to neighborsEnd(v). The location of each vertex is kept as well, as doubles,
+ * or as fixed point numbers in a FixedCoordinates if the points keep theirs that way.
+ * Since nothing here changes, any number of orderings, colorings and bipartites can be worked out
+ * from the same graph at the same time, on different threads, and none of them touch the points.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class ImmutableGraph {
+	
+	/**
+	 * The number of vertices.
+	 */
+	private final int vertexCount;
+	
+	/**
+	 * Where the neighbors of each vertex begin in neighbors, with one more entry at the end.
+	 */
+	private final int[] offsets;
+	
+	/**
+	 * The IDs of the neighbors of every vertex, one vertex after the other.
+	 */
+	private final int[] neighbors;
+	
+	/**
+	 * The largest degree of any vertex.
+	 */
+	private final int maxDegree;
+	
+	/**
+	 * The location of each vertex, or null if it is kept compact. The depth is null for graphs on a plane.
+	 */
+	private final double[] x, y, z;
+	
+	/**
+	 * The location of each vertex in the slot of its ID, if the points keep their coordinates as fixed
+	 * point numbers, or null otherwise.
+	 */
+	private final FixedCoordinates compact;
+	
+	/**
+	 * This copies the adjacency lists and locations of the points.
+	 * The ID of every point must be its position in the list.
+	 * 
+	 * @param points The points of the graph.
+	 */
+	public ImmutableGraph(ArrayList<Point> points) {
+		vertexCount = points.size();
+		offsets = new int[vertexCount+1];
+		boolean sphere = vertexCount > 0 && points.get(0).getDimensions() == 3;
+		FixedCoordinates store = vertexCount > 0 && points.get(0) instanceof FixedPoint ? ((FixedPoint) points.get(0)).getStore() : null;
+		compact = store != null ? new FixedCoordinates(store, sphere ? 3 : 2, vertexCount) : null;
+		x = store == null ? new double[vertexCount] : null;
+		y = store == null ? new double[vertexCount] : null;
+		z = store == null && sphere ? new double[vertexCount] : null;
+		
+		int largest = 0;
+		for(int i = 0; i < vertexCount; i++) {
+			int degree = points.get(i).adjacencies.size();
+			offsets[i+1] = offsets[i] + degree;
+			if(degree > largest)
+				largest = degree;
+		}
+		maxDegree = largest;
+		
+		neighbors = new int[offsets[vertexCount]];
+		for(int i = 0; i < vertexCount; i++) {
+			Point p = points.get(i);
+			int k = offsets[i];
+			for(Point q : p.adjacencies) {
+				neighbors[k++] = q.id;
+			}
+			if(compact != null)
+				compact.add(store, ((FixedPoint) p).getSlot());
+			else {
+				x[i] = p.getX();
+				y[i] = p.getY();
+				if(sphere)
+					z[i] = p.coordinate(2);
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of vertices
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+	
+	/**
+	 * @return the number of edges, each counted once
+	 */
+	public int getEdgeCount() {
+		return neighbors.length/2;
+	}
+	
+	/**
+	 * @return the largest degree of any vertex
+	 */
+	public int getMaxDegree() {
+		return maxDegree;
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the number of neighbors of the vertex
+	 */
+	public int degree(int v) {
+		return offsets[v+1] - offsets[v];
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the position in the neighbor list of the first neighbor of the vertex
+	 */
+	public int neighborsStart(int v) {
+		return offsets[v];
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the position in the neighbor list just past the last neighbor of the vertex
+	 */
+	public int neighborsEnd(int v) {
+		return offsets[v+1];
+	}
+	
+	/**
+	 * @param k A position in the neighbor list.
+	 * @return the ID of the neighbor at that position
+	 */
+	public int neighbor(int k) {
+		return neighbors[k];
+	}
+	
+	/**
+	 * @return 3 for a graph on the sphere, 2 otherwise
+	 */
+	public int getDimensions() {
+		if(compact != null)
+			return compact.getDimensions();
+		return z == null ? 2 : 3;
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the horizontal location of the vertex
+	 */
+	public double getX(int v) {
+		return compact != null ? compact.get(v, 0) : x[v];
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the vertical location of the vertex
+	 */
+	public double getY(int v) {
+		return compact != null ? compact.get(v, 1) : y[v];
+	}
+	
+	/**
+	 * @param v The vertex ID.
+	 * @return the depth location of the vertex, or 0 on a plane
+	 */
+	public double getZ(int v) {
+		if(compact != null)
+			return compact.getDimensions() == 3 ? compact.get(v, 2) : 0;
+		return z == null ? 0 : z[v];
+	}
+}
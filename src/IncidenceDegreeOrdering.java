@@ -0,0 +1,57 @@
+/**
+ * This strategy creates the incidence degree ordering of a graph.
+ * The next vertex is always the one with the most neighbors already in the order. The vertices sit in
+ * buckets by that count, which only goes up by one at a time, so the largest bucket in use is easy
+ * to keep track of and the ordering takes time in proportion to the vertices plus edges.
+ * Ties go to the vertex that has been in its bucket the longest.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class IncidenceDegreeOrdering implements VertexOrdering {
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#order(ImmutableGraph)
+	 */
+	@Override
+	public Ordering order(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		BucketQueue buckets = new BucketQueue(n, graph.getMaxDegree()+1);
+		int[] incidence = new int[n];
+		for(int v = 0; v < n; v++) {
+			buckets.add(v, 0);
+		}
+		
+		int[] order = new int[n];
+		int[] degreeRemovedAt = new int[n];
+		int top = 0;
+		for(int j = 0; j < n; j++) {
+			// Find the largest non-empty bucket
+			while(buckets.first(top) == -1)
+				top--;
+			int v = buckets.first(top);
+			buckets.remove(v);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int x = graph.neighbor(k);
+				if(buckets.bucketOf(x) != -1) {
+					incidence[x]++;
+					buckets.move(x, incidence[x]);
+					if(incidence[x] > top)
+						top = incidence[x];
+				}
+			}
+			order[j] = v;
+			degreeRemovedAt[j] = incidence[v];
+		}
+		return new Ordering(order, degreeRemovedAt);
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#getName()
+	 */
+	@Override
+	public String getName() {
+		return "Incidence Degree";
+	}
+}
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class is a balanced k-d tree over the points of a random geometric graph, in two or three
+ * dimensions. Unlike the SpatialGrid it splits where the points are, so a part of the graph
+ * where the points are packed close together, like the rim of the dense rim disk, is split more
+ * finely instead of filling a few cells.
+ * <p>
+ * The tree is kept in arrays. The points of a part of the tree sit together, with the point it is
+ * split at in the middle, the points before it on the low side and the points after it on the high side.
+ * Each part is split at the median along the axis where its points are the most spread out, which is found
+ * by a quickselect, so the tree is built in O(n log n) time. Parts of only a few points are not split.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class KDTree implements SpatialIndex {
+	
+	/**
+	 * The most points in a part of the tree that is looked through one point at a time.
+	 */
+	private static final int LEAF_SIZE = 8;
+	
+	/**
+	 * The points in the order of the tree.
+	 */
+	private final Point[] points;
+	
+	/**
+	 * The coordinates of the points in the order of the tree, one array for each axis.
+	 * They are copied out so that a search does not have to go through the points.
+	 */
+	private final double[][] coords;
+	
+	/**
+	 * The axis each part of the tree is split along, at the position of the point it is split at.
+	 */
+	private final byte[] splitAxis;
+	
+	/**
+	 * The number of dimensions, either 2 or 3.
+	 */
+	private final int dimensions;
+	
+	/**
+	 * This builds the tree over the points. The list is not changed.
+	 * 
+	 * @param list The points to put in the tree, with the depth from Point.coordinate(2) for three dimensions.
+	 * @param dimensions The number of dimensions, either 2 or 3.
+	 */
+	public KDTree(ArrayList<Point> list, int dimensions) {
+		this.dimensions = dimensions;
+		int n = list.size();
+		points = list.toArray(new Point[n]);
+		coords = new double[dimensions][n];
+		for(int i = 0; i < n; i++) {
+			coords[0][i] = points[i].getX();
+			coords[1][i] = points[i].getY();
+			if(dimensions == 3)
+				coords[2][i] = points[i].coordinate(2);
+		}
+		splitAxis = new byte[n];
+		build(0, n);
+	}
+	
+	/**
+	 * This splits the points from lo up to hi at their median, and then each side.
+	 * 
+	 * @param lo The first position.
+	 * @param hi One past the last position.
+	 */
+	private void build(int lo, int hi) {
+		if(hi-lo <= LEAF_SIZE)
+			return;
+		// Split along the axis the points are the most spread out on
+		int axis = 0;
+		double widest = -1;
+		for(int a = 0; a < dimensions; a++) {
+			double[] c = coords[a];
+			double min = c[lo], max = c[lo];
+			for(int i = lo+1; i < hi; i++) {
+				if(c[i] < min)
+					min = c[i];
+				else if(c[i] > max)
+					max = c[i];
+			}
+			if(max-min > widest) {
+				widest = max-min;
+				axis = a;
+			}
+		}
+		int mid = (lo+hi) >>> 1;
+		select(lo, hi-1, mid, coords[axis]);
+		splitAxis[mid] = (byte) axis;
+		build(lo, mid);
+		build(mid+1, hi);
+	}
+	
+	/**
+	 * This moves the points from left to right so the point at k is the one that would be there if
+	 * they were sorted along an axis, with none after it smaller and none before it larger.
+	 * 
+	 * @param left The first position.
+	 * @param right The last position.
+	 * @param k The position to fill.
+	 * @param c The coordinates along the axis.
+	 */
+	private void select(int left, int right, int k, double[] c) {
+		while(right > left) {
+			// The median of three as the pivot keeps sorted input from being slow
+			int middle = (left+right) >>> 1;
+			if(c[middle] < c[left])
+				swap(middle, left);
+			if(c[right] < c[left])
+				swap(right, left);
+			if(c[right] < c[middle])
+				swap(right, middle);
+			double pivot = c[middle];
+			int i = left, j = right;
+			while(i <= j) {
+				while(c[i] < pivot)
+					i++;
+				while(c[j] > pivot)
+					j--;
+				if(i <= j) {
+					swap(i, j);
+					i++;
+					j--;
+				}
+			}
+			if(k <= j)
+				right = j;
+			else if(k >= i)
+				left = i;
+			else
+				return;
+		}
+	}
+	
+	/**
+	 * @param i A position.
+	 * @param j Another position.
+	 */
+	private void swap(int i, int j) {
+		Point p = points[i];
+		points[i] = points[j];
+		points[j] = p;
+		for(int a = 0; a < dimensions; a++) {
+			double t = coords[a][i];
+			coords[a][i] = coords[a][j];
+			coords[a][j] = t;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see SpatialIndex#findNeighbors(Point, double, java.util.ArrayList)
+	 */
+	@Override
+	public void findNeighbors(Point p, double distanceSq, ArrayList<Point> neighbors) {
+		double z = dimensions == 3 ? p.coordinate(2) : 0;
+		search(0, points.length, p, p.getX(), p.getY(), z, distanceSq, neighbors);
+	}
+	
+	/**
+	 * This finds the neighbors among the points from lo up to hi. A side of a split is only
+	 * looked at if the point is within the distance of the split.
+	 * 
+	 * @param lo The first position.
+	 * @param hi One past the last position.
+	 * @param p The point to find the neighbors of.
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, if there are three dimensions.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	private void search(int lo, int hi, Point p, double x, double y, double z, double distanceSq, ArrayList<Point> neighbors) {
+		if(hi-lo <= LEAF_SIZE) {
+			for(int i = lo; i < hi; i++) {
+				check(i, p, x, y, z, distanceSq, neighbors);
+			}
+			return;
+		}
+		int mid = (lo+hi) >>> 1;
+		int axis = splitAxis[mid];
+		double diff = (axis == 0 ? x : axis == 1 ? y : z) - coords[axis][mid];
+		check(mid, p, x, y, z, distanceSq, neighbors);
+		// Look at the side the point is on first, and the other side only if the circle crosses the split
+		if(diff < 0) {
+			search(lo, mid, p, x, y, z, distanceSq, neighbors);
+			if(diff*diff <= distanceSq)
+				search(mid+1, hi, p, x, y, z, distanceSq, neighbors);
+		}
+		else {
+			search(mid+1, hi, p, x, y, z, distanceSq, neighbors);
+			if(diff*diff <= distanceSq)
+				search(lo, mid, p, x, y, z, distanceSq, neighbors);
+		}
+	}
+	
+	/**
+	 * This adds the point at a position to the neighbors if it is within the distance.
+	 * The distance is measured the same way as Point.distanceSq, so the tree finds exactly the same edges.
+	 * 
+	 * @param i The position.
+	 * @param p The point to find the neighbors of.
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, if there are three dimensions.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	private void check(int i, Point p, double x, double y, double z, double distanceSq, ArrayList<Point> neighbors) {
+		double dx = x-coords[0][i];
+		double dy = y-coords[1][i];
+		double d = dx*dx+dy*dy;
+		if(dimensions == 3) {
+			double dz = z-coords[2][i];
+			d += dz*dz;
+		}
+		if(d <= distanceSq && points[i] != p)
+			neighbors.add(points[i]);
+	}
+	
+	/**
+	 * @return the number of points in the tree
+	 */
+	public int size() {
+		return points.length;
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * This strategy orders the vertices from the largest degree to the smallest.
+ * The vertices are counting sorted by degree, so it takes time in proportion to the
+ * vertices plus the largest degree. Vertices with the same degree stay in order of their IDs.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class LargestFirstOrdering implements VertexOrdering {
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#order(ImmutableGraph)
+	 */
+	@Override
+	public Ordering order(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		int maxDegree = graph.getMaxDegree();
+		// Count each degree, then find where each degree starts going from the largest down
+		int[] start = new int[maxDegree+2];
+		for(int v = 0; v < n; v++) {
+			start[maxDegree - graph.degree(v) + 1]++;
+		}
+		for(int d = 1; d <= maxDegree+1; d++) {
+			start[d] += start[d-1];
+		}
+		int[] order = new int[n];
+		for(int v = 0; v < n; v++) {
+			order[start[maxDegree - graph.degree(v)]++] = v;
+		}
+		return new Ordering(graph, order);
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#getName()
+	 */
+	@Override
+	public String getName() {
+		return "Largest First";
+	}
+}
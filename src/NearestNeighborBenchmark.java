@@ -0,0 +1,92 @@
+/**
+ * This class compares graphs of the k nearest neighbors with graphs made by a radius. For each setting the radius
+ * graph is made with the radius that gives an average degree of k, and the two graphs of the k nearest neighbors
+ * are made from their own random points of the same distribution and count, joining points that either or both
+ * have each other among their k nearest. Each is timed once after a garbage collection, and everything is first
+ * run on a small graph so that it is compiled before it is timed. Each graph is then ordered smallest last and
+ * colored, to show how the rule changes the degrees and the number of colors.
+ * The arguments are the vertex counts and then, after a dash, the values of k, if other ones are wanted.
+ * For example: 200000 1000000 - 8
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class NearestNeighborBenchmark {
+	
+	/**
+	 * @param args The vertex counts, a dash and the values of k, or nothing for the usual settings.
+	 */
+	public static void main(String[] args) {
+		int[] counts = {200000, 1000000};
+		int[] neighbors = {4, 8, 16};
+		if(args.length > 0) {
+			int dash = args.length;
+			for(int i = 0; i < args.length; i++) {
+				if(args[i].equals("-"))
+					dash = i;
+			}
+			counts = new int[dash];
+			for(int i = 0; i < dash; i++) {
+				counts[i] = Integer.parseInt(args[i]);
+			}
+			if(dash < args.length) {
+				neighbors = new int[args.length-dash-1];
+				for(int i = 0; i < neighbors.length; i++) {
+					neighbors[i] = Integer.parseInt(args[dash+1+i]);
+				}
+			}
+		}
+		
+		// Warm up both ways of making the edges on a small graph
+		for(int i = 0; i < 3; i++) {
+			RandomGeometricGraph rgg = makeGraph("square");
+			rgg.createPoints(20000, rgg.estimateRadius(20000, 8, 0.05));
+			rgg.createNearestNeighborPoints(20000, 8, RandomGeometricGraph.NeighborRule.EITHER);
+		}
+		
+		System.out.println("Distribution,N,k,Rule,Create ms,Edge strategy,Radius,Avg Degree,Min Degree,Max Degree,Colors");
+		for(String distribution : new String[] {"square", "disk", "rim", "sphere", "torus"}) {
+			for(int n : counts) {
+				for(int k : neighbors) {
+					String[] rules = {"Radius", "Either", "Mutual"};
+					for(String rule : rules) {
+						RandomGeometricGraph rgg = makeGraph(distribution);
+						double r = rule.equals("Radius") ? rgg.estimateRadius(n, k, 0.02) : 0;
+						System.gc();
+						long start = System.nanoTime();
+						if(rule.equals("Radius"))
+							rgg.createPoints(n, r);
+						else
+							rgg.createNearestNeighborPoints(n, k, rule.equals("Either") ? RandomGeometricGraph.NeighborRule.EITHER
+									: RandomGeometricGraph.NeighborRule.MUTUAL);
+						double create = (System.nanoTime()-start)/1e6;
+						rgg.createSmallestLastOrdering();
+						rgg.createColorClasses();
+						// The edge strategy has commas in it, so it is quoted
+						System.out.println(String.format("%s,%d,%d,%s,%.1f,\"%s\",%.5f,%.2f,%d,%d,%d", rgg.distributionType(), n, k, rule,
+								create, rgg.getEdgeChoice(), rgg.getRadius(), (double) rgg.getTotalEdges()/n,
+								rgg.getMinDegreeCount(), rgg.getMaxDegreeCount(), rgg.getNumberOfColors()));
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param distribution square, disk, rim, sphere or torus
+	 * @return a new graph of that distribution
+	 */
+	private static RandomGeometricGraph makeGraph(String distribution) {
+		if(distribution.equals("disk"))
+			return new RGGUnitCircle(650, 650);
+		else if(distribution.equals("rim"))
+			return new RGGDenseDisk(650, 650);
+		else if(distribution.equals("sphere"))
+			return new RGGSphere(650, 650);
+		else if(distribution.equals("torus"))
+			return new RGGUnitTorus(650, 650);
+		else
+			return new RGGUnitSquare(650, 650);
+	}
+}
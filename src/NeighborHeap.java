@@ -0,0 +1,112 @@
+/**
+ * This class keeps the k nearest points seen so far while the candidates around a point are looked
+ * through. It is a max-heap of at most k entries with the farthest one on top, so a candidate only has
+ * to be compared against the top and the heap never holds more than k of them.
+ * The distance and ID of each entry are kept in primitive arrays. Two candidates at the same distance
+ * are told apart by ID, so the same k are kept whatever order the candidates come in.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class NeighborHeap {
+	
+	/**
+	 * The squared distance of each entry, in heap order.
+	 */
+	private final double[] distanceSq;
+	
+	/**
+	 * The ID of each entry, in heap order.
+	 */
+	private final int[] ids;
+	
+	/**
+	 * The number of entries.
+	 */
+	private int size;
+	
+	/**
+	 * @param k The most entries to keep.
+	 */
+	public NeighborHeap(int k) {
+		distanceSq = new double[k];
+		ids = new int[k];
+	}
+	
+	/**
+	 * This empties the heap so it can be used for another point.
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * This keeps a candidate if there is room for it or it is nearer than the farthest entry, which it replaces.
+	 * 
+	 * @param d The squared distance to the candidate.
+	 * @param id The ID of the candidate.
+	 */
+	public void offer(double d, int id) {
+		if(size < ids.length) {
+			// Move the new entry up past the nearer ones above it
+			int i = size++;
+			while(i > 0) {
+				int parent = (i-1) >>> 1;
+				if(!farther(d, id, distanceSq[parent], ids[parent]))
+					break;
+				distanceSq[i] = distanceSq[parent];
+				ids[i] = ids[parent];
+				i = parent;
+			}
+			distanceSq[i] = d;
+			ids[i] = id;
+		}
+		else if(size > 0 && farther(distanceSq[0], ids[0], d, id)) {
+			// Replace the farthest entry and move the new one down past the farther ones below it
+			int i = 0;
+			while(true) {
+				int child = 2*i+1;
+				if(child >= size)
+					break;
+				if(child+1 < size && farther(distanceSq[child+1], ids[child+1], distanceSq[child], ids[child]))
+					child++;
+				if(!farther(distanceSq[child], ids[child], d, id))
+					break;
+				distanceSq[i] = distanceSq[child];
+				ids[i] = ids[child];
+				i = child;
+			}
+			distanceSq[i] = d;
+			ids[i] = id;
+		}
+	}
+	
+	/**
+	 * @param d The squared distance of one entry.
+	 * @param id The ID of the entry.
+	 * @param otherD The squared distance of another entry.
+	 * @param otherId The ID of the other entry.
+	 * @return true if the first entry is the farther one, or is as far with a larger ID
+	 */
+	private static boolean farther(double d, int id, double otherD, int otherId) {
+		return d > otherD || (d == otherD && id > otherId);
+	}
+	
+	/**
+	 * This copies the IDs of the entries out in the order of the heap, which is not sorted.
+	 * 
+	 * @param out The array to copy into.
+	 * @param offset The position of the first ID in the array.
+	 */
+	public void copyIds(int[] out, int offset) {
+		System.arraycopy(ids, 0, out, offset, size);
+	}
+}
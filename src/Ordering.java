@@ -0,0 +1,105 @@
+/**
+ * This class holds an order of the vertices of a graph, which is the order they are colored in.
+ * The vertex at position 0 is colored first. For every position it also keeps how many
+ * neighbors come before it in the order, which for the smallest last ordering is the degree
+ * the vertex had left when it was removed.
+ * An ordering can not be changed once it is made.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class Ordering {
+	
+	/**
+	 * The vertex ID at each position.
+	 */
+	private final int[] order;
+	
+	/**
+	 * The position of each vertex ID.
+	 */
+	private final int[] position;
+	
+	/**
+	 * The number of neighbors before each position.
+	 */
+	private final int[] degreeRemovedAt;
+	
+	/**
+	 * This makes an ordering from a list of vertex IDs and counts the neighbors before each one.
+	 * 
+	 * @param graph The graph the vertices are from.
+	 * @param order The vertex IDs in the order to color them. The array is copied.
+	 */
+	public Ordering(ImmutableGraph graph, int[] order) {
+		this.order = order.clone();
+		int n = order.length;
+		position = new int[n];
+		for(int j = 0; j < n; j++) {
+			position[order[j]] = j;
+		}
+		degreeRemovedAt = new int[n];
+		for(int j = 0; j < n; j++) {
+			int v = order[j];
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				if(position[graph.neighbor(k)] < j)
+					degreeRemovedAt[j]++;
+			}
+		}
+	}
+	
+	/**
+	 * This makes an ordering when the neighbor counts are already known, which is the case for
+	 * strategies that remove or add one vertex at a time.
+	 * 
+	 * @param order The vertex IDs in the order to color them. The array is kept, not copied.
+	 * @param degreeRemovedAt The number of neighbors before each position. The array is kept, not copied.
+	 */
+	Ordering(int[] order, int[] degreeRemovedAt) {
+		this.order = order;
+		this.degreeRemovedAt = degreeRemovedAt;
+		position = new int[order.length];
+		for(int j = 0; j < order.length; j++) {
+			position[order[j]] = j;
+		}
+	}
+	
+	/**
+	 * @return the number of vertices in the ordering
+	 */
+	public int size() {
+		return order.length;
+	}
+	
+	/**
+	 * @param j A position in the ordering.
+	 * @return the vertex ID at the position
+	 */
+	public int vertexAt(int j) {
+		return order[j];
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the position of the vertex in the ordering
+	 */
+	public int positionOf(int v) {
+		return position[v];
+	}
+	
+	/**
+	 * @param j A position in the ordering.
+	 * @return the number of neighbors of the vertex at the position that come before it
+	 */
+	public int degreeRemovedAt(int j) {
+		return degreeRemovedAt[j];
+	}
+	
+	/**
+	 * @return a copy of the vertex IDs in order
+	 */
+	public int[] toArray() {
+		return order.clone();
+	}
+}
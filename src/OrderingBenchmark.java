@@ -0,0 +1,79 @@
+/**
+ * This class compares the ordering strategies on one graph, so the number of colors each one
+ * leads to can be weighed against how long it takes. Each strategy is timed over several runs
+ * and the fastest run is reported, along with the time to color in that order.
+ * DSATUR, which colors without an ordering, is timed last for comparison.
+ * The arguments are the distribution (square, disk, rim, sphere, torus, cube or ball, with the number
+ * of dimensions after cube or ball if it is not 3, such as cube5), the number of vertices and the radius.
+ * For example: square 1000000 0.002
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class OrderingBenchmark {
+	
+	/**
+	 * @param args The distribution, the number of vertices and the radius.
+	 */
+	public static void main(String[] args) {
+		if(args.length != 3) {
+			System.err.println("Usage: OrderingBenchmark square|disk|rim|sphere|torus|cube[d]|ball[d] vertices radius");
+			System.exit(1);
+		}
+		RandomGeometricGraph rgg;
+		if(args[0].equals("disk"))
+			rgg = new RGGUnitCircle(650, 650);
+		else if(args[0].equals("rim"))
+			rgg = new RGGDenseDisk(650, 650);
+		else if(args[0].equals("sphere"))
+			rgg = new RGGSphere(650, 650);
+		else if(args[0].equals("torus"))
+			rgg = new RGGUnitTorus(650, 650);
+		else if(args[0].startsWith("cube"))
+			rgg = new RGGUnitCube(650, 650, args[0].length() > 4 ? Integer.parseInt(args[0].substring(4)) : 3);
+		else if(args[0].startsWith("ball"))
+			rgg = new RGGUnitBall(650, 650, args[0].length() > 4 ? Integer.parseInt(args[0].substring(4)) : 3);
+		else
+			rgg = new RGGUnitSquare(650, 650);
+		rgg.createPoints(Integer.parseInt(args[1]), Double.parseDouble(args[2]));
+		ImmutableGraph graph = rgg.getImmutableGraph();
+		System.out.println(String.format("%s, N=%d, M=%d, max degree=%d", rgg.distributionType(),
+				graph.getVertexCount(), graph.getEdgeCount(), graph.getMaxDegree()));
+		
+		VertexOrdering[] strategies = {new SmallestLastOrdering(), new LargestFirstOrdering(),
+				new IncidenceDegreeOrdering(), new RandomOrdering(), new HilbertOrdering()};
+		System.out.println("Ordering,Order ms,Color ms,Colors,Max Degree when deleted");
+		for(VertexOrdering strategy : strategies) {
+			long bestOrder = Long.MAX_VALUE, bestColor = Long.MAX_VALUE;
+			Ordering ordering = null;
+			Coloring coloring = null;
+			for(int run = 0; run < 5; run++) {
+				long start = System.nanoTime();
+				ordering = strategy.order(graph);
+				long ordered = System.nanoTime();
+				coloring = Coloring.greedy(graph, ordering);
+				long colored = System.nanoTime();
+				bestOrder = Math.min(bestOrder, ordered-start);
+				bestColor = Math.min(bestColor, colored-ordered);
+			}
+			int maxDegreeWhenDeleted = 0;
+			for(int j = 0; j < ordering.size(); j++) {
+				maxDegreeWhenDeleted = Math.max(maxDegreeWhenDeleted, ordering.degreeRemovedAt(j));
+			}
+			System.out.println(String.format("%s,%.1f,%.1f,%d,%d", strategy.getName(), bestOrder/1e6,
+					bestColor/1e6, coloring.getNumberOfColors(), maxDegreeWhenDeleted));
+		}
+		
+		// DSATUR does not use an ordering, so all of its time is coloring time
+		long bestColor = Long.MAX_VALUE;
+		Coloring coloring = null;
+		for(int run = 0; run < 5; run++) {
+			long start = System.nanoTime();
+			coloring = Coloring.dsatur(graph);
+			bestColor = Math.min(bestColor, System.nanoTime()-start);
+		}
+		System.out.println(String.format("%s,%.1f,%.1f,%d,%s", "DSATUR", 0.0, bestColor/1e6,
+				coloring.getNumberOfColors(), "-"));
+	}
+}
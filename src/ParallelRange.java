@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * This class splits a range of indices, such as the vertex IDs, into chunks and runs a body
+ * on each chunk at the same time. All the graph algorithms share one pool with a thread for
+ * each processor, and the call only returns once every chunk is done, so anything the chunks
+ * wrote can be read right after it.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class ParallelRange {
+	
+	/**
+	 * The work done for one chunk of the range.
+	 * 
+	 * @author Vladimir Jovanovic
+	 * @version 1.0.0
+	 * @since December 18, 2012
+	 */
+	public interface Body {
+		/**
+		 * @param chunk The number of the chunk, from 0, so results can be kept for each chunk.
+		 * @param start The first index of the chunk.
+		 * @param end One past the last index of the chunk.
+		 */
+		void run(int chunk, int start, int end);
+	}
+	
+	/**
+	 * The thread pool shared by everything that runs in chunks.
+	 */
+	private static ExecutorService pool;
+	
+	/**
+	 * @return the number of threads to use by default, one for each processor
+	 */
+	public static int getThreads() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * @return the thread pool, created the first time it is needed
+	 */
+	private static synchronized ExecutorService getPool() {
+		if(pool == null) {
+			pool = Executors.newFixedThreadPool(getThreads(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "ParallelRange worker");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+	
+	/**
+	 * This runs the body on the range split into chunks of about the same size.
+	 * With one chunk the body is run on the calling thread.
+	 * 
+	 * @param n The size of the range, from 0 to n-1.
+	 * @param chunks The number of chunks to split it into.
+	 * @param body The work to do on each chunk.
+	 */
+	public static void forEach(int n, int chunks, final Body body) {
+		if(chunks <= 1) {
+			body.run(0, 0, n);
+			return;
+		}
+		ArrayList<Future<Object>> running = new ArrayList<Future<Object>>();
+		for(int c = 0; c < chunks; c++) {
+			final int chunk = c;
+			final int start = (int) ((long) n*c/chunks);
+			final int end = (int) ((long) n*(c+1)/chunks);
+			running.add(getPool().submit(new Callable<Object>() {
+				@Override
+				public Object call() {
+					body.run(chunk, start, end);
+					return null;
+				}
+			}));
+		}
+		try {
+			for(Future<Object> f : running) {
+				f.get();
+			}
+		}
+		catch (Exception e) {
+			throw new RuntimeException("A parallel chunk failed", e);
+		}
+	}
+}
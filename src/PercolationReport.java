@@ -0,0 +1,58 @@
+/**
+ * This class finds, for one distribution, the radius where the graph becomes connected and how the
+ * giant component grows before it, making the points only once. The share of vertices in the giant
+ * component is printed at a few radii, and the full curve can be written to a file.
+ * The arguments are the distribution (square, disk, rim or sphere), the number of vertices, the largest
+ * radius to look at and, if wanted, the file for the curve.
+ * For example: square 20000 0.05 squareConnectivity.csv
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class PercolationReport {
+	
+	/**
+	 * @param args The distribution, the number of vertices, the largest radius and the optional file.
+	 */
+	public static void main(String[] args) {
+		if(args.length != 3 && args.length != 4) {
+			System.err.println("Usage: PercolationReport square|disk|rim|sphere vertices maxRadius [file.csv]");
+			System.exit(1);
+		}
+		RandomGeometricGraph rgg;
+		if(args[0].equals("disk"))
+			rgg = new RGGUnitCircle(650, 650);
+		else if(args[0].equals("rim"))
+			rgg = new RGGDenseDisk(650, 650);
+		else if(args[0].equals("sphere"))
+			rgg = new RGGSphere(650, 650);
+		else
+			rgg = new RGGUnitSquare(650, 650);
+		int n = Integer.parseInt(args[1]);
+		double maxRadius = Double.parseDouble(args[2]);
+		
+		long start = System.nanoTime();
+		ConnectivityAnalysis connectivity = rgg.analyzeConnectivity(n, maxRadius);
+		long done = System.nanoTime();
+		System.out.println(String.format("%s, N=%d, largest R=%.4f, %.1f ms", rgg.distributionType(), n, maxRadius, (done-start)/1e6));
+		if(connectivity.isConnected())
+			System.out.println(String.format("Connected at R=%.6f", connectivity.getConnectivityRadius()));
+		else
+			System.out.println(String.format("Not connected by R=%.4f, %d components left", maxRadius, connectivity.componentsAt(maxRadius)));
+		
+		double[] shares = {0.1, 0.5, 0.9, 0.99};
+		System.out.println("Giant share,R");
+		for(double share : shares) {
+			double r = connectivity.getPercolationRadius(share);
+			System.out.println(String.format("%.2f,%s", share, r < 0 ? "-" : String.format("%.6f", r)));
+		}
+		System.out.println("R,Components,Giant share");
+		for(int i = 1; i <= 10; i++) {
+			double r = maxRadius*i/10;
+			System.out.println(String.format("%.6f,%d,%.4f", r, connectivity.componentsAt(r), (double) connectivity.giantComponentAt(r)/n));
+		}
+		if(args.length == 4)
+			rgg.printToFileConnectivity(args[3]);
+	}
+}
@@ -6,12 +6,15 @@ import java.util.ArrayList;
  * for the smallest last ordering and any associated algorithms.  It stores
  * the color, degree, and an adjacency list. Each point is uniquely identified
  * by an ID value.
+ * The location is read through getX, getY and coordinate, and each subclass decides how it is kept:
+ * as doubles in the point, like DoublePoint, or as fixed point numbers in a FixedCoordinates
+ * shared by the whole graph, like FixedPoint.
  * 
  * @author Vladimir Jovanovic
  * @version 1.0.0
  * @since December, 13 2012
  */
-public class Point {
+public abstract class Point {
 	
 	/**
 	 * The unique ID tag for use in smallest last ordering.
@@ -19,54 +22,24 @@ public class Point {
 	public int id;	
 	
 	/**
-	 * The horizontal location in a geometric graph.
+	 * The ID the point was generated or added with. It stays the same when the points are
+	 * renumbered along a curve, so reports can name the points the same way whatever the numbering.
 	 */
-	public double real_x;
-	
-	/**
-	 * The vertical location in a geometric graph.
-	 */
-	public double real_y;
-	
-	/**
-	 * The horizontal location for display purposes.
-	 */
-	public int display_x;
-	
-	/**
-	 * The vertical location for display purposes.
-	 */
-	public int display_y;
-	
-	/**
-	 * The distance vector for use in projection.
-	 */
-	public double d;
+	public int originalId;
 	
 	/**
 	 * The number of vertices/points adjacent to this vertex/point/
 	 */
 	public int degree;
 	
-	/**
-	 * The number of vertices/points still adjacent to the vertex before removal
-	 * in the smallest last ordering.
-	 */
-	public int degreeLeft;
-	
 	/**
 	 * The color of the vertex/point. 
 	 * Points with the same color represent an independent set. The color values start
 	 * from 0, with the largest color class always at 0.
+	 * This is the coloring the graph is showing, copied from its Coloring and changed by any local repairs.
 	 */
 	public int color;
 	
-	/**
-	 * The component identification number for the point.
-	 * This identifies which component the point is part of.
-	 */
-	public int componentNumber;
-	
 	/**
 	 * The number of distinct colored vertices at the time the vertex/point was colored.
 	 */
@@ -83,30 +56,6 @@ public class Point {
 	 */
 	public ArrayList<Point> edgePrint;
 	
-	/**
-	 * A copy of the adjacency list in order to facilitate the smallest last ordering.
-	 */
-	public ArrayList<Point> edgeRemovalList;
-	
-	// For second bipartite method
-	/**
-	 * The color value set for the other bipartite in the second method.
-	 * This is -1 by default meaning no color has been assigned.
-	 */
-	public int R3UR2color = -1;
-	
-	/**
-	 * The position of the vertex in the smallest last order list.
-	 * This is needed to order the R3 and R2 set.
-	 */
-	public int SLOrderPosition;
-	
-	/**
-	 * Count of vertices in the first color class adjacent to this vertex/point.
-	 * This is 0 by default.
-	 */
-	public int timesAdjacentToFirst = 0;
-	
 	/**
 	 * Default constructor for the Point class.
 	 * This sets the degree at 0, color to not selected (-1), and initializes
@@ -119,28 +68,6 @@ public class Point {
 		edgePrint = new ArrayList<Point>();
 	}
 	
-	/**
-	 * Typical constructor for the Point class that takes in the real coordinate
-	 * and translated graphical display coordinate.
-	 * 
-	 * @param i Translates to real_x.
-	 * @param j Translates to real_y.
-	 * @param xaxis Translates to display_x.
-	 * @param yaxis Translates to display_y.
-	 */
-	public Point(double i, double j, int xaxis, int yaxis)
-	{
-		real_x = i;
-		real_y = j;
-		color = -1;
-		display_x = xaxis;
-		display_y = yaxis;
-		d = i*i+j*j;
-		degree = 0;
-		adjacencies = new ArrayList<Point>();
-		edgePrint = new ArrayList<Point>();
-	}
-	
 	/**
 	 * This method compares the current Point with another point
 	 * to see if they are "closeTo" or within range of one another.
@@ -152,21 +79,50 @@ public class Point {
 	 * @return True if the two points are within the distance squared range. False if otherwise.
 	 */
 	public boolean closeTo(Point p, double distanceSq) {
-		double xsq = (real_x-p.real_x)*(real_x-p.real_x);
-		double ysq = (real_y-p.real_y)*(real_y-p.real_y);
-		if(xsq+ysq <= distanceSq)
-			return true;
-		else
-			return false;
+		return distanceSq(p) <= distanceSq;
 	}
-	
+
+	/**
+	 * This returns the squared distance between the current Point and another point.
+	 * It is used when the actual length of an edge is needed instead of a simple
+	 * within range check, such as when sorting the candidate edges of a radius sweep.
+	 * The squares of the differences along each axis are summed in order, starting from the first.
+	 *
+	 * @param p The other point to measure to, of the same kind as this one.
+	 * @return The distance squared between the two points.
+	 */
+	public abstract double distanceSq(Point p);
+
+	/**
+	 * @return the horizontal location in a geometric graph
+	 */
+	public abstract double getX();
+
+	/**
+	 * @return the vertical location in a geometric graph
+	 */
+	public abstract double getY();
+
+	/**
+	 * This returns the location along any axis, so the spatial indexes can work with points of any
+	 * number of dimensions the same way.
+	 * 
+	 * @param axis The axis, from 0.
+	 * @return the location along the axis, and 0 for any axis the point does not have
+	 */
+	public abstract double coordinate(int axis);
+
+	/**
+	 * @return the number of axes the point has
+	 */
+	public abstract int getDimensions();
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
-		return "Point [x=" + real_x + ", y=" + real_y + ", w=" + display_x + ", h=" + display_y
-				+ ", color= " + color + ", degree= " + degree + "]";
+		return "Point [x=" + getX() + ", y=" + getY() + ", color= " + color + ", degree= " + degree + "]";
 	}
 
 	/**
@@ -183,15 +139,5 @@ public class Point {
 			edgePrint.add(x);
 		}
 	}
-
-	/**
-	 * This copies the adjacency list to the edgeRemovalList.
-	 * This method is called in the smallest last ordering algorithm to prepare the Points
-	 * for manipulation without actually changing any constant attributes like the adjacency list.
-	 */
-	public void prepareRemoval() {
-		edgeRemovalList = new ArrayList<Point>(adjacencies);
-		degreeLeft = degree;
-	}
 	
 }
\ No newline at end of file
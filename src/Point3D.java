@@ -11,16 +11,12 @@ import java.util.ArrayList;
  * @version 1.0.0
  * @since December 13, 2012
  */
-public class Point3D extends Point {
+public class Point3D extends DoublePoint {
 	
 	/**
 	 * The depth location in a geometric graph.
 	 */
 	public double real_z;
-	/**
-	 * The depth location for display purposes.
-	 */
-	public int display_z;
 	
 	/**
 	 * This constructor sets the real coordinates to the ones passed into 
@@ -33,11 +29,7 @@ public class Point3D extends Point {
 	 * @param k The real_z location before projection on the sphere.
 	 */
 	public Point3D(double i, double j, double k) {
-		d = Math.sqrt(i*i+j*j+k*k);
-		
-		real_x = i/d;
-		real_y = j/d;
-		real_z = k/d;
+		setLocation(i, j, k);
 		
 		color = -1;
 		degree = 0;
@@ -46,18 +38,47 @@ public class Point3D extends Point {
 		
 	}
 	
+	/**
+	 * This constructor makes a point with no location yet.
+	 * It is used when a point is added to a graph that already exists and setLocation
+	 * is called right after.
+	 */
+	public Point3D() {
+		super();
+	}
+	
+	/**
+	 * This projects the given 3D coordinate on to the surface of the unit sphere
+	 * and stores it as the real location of the point.
+	 * 
+	 * @param i The real_x location before projection on the sphere.
+	 * @param j The real_y location before projection on the sphere.
+	 * @param k The real_z location before projection on the sphere.
+	 */
+	public void setLocation(double i, double j, double k) {
+		d = Math.sqrt(i*i+j*j+k*k);
+		
+		real_x = i/d;
+		real_y = j/d;
+		real_z = k/d;
+	}
+	
 	/**
 	 * This is used to override the closeTo function from the Point superclass.
 	 * The closeTo function has to also account for the z coordinates now.
+	 * It takes any Point, like the superclass, so a Point3D compared through a Point
+	 * reference still includes the z coordinate.
 	 * 
 	 * @param p The Point3D object to compare against.
 	 * @param distanceSq The threshold value for the distance.
 	 * @return True if this point and the other are within distanceSq. False otherwise.
 	 */
-	public boolean closeTo(Point3D p, double distanceSq) {
-		double xsq = (real_x-p.real_x)*(real_x-p.real_x);
-		double ysq = (real_y-p.real_y)*(real_y-p.real_y);
-		double zsq = (real_z-p.real_z)*(real_z-p.real_z);
+	@Override
+	public boolean closeTo(Point p, double distanceSq) {
+		Point3D q = (Point3D) p;
+		double xsq = (real_x-q.real_x)*(real_x-q.real_x);
+		double ysq = (real_y-q.real_y)*(real_y-q.real_y);
+		double zsq = (real_z-q.real_z)*(real_z-q.real_z);
 		
 		if(xsq+ysq+zsq <= distanceSq)
 			return true;
@@ -66,19 +87,35 @@ public class Point3D extends Point {
 	}
 
 	/**
-	 * This function is called once the display coordinates have been figured out.
-	 * Point3D first takes in a given 3D coordinate and projects it on to a unit sphere.
-	 * This information is then used to create the display coordinate system.
-	 * 
-	 * @param x The display_x value to be replaced with.
-	 * @param y The display_y value to be replaced with.
-	 * @param z The display_z value to be replaced with.
+	 * This overrides the distanceSq function from the Point superclass so the z coordinate
+	 * is included in the measurement.
+	 *
+	 * @param p The Point3D object to measure to.
+	 * @return The distance squared between this point and the other.
+	 */
+	@Override
+	public double distanceSq(Point p) {
+		Point3D q = (Point3D) p;
+		double xsq = (real_x-q.real_x)*(real_x-q.real_x);
+		double ysq = (real_y-q.real_y)*(real_y-q.real_y);
+		double zsq = (real_z-q.real_z)*(real_z-q.real_z);
+		return xsq+ysq+zsq;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#coordinate(int)
+	 */
+	@Override
+	public double coordinate(int axis) {
+		return axis == 2 ? real_z : super.coordinate(axis);
+	}
+	
+	/* (non-Javadoc)
+	 * @see DoublePoint#getDimensions()
 	 */
-	public void addCoord(int x, int y, int z) {
-		// TODO Auto-generated method stub
-		display_x = x;
-		display_y = y;
-		display_z = z;
+	@Override
+	public int getDimensions() {
+		return 3;
 	}
 	
 }
@@ -0,0 +1,99 @@
+/**
+ * This subclass of Point represents a vector with any number of dimensions, for distributions
+ * that fill a volume. The location is held in a primitive array with one value for each axis,
+ * and getX and getY are the first two of them, so the graph is drawn looking down the other axes.
+ * The distance to another point is summed over every axis in order, starting from the first,
+ * the same way Point and Point3D sum theirs.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class PointND extends Point {
+	
+	/**
+	 * The location along each axis.
+	 */
+	public final double[] coords;
+	
+	/**
+	 * This makes a point at the origin.
+	 * 
+	 * @param dimensions The number of axes, at least 2.
+	 */
+	public PointND(int dimensions) {
+		super();
+		coords = new double[dimensions];
+	}
+	
+	/**
+	 * This moves the point. The array is copied.
+	 * 
+	 * @param location The location along each axis, with one value for each dimension of the point.
+	 */
+	public void setLocation(double[] location) {
+		System.arraycopy(location, 0, coords, 0, coords.length);
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getX()
+	 */
+	@Override
+	public double getX() {
+		return coords[0];
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getY()
+	 */
+	@Override
+	public double getY() {
+		return coords[1];
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#getDimensions()
+	 */
+	@Override
+	public int getDimensions() {
+		return coords.length;
+	}
+	
+	/**
+	 * This is used to override the closeTo function from the Point superclass
+	 * so that every axis is included.
+	 * 
+	 * @param p The PointND object to compare against, with the same number of dimensions.
+	 * @param distanceSq The threshold value for the distance.
+	 * @return True if this point and the other are within distanceSq. False otherwise.
+	 */
+	@Override
+	public boolean closeTo(Point p, double distanceSq) {
+		return distanceSq(p) <= distanceSq;
+	}
+	
+	/**
+	 * This overrides the distanceSq function from the Point superclass so that every axis is included.
+	 * 
+	 * @param p The PointND object to measure to, with the same number of dimensions.
+	 * @return The distance squared between this point and the other.
+	 */
+	@Override
+	public double distanceSq(Point p) {
+		double[] other = ((PointND) p).coords;
+		double sum = 0;
+		for(int a = 0; a < coords.length; a++) {
+			double delta = coords[a]-other[a];
+			sum += delta*delta;
+		}
+		return sum;
+	}
+	
+	/* (non-Javadoc)
+	 * @see Point#coordinate(int)
+	 */
+	@Override
+	public double coordinate(int axis) {
+		return coords[axis];
+	}
+}
@@ -0,0 +1,271 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+
+/**
+ * This sink stores the drawing calls for a view in primitive arrays.
+ * The calls can then be drawn any number of times, for example once for each tile
+ * of a larger image, without walking the graph again.
+ * To keep the drawing cheap, each vertex is stamped from a small image that is made once
+ * for every color and size, and runs of lines share a single color change.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class PrimitiveBuffer implements PrimitiveSink {
+	
+	/**
+	 * The kind value for a line.
+	 */
+	public static final byte LINE = 0;
+	
+	/**
+	 * The kind value for a filled circle.
+	 */
+	public static final byte FILL_OVAL = 1;
+	
+	/**
+	 * The kind value for the outline of a circle.
+	 */
+	public static final byte DRAW_OVAL = 2;
+	
+	/**
+	 * The kind value for a vertex, a filled circle with its outline.
+	 */
+	public static final byte MARKER = 3;
+	
+	/**
+	 * The number of stored drawing calls.
+	 */
+	private int size;
+	
+	/**
+	 * The kind of each drawing call.
+	 */
+	private byte[] kinds = new byte[1024];
+	
+	/**
+	 * Four values for each drawing call. For a line these are both ends, for a circle
+	 * they are the left side, top side, size and color index. A vertex stores the index
+	 * of its image instead of a color.
+	 */
+	private int[] values = new int[4096];
+	
+	/**
+	 * The colors used to fill circles.
+	 */
+	private ArrayList<Color> palette = new ArrayList<Color>();
+	
+	/**
+	 * The index in the palette of each color.
+	 */
+	private HashMap<Color, Integer> paletteIndex = new HashMap<Color, Integer>();
+	
+	/**
+	 * The images stamped for vertices.
+	 */
+	private ArrayList<BufferedImage> sprites = new ArrayList<BufferedImage>();
+	
+	/**
+	 * The index in sprites for each combination of color and sizes.
+	 */
+	private HashMap<Long, Integer> spriteIndex = new HashMap<Long, Integer>();
+	
+	/**
+	 * This makes room for one more drawing call and returns its position.
+	 * 
+	 * @param kind The kind of the drawing call.
+	 * @return the position of the new call
+	 */
+	private int append(byte kind) {
+		if(size == kinds.length) {
+			kinds = Arrays.copyOf(kinds, size*2);
+			values = Arrays.copyOf(values, size*8);
+		}
+		kinds[size] = kind;
+		return size++;
+	}
+	
+	/**
+	 * @param color The color to look up.
+	 * @return the index of the color in the palette, adding it if needed
+	 */
+	private int colorIndex(Color color) {
+		Integer index = paletteIndex.get(color);
+		if(index == null) {
+			index = palette.size();
+			palette.add(color);
+			paletteIndex.put(color, index);
+		}
+		return index;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#line(int, int, int, int)
+	 */
+	@Override
+	public void line(int x1, int y1, int x2, int y2) {
+		int i = append(LINE)*4;
+		values[i] = x1;
+		values[i+1] = y1;
+		values[i+2] = x2;
+		values[i+3] = y2;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#fillOval(int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void fillOval(int x, int y, int size, Color fill) {
+		int i = append(FILL_OVAL)*4;
+		values[i] = x;
+		values[i+1] = y;
+		values[i+2] = size;
+		values[i+3] = colorIndex(fill);
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#drawOval(int, int, int)
+	 */
+	@Override
+	public void drawOval(int x, int y, int size) {
+		int i = append(DRAW_OVAL)*4;
+		values[i] = x;
+		values[i+1] = y;
+		values[i+2] = size;
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#marker(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void marker(int x, int y, int fillSize, int outlineSize, Color fill) {
+		int i = append(MARKER)*4;
+		values[i] = x;
+		values[i+1] = y;
+		values[i+2] = Math.max(fillSize, outlineSize);
+		values[i+3] = spriteIndex(fill, fillSize, outlineSize);
+	}
+	
+	/**
+	 * This finds the image for a vertex, drawing it the first time it is needed.
+	 * The circle is drawn with fillOval and drawOval at the corner of a transparent image,
+	 * so stamping it gives exactly the same pixels as drawing the circle in place.
+	 * 
+	 * @param fill The color to fill with.
+	 * @param fillSize The width and height of the filled circle.
+	 * @param outlineSize The width and height of the outline.
+	 * @return the index of the image in sprites
+	 */
+	private int spriteIndex(Color fill, int fillSize, int outlineSize) {
+		Long key = ((long) colorIndex(fill) << 32) | (fillSize << 16) | outlineSize;
+		Integer index = spriteIndex.get(key);
+		if(index == null) {
+			int size = Math.max(fillSize, outlineSize)+1;
+			BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = sprite.createGraphics();
+			g.setColor(fill);
+			g.fillOval(0, 0, fillSize, fillSize);
+			g.setColor(Color.BLACK);
+			g.drawOval(0, 0, outlineSize, outlineSize);
+			g.dispose();
+			index = sprites.size();
+			sprites.add(sprite);
+			spriteIndex.put(key, index);
+		}
+		return index;
+	}
+	
+	/**
+	 * @return the number of stored drawing calls
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @param i The position of a drawing call.
+	 * @return the kind of the drawing call
+	 */
+	public byte kind(int i) {
+		return kinds[i];
+	}
+	
+	/**
+	 * @param i The position of a drawing call.
+	 * @return the smallest horizontal pixel the call can touch
+	 */
+	public int minX(int i) {
+		return kinds[i] == LINE ? Math.min(values[i*4], values[i*4+2]) : values[i*4];
+	}
+	
+	/**
+	 * @param i The position of a drawing call.
+	 * @return the smallest vertical pixel the call can touch
+	 */
+	public int minY(int i) {
+		return kinds[i] == LINE ? Math.min(values[i*4+1], values[i*4+3]) : values[i*4+1];
+	}
+	
+	/**
+	 * @param i The position of a drawing call.
+	 * @return the largest horizontal pixel the call can touch
+	 */
+	public int maxX(int i) {
+		return kinds[i] == LINE ? Math.max(values[i*4], values[i*4+2]) : values[i*4]+values[i*4+2];
+	}
+	
+	/**
+	 * @param i The position of a drawing call.
+	 * @return the largest vertical pixel the call can touch
+	 */
+	public int maxY(int i) {
+		return kinds[i] == LINE ? Math.max(values[i*4+1], values[i*4+3]) : values[i*4+1]+values[i*4+2];
+	}
+	
+	/**
+	 * This draws a list of stored calls in order.
+	 * Lines that follow each other are drawn as one run under a single color change, and
+	 * vertices are stamped from their images, so the color only changes for the few circles
+	 * drawn on their own. The lines are not merged into a Path2D because a path is clipped
+	 * differently in each tile and leaves seams where the tiles meet.
+	 * 
+	 * @param calls The positions of the drawing calls.
+	 * @param from The first entry of calls to draw.
+	 * @param to One past the last entry of calls to draw.
+	 * @param g The graphics to draw on.
+	 */
+	public void draw(int[] calls, int from, int to, Graphics2D g) {
+		boolean inLineRun = false;
+		for(int e = from; e < to; e++) {
+			int i = calls[e];
+			int v = i*4;
+			switch(kinds[i]) {
+			case LINE:
+				if(!inLineRun) {
+					g.setColor(Color.BLACK);
+					inLineRun = true;
+				}
+				g.drawLine(values[v], values[v+1], values[v+2], values[v+3]);
+				continue;
+			case MARKER:
+				g.drawImage(sprites.get(values[v+3]), values[v], values[v+1], null);
+				break;
+			case FILL_OVAL:
+				g.setColor(palette.get(values[v+3]));
+				g.fillOval(values[v], values[v+1], values[v+2], values[v+2]);
+				break;
+			case DRAW_OVAL:
+				g.setColor(Color.BLACK);
+				g.drawOval(values[v], values[v+1], values[v+2], values[v+2]);
+				break;
+			}
+			inLineRun = false;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+import java.awt.Color;
+
+
+/**
+ * This interface receives the drawing calls that make up a view of a graph.
+ * GraphRenderer walks the graph once for a drawing method and passes every line and
+ * circle to a sink in the order they are to be drawn. A sink can store them for later,
+ * draw them right away, or write them to a file.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public interface PrimitiveSink {
+	
+	/**
+	 * This draws a black line between two pixel locations.
+	 * 
+	 * @param x1 The horizontal location of the first end.
+	 * @param y1 The vertical location of the first end.
+	 * @param x2 The horizontal location of the second end.
+	 * @param y2 The vertical location of the second end.
+	 */
+	public void line(int x1, int y1, int x2, int y2);
+	
+	/**
+	 * This fills a circle in the same way as Graphics.fillOval.
+	 * 
+	 * @param x The left side of the circle.
+	 * @param y The top side of the circle.
+	 * @param size The width and height of the circle.
+	 * @param fill The color to fill with.
+	 */
+	public void fillOval(int x, int y, int size, Color fill);
+	
+	/**
+	 * This draws the black outline of a circle in the same way as Graphics.drawOval.
+	 * 
+	 * @param x The left side of the circle.
+	 * @param y The top side of the circle.
+	 * @param size The width and height of the circle.
+	 */
+	public void drawOval(int x, int y, int size);
+	
+	/**
+	 * This draws a vertex, which is a filled circle followed by its black outline.
+	 * It gives the same result as fillOval followed by drawOval at the same location.
+	 * 
+	 * @param x The left side of the circle.
+	 * @param y The top side of the circle.
+	 * @param fillSize The width and height of the filled circle.
+	 * @param outlineSize The width and height of the outline.
+	 * @param fill The color to fill with.
+	 */
+	public void marker(int x, int y, int fillSize, int outlineSize, Color fill);
+}
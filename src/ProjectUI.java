@@ -37,7 +37,7 @@ public class ProjectUI extends JFrame {
 	/**
 	 * The options for the different distributions for the RGG.
 	 */
-	private final String[] graphTypes = {"Choose Type","Square","Disk","Dense Rim Disk","Sphere"};
+	private final String[] graphTypes = {"Choose Type","Square","Disk","Dense Rim Disk","Sphere","Torus","Cube","Ball"};
 	/**
 	 * The container for the different graph choices
 	 */
@@ -56,6 +56,10 @@ public class ProjectUI extends JFrame {
 	 * The button for when the user wants to create a new graph of a particular distribution.
 	 */
 	private JButton bttnCreateGraph;
+	/**
+	 * The button for when the user wants R picked for an average degree.
+	 */
+	private JButton bttnEstimateRadius;
 	/**
 	 * The button for when the user wants to draw a created graph.
 	 */
@@ -124,6 +128,19 @@ public class ProjectUI extends JFrame {
 	 * The combo box that allows the user to choose which set to display.
 	 */
 	private JComboBox colorChooser;
+	/**
+	 * The ways the vertices can be ordered before they are colored.
+	 */
+	private final VertexOrdering[] orderings = {new SmallestLastOrdering(), new LargestFirstOrdering(),
+			new IncidenceDegreeOrdering(), new RandomOrdering(), new HilbertOrdering()};
+	/**
+	 * The combo box that allows the user to choose how the vertices are ordered.
+	 */
+	private JComboBox<String> orderingChooser;
+	/**
+	 * The check box that colors the graph with DSATUR instead of the chosen ordering.
+	 */
+	private JCheckBox useDsatur;
 	
 	/**
 	 * This tabbed pane and panels are used to form the majority of the user input and output aside from graphing.
@@ -204,6 +221,12 @@ public class ProjectUI extends JFrame {
 		fieldRadiusValue.setEnabled(false);
 		featurePaneTop.add(fieldRadiusValue);
 		
+		// This fills in R for the average degree the user asks for
+		bttnEstimateRadius = new JButton("Estimate R");
+		bttnEstimateRadius.setEnabled(false);
+		bttnEstimateRadius.addActionListener(new BttnEstimateRadiusHandler());
+		featurePaneTop.add(bttnEstimateRadius);
+		
 		// This button will be able to create a new rgg graph if appropriate parameters are given
 		bttnCreateGraph = new JButton("Create Graph");
 		bttnCreateGraph.setEnabled(false);
@@ -318,8 +341,20 @@ public class ProjectUI extends JFrame {
 		JPanel featurePane2Bottom = new JPanel();
 		
 		// This next part creates all the buttons for the second panel in the tabbed section
-		// This just calls the smallest last ordering on the graph.
-		smallestLast = new JButton("Smallest Last Ordering");
+		// This chooses the ordering, smallest last by default.
+		String[] orderingNames = new String[orderings.length];
+		for(int i = 0; i < orderings.length; i++) {
+			orderingNames[i] = orderings[i].getName();
+		}
+		orderingChooser = new JComboBox<String>(orderingNames);
+		featurePane2Top.add(orderingChooser);
+		
+		// This colors with DSATUR instead, the ordering is still made for the second bipartite method.
+		useDsatur = new JCheckBox("DSATUR",false);
+		featurePane2Top.add(useDsatur);
+		
+		// This just calls the chosen ordering on the graph.
+		smallestLast = new JButton("Order Vertices");
 		smallestLast.setEnabled(false);
 		smallestLast.addActionListener(new SmallestLastHandler());
 		featurePane2Top.add(smallestLast);
@@ -455,6 +490,7 @@ public class ProjectUI extends JFrame {
 				fieldRadiusValue.setEnabled(false);
 				
 				bttnCreateGraph.setEnabled(false);
+				bttnEstimateRadius.setEnabled(false);
 				break;
 			case 1: // Square chosen
 				rgg = new RGGUnitSquare(graphWidth,graphHeight);
@@ -468,6 +504,15 @@ public class ProjectUI extends JFrame {
 			case 4: // Sphere chosen
 				rgg = new RGGSphere(graphWidth,graphHeight);
 				break;
+			case 5: // Torus chosen
+				rgg = new RGGUnitTorus(graphWidth,graphHeight);
+				break;
+			case 6: // Cube chosen
+				rgg = new RGGUnitCube(graphWidth,graphHeight);
+				break;
+			case 7: // Ball chosen
+				rgg = new RGGUnitBall(graphWidth,graphHeight);
+				break;
 			}
 			
 			// If not the first option, one of the distributions is chosen, allow the user to input information.
@@ -476,6 +521,7 @@ public class ProjectUI extends JFrame {
 				fieldRadiusValue.setEnabled(true);
 				
 				bttnCreateGraph.setEnabled(true);
+				bttnEstimateRadius.setEnabled(true);
 				
 				messageTextArea.setText("Set the N and R values, then press the \"Create Graph\" button.");
 			}
@@ -484,6 +530,48 @@ public class ProjectUI extends JFrame {
 		
 	}
 	
+	/**
+	 * This inner class handles the situation of the estimate R button being pressed.
+	 * The user is asked for an average degree and R is filled in for the N that was typed.
+	 * 
+	 * @author Vladimir Jovanovic
+	 * @version 1.0.0
+	 * @since December 18, 2012
+	 */
+	private class BttnEstimateRadiusHandler implements ActionListener {
+		/* (non-Javadoc)
+		 * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
+		 */
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			int numberOfVertices;
+			try {
+				numberOfVertices = Integer.parseInt(fieldNumberOfVertices.getText());
+			}
+			catch (NumberFormatException nfe) {
+				messageTextArea.setText("Invalid N value: " + fieldNumberOfVertices.getText() + "\r\n");
+				return;
+			}
+			String stringDegree = JOptionPane.showInputDialog("Enter the average degree wanted.");
+			if(stringDegree == null || stringDegree.isEmpty())
+				return;
+			double degree;
+			try {
+				degree = Double.parseDouble(stringDegree);
+			}
+			catch (NumberFormatException nfe) {
+				messageTextArea.setText("Invalid average degree: " + stringDegree + "\r\n");
+				return;
+			}
+			
+			// Within 2% of the average degree is close enough to not need another try
+			double radius = rgg.estimateRadius(numberOfVertices, degree, 0.02);
+			fieldRadiusValue.setText(String.format("%.6f", radius));
+			messageTextArea.setText(String.format("R=%.6f should give an average degree of about %.1f.\r\n"+
+					"Press the \"Create Graph\" button to make it.", radius, degree));
+		}
+	}
+	
 	/**
 	 * This inner class handles the situation of the create graph button being pressed.
 	 * If all the parameters are correct for N and R, then a new graph should be created.
@@ -555,6 +643,7 @@ public class ProjectUI extends JFrame {
 						rgg.createPoints(numberOfVertices,radius);
 						messageToPrint = "Finished placing points on graph.\r\nCheck options and then press \"Draw Graph\"";
 					}
+					messageToPrint += "\r\nEdges found by " + rgg.getEdgeChoice() + ".";
 					// Part II section resets
 					smallestLast.setEnabled(true);
 					color.setEnabled(false);
@@ -701,14 +790,18 @@ public class ProjectUI extends JFrame {
 		 */
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			// Create the smallest last order and then allow the user to see the colors made from it
-			rgg.createSmallestLastOrdering();
+			// Create the chosen order and then allow the user to see the colors made from it
+			VertexOrdering strategy = orderings[orderingChooser.getSelectedIndex()];
+			rgg.createOrdering(strategy);
 			color.setEnabled(true);
 			smallestLast.setEnabled(false);
-			part2TextArea.setText("Created smallest last ordering.\r\n");
+			part2TextArea.setText("Created "+strategy.getName().toLowerCase()+" ordering.\r\n");
 			
 			// Create the color classes here as well to prevent unnecessary processing in other areas.
-			rgg.createColorClasses();
+			if(useDsatur.isSelected())
+				rgg.createDsaturColorClasses();
+			else
+				rgg.createColorClasses();
 			
 			// Create the list of options for the color selector
 			int maxColors = rgg.getNumberOfColors();
@@ -812,7 +905,19 @@ public class ProjectUI extends JFrame {
 					fileName = "testDegreeDistribution.csv";
 				rgg.printToFileDegreeDistribution(fileName);
 				
-				// Fourth ask where to print the summary table
+				// Then ask where to print the core distribution
+				fileName = JOptionPane.showInputDialog("Enter file location to output core distribution to.\nClick cancel for default testCoreDistribution.csv");
+				if(fileName == null || fileName.isEmpty())
+					fileName = "testCoreDistribution.csv";
+				rgg.printToFileCoreDistribution(fileName);
+				
+				// Then ask where to print the triangles of each vertex
+				fileName = JOptionPane.showInputDialog("Enter file location to output triangles to.\nClick cancel for default testTriangles.csv");
+				if(fileName == null || fileName.isEmpty())
+					fileName = "testTriangles.csv";
+				rgg.printToFileTriangles(fileName);
+				
+				// Last ask where to print the summary table
 				fileName = JOptionPane.showInputDialog("Enter file location to output summary table.\nClick cancel for default testSummaryTable.csv");
 				if(fileName == null || fileName.isEmpty())
 					fileName = "testSummaryTable.csv";
@@ -825,6 +930,8 @@ public class ProjectUI extends JFrame {
 				rgg.printToFileDegreePlots(fileName+"DegreePlot.csv");
 				rgg.printToFileColorSize(fileName+"ColorSize.csv");
 				rgg.printToFileDegreeDistribution(fileName+"DegreeDistribution.csv");
+				rgg.printToFileCoreDistribution(fileName+"CoreDistribution.csv");
+				rgg.printToFileTriangles(fileName+"Triangles.csv");
 				rgg.printToFileSummaryTable(fileName+"SummaryTable.csv");
 				break;
 			default:
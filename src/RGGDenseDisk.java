@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.Random;
 
 
@@ -22,36 +23,64 @@ public class RGGDenseDisk extends RandomGeometricGraph {
 	}
 
 	/* (non-Javadoc)
-	 * @see RandomGeometricGraph#createDistributionOfPoints()
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
 	 */
 	@Override
-	protected void createDistributionOfPoints() {
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
 		Random r = new Random();
 		double length, angle, j, k;
-		int x, y;
 		// Going to use polar coordinates here
-		for (int i=0; i < vertexCount; i++) {
+		for (int i=0; i < n; i++) {
 			if(r.nextInt(3) == 2) { // if it's 2 (1/3) then should be in inner
-				length = (.5-radius/2.0)*r.nextDouble();
+				length = (.5-rad/2.0)*r.nextDouble();
 			}
 			else { // if it's 0 or 1 (2/3), then should be in outer
-				length = (.5-radius/2.0)+r.nextDouble()*radius/2.0;
+				length = (.5-rad/2.0)+r.nextDouble()*rad/2.0;
 			}
 	    	 //length from origin
 	    	angle = r.nextInt(360)+r.nextDouble(); //angle from [0 to 360)
 	    	
 	    	j = length * Math.cos(Math.toRadians(angle))+.5; // The real_x value
 	    	k = length * Math.sin(Math.toRadians(angle))+.5; // The real_y value
-	    	
-	    	x = (int) (j*pxlWidth);
-	        y = (int)(k*pxlHeight);
 	        
-	        Point p = new Point(j,k,x,y);
+	        Point p = new DoublePoint(j,k);
 	        p.id = i;
-	    	listOfPoints.add(p);
+	    	points.add(p);
 	    }
 	}
 
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		if(rad <= 0)
+			return 0;
+		if(rad >= 1)
+			return 1;
+		// The inner disk goes out to a, and the rim from there to the edge is half a radius wide
+		double a = .5-rad/2.0;
+		/*
+		 * Two rim points are close when they are within about 2 sqrt(r^2 - d^2) along the rim, for a
+		 * difference d in their length from the center. Over the widths that is 2Kr with K = 0.9786,
+		 * out of the length of the middle of the rim.
+		 */
+		double rimRim = (4.0/9.0)*0.9786*rad/(Math.PI*(.5-rad/4.0));
+		// The inner points are like the disk with a length from the center uniform up to a
+		double inner = (1.0/9.0)*(rad*rad/(a*a))*(0.5*Math.log(a/rad) + 3.773/4);
+		// Inner points close to the rim reach into it, 8J/(9 pi) r^2/a with J = 0.5407
+		double across = 8*0.5407/(9*Math.PI)*rad*rad/a;
+		return Math.min(1, rimRim + inner + across);
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#placementDependsOnRadius()
+	 */
+	@Override
+	protected boolean placementDependsOnRadius() {
+		return true;
+	}
+
 	/* (non-Javadoc)
 	 * @see RandomGeometricGraph#distributionType()
 	 */
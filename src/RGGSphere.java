@@ -23,30 +23,60 @@ public class RGGSphere extends RandomGeometricGraph {
 	}
 
 	/* (non-Javadoc)
-	 * @see RandomGeometricGraph#createDistributionOfPoints()
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
 	 */
 	@Override
-	protected void createDistributionOfPoints() {
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
 		Random rand = new Random();
 	    
-	    for (int i=0; i < vertexCount; i++) {
+	    for (int i=0; i < n; i++) {
 	    	double j = rand.nextDouble()*2-1;
 	    	double k = rand.nextDouble()*2-1;
 	    	double l = rand.nextDouble()*2-1;
 	    	
-	    	Point3D p = new Point3D(j,k,l);
-	    	
-	    	
-	    	int x = (int) (pxlWidth*.5+p.real_x*pxlWidth*.5);
-	        int y = (int)(pxlHeight*.5+p.real_y*pxlHeight*.5);
-	        int z = (int)(pxlHeight*.5+p.real_z*.5);
-	        
-	        p.addCoord(x,y,z);
+	    	Point p = createPointAt(j,k,l);
 	        p.id = i;
-	    	listOfPoints.add(p);
+	    	points.add(p);
 	    }
 	}
 	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createPointAt(double, double, double)
+	 */
+	@Override
+	protected Point createPointAt(double x, double y, double z) {
+		Point3D p = new Point3D();
+		placePoint(p, x, y, z);
+		return p;
+	}
+	
+	/**
+	 * This projects the location on to the sphere.
+	 * 
+	 * @see RandomGeometricGraph#placePoint(Point, double, double, double)
+	 */
+	@Override
+	protected void placePoint(Point point, double i, double j, double k) {
+		Point3D p = (Point3D) point;
+		p.setLocation(i, j, k);
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#getDimensions()
+	 */
+	@Override
+	protected int getDimensions() {
+		return 3;
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#getMinCoordinate()
+	 */
+	@Override
+	protected double getMinCoordinate() {
+		return -1;
+	}
+	
 	/* (non-Javadoc)
 	 * @see RandomGeometricGraph#createPoints(int, double)
 	 */
@@ -60,6 +90,7 @@ public class RGGSphere extends RandomGeometricGraph {
 	    minDegreeCount = n+1;
 	    maxDegreeCount = -1;
 	    totalEdges = 0;
+	    resetDynamicState();
 	    
 	    degreeRemovedAt = new int[vertexCount];
 		originalDegree  = new int[vertexCount];
@@ -67,29 +98,26 @@ public class RGGSphere extends RandomGeometricGraph {
 	    
 	    // Create the random points
 	    createDistributionOfPoints();
+	    numberPoints();
 	    
-	    // Get the degrees
-	    Point3D p, x;
-	    for(int i = 0; i < listOfPoints.size(); i++)
-	    {
-	    	p = (Point3D)listOfPoints.get(i);
-	    	for(int j = 0; j < listOfPoints.size(); j++)
-	    	{
-	    		x = (Point3D)listOfPoints.get(j);
-	    		if(p != x && p.closeTo(x,distanceSq)){
-	    			p.degree++;
-	    			p.addAdjacent(x);
-	    			totalEdges++;
-	    		}
-	    			
-	    	}
-	    	if(p.degree > maxDegreeCount)
-	    	{
-	    		maxDegreeCount = p.degree;
-	    	}
-	    	if(p.degree < minDegreeCount)
-	    		minDegreeCount = p.degree;
-	    }
+	    // Get the degrees, in all three dimensions since the points are Point3D objects
+	    connectPoints();
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		/*
+		 * The cap of points within a straight line distance r covers pi r^2 of the sphere. The points
+		 * are projected from a cube, so they are denser toward its corners, and the chance is pi r^2
+		 * times the density squared added over the sphere, 0.09178 where a uniform sphere would have
+		 * 1/(4 pi). That was found by integrating over the faces of the cube numerically.
+		 */
+		if(rad >= 2)
+			return 1;
+		return Math.min(1, Math.PI*rad*rad*0.09178);
 	}
 
 	/* (non-Javadoc)
@@ -0,0 +1,161 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+
+/**
+ * This subclass fills the ball inside of the unit cube with points, in three dimensions or any other
+ * number of them. Like the disk, the ball has a diameter of 1 and is centered at 1/2 along every axis,
+ * but the points are spread evenly through its volume. The points are PointND objects, and the graph
+ * is drawn looking down every axis past the first two. Past three dimensions the edges are found with a GridIndex.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class RGGUnitBall extends RandomGeometricGraph {
+	
+	/**
+	 * The number of steps each part of the integral for the edge probability is split into.
+	 */
+	private static final int INTEGRAL_STEPS = 512;
+	
+	/**
+	 * The number of dimensions of the ball.
+	 */
+	private final int dimensions;
+
+	/**
+	 * This makes the three dimensional ball.
+	 * 
+	 * @param width The pixel width
+	 * @param height The pixel height
+	 */
+	public RGGUnitBall(int width, int height) {
+		this(width, height, 3);
+	}
+	
+	/**
+	 * @param width The pixel width
+	 * @param height The pixel height
+	 * @param dimensions The number of dimensions, at least 2.
+	 */
+	public RGGUnitBall(int width, int height, int dimensions) {
+		super(width, height);
+		if(dimensions < 2)
+			throw new IllegalArgumentException("A ball needs at least 2 dimensions, not " + dimensions);
+		this.dimensions = dimensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
+	 */
+	@Override
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
+		Random r = new Random();
+		double[] location = new double[dimensions];
+		
+		for (int i=0; i < n; i++) {
+			// A normal variable along each axis points in an even direction, and the length
+			// from the center has to grow with the d-th root to fill the volume evenly
+			double norm = 0;
+			for(int a = 0; a < dimensions; a++) {
+				location[a] = r.nextGaussian();
+				norm += location[a]*location[a];
+			}
+			double length = .5*Math.pow(r.nextDouble(), 1.0/dimensions)/Math.sqrt(norm);
+			for(int a = 0; a < dimensions; a++) {
+				location[a] = .5 + location[a]*length;
+			}
+			PointND p = new PointND(dimensions);
+			p.setLocation(location);
+			p.id = i;
+			points.add(p);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createPointAt(double, double, double)
+	 */
+	@Override
+	protected Point createPointAt(double x, double y, double z) {
+		Point p = new PointND(dimensions);
+		placePoint(p, x, y, z);
+		return p;
+	}
+	
+	/**
+	 * This places the point at the given location along the first three axes, and in the middle
+	 * of the ball along any others.
+	 * 
+	 * @see RandomGeometricGraph#placePoint(Point, double, double, double)
+	 */
+	@Override
+	protected void placePoint(Point p, double x, double y, double z) {
+		double[] location = new double[dimensions];
+		Arrays.fill(location, .5);
+		location[0] = x;
+		location[1] = y;
+		if(dimensions > 2)
+			location[2] = z;
+		((PointND) p).setLocation(location);
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#getDimensions()
+	 */
+	@Override
+	protected int getDimensions() {
+		return dimensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		if(rad <= 0)
+			return 0;
+		if(rad >= 1)
+			return 1;
+		/*
+		 * Two balls of diameter 1 whose centers are t apart share the fraction
+		 * 2/B((d+1)/2,1/2) * integral from t to 1 of (1-w^2)^((d-1)/2) dw of their volume. Adding that
+		 * over every t up to r and swapping the order of the integrals leaves
+		 * 2^(d+1)/B((d+1)/2,1/2) * integral over [0,pi/2] of cos^d(a) min(r, sin(a))^d da,
+		 * which is smooth on each side of sin(a) = r and is found by Simpson's rule.
+		 */
+		double beta = gammaOfHalf(dimensions+1)*Math.sqrt(Math.PI)/gammaOfHalf(dimensions+2);
+		double bend = Math.asin(rad);
+		double sum = simpson(0, bend, rad, false) + simpson(bend, Math.PI/2, rad, true);
+		return Math.min(1, Math.pow(2, dimensions+1)/beta*sum);
+	}
+	
+	/**
+	 * This integrates cos^d(a) times sin^d(a), or times r^d, with Simpson's rule.
+	 * 
+	 * @param from The start of the interval.
+	 * @param to The end of the interval.
+	 * @param rad The edge radius r.
+	 * @param flat True to multiply by r^d, false to multiply by sin^d(a).
+	 * @return the integral
+	 */
+	private double simpson(double from, double to, double rad, boolean flat) {
+		double h = (to-from)/INTEGRAL_STEPS;
+		double sum = 0;
+		for(int i = 0; i <= INTEGRAL_STEPS; i++) {
+			double a = from + i*h;
+			double f = Math.pow(Math.cos(a)*(flat ? rad : Math.sin(a)), dimensions);
+			sum += (i == 0 || i == INTEGRAL_STEPS ? 1 : i % 2 == 1 ? 4 : 2)*f;
+		}
+		return sum*h/3;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#distributionType()
+	 */
+	@Override
+	public String distributionType() {
+		return dimensions == 3 ? "Ball" : dimensions + "D Ball";
+	}
+}
@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.Random;
 
 /**
@@ -21,28 +22,42 @@ public class RGGUnitCircle extends RandomGeometricGraph {
 	}
 
 	/* (non-Javadoc)
-	 * @see RandomGeometricGraph#createDistributionOfPoints()
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
 	 */
 	@Override
-	protected void createDistributionOfPoints() {
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
 		Random r = new Random();
 		// Going to use polar coordinates here
-		for (int i=0; i < vertexCount; i++) {
+		for (int i=0; i < n; i++) {
 	    	double length = r.nextDouble()/2.0; //length from origin
 	    	double angle = r.nextInt(360)+r.nextDouble(); //angle from [0 to 360)
 	    	
 	    	double j = length * Math.cos(Math.toRadians(angle))+.5; // The real_x value
 	    	double k = length * Math.sin(Math.toRadians(angle))+.5; // The real_y value
-	    	
-	    	int x = (int) (j*pxlWidth);
-	        int y = (int)(k*pxlHeight);
 	        
-	        Point p = new Point(j,k,x,y);
+	        Point p = new DoublePoint(j,k);
 	        p.id = i;
-	    	listOfPoints.add(p);
+	    	points.add(p);
 	    }
 	}
 
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		/*
+		 * The length from the center is uniform, so the points get denser by 1/(pi rho) toward it.
+		 * Adding that density up over the circles around every point gives r^2 (2 ln(1/2r) + C),
+		 * where C = 3.773 comes from the points within a few r of the center and was found by
+		 * integrating numerically. The rim cuts off 8/(3 pi) r^3 of it.
+		 */
+		if(rad <= 0)
+			return 0;
+		double p = rad*rad*(2*Math.log(1/(2*rad)) + 3.773) - 8*rad*rad*rad/(3*Math.PI);
+		return Math.min(1, p);
+	}
+
 	/* (non-Javadoc)
 	 * @see RandomGeometricGraph#distributionType()
 	 */
@@ -0,0 +1,177 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+
+/**
+ * This subclass fills the unit cube with points, in three dimensions or any other number of them.
+ * The points are PointND objects, and the graph is drawn looking down every axis past the first two.
+ * Past three dimensions the edges are found with a GridIndex.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class RGGUnitCube extends RandomGeometricGraph {
+	
+	/**
+	 * The number of steps each unit of the squared distance is split into when the edge probability
+	 * is found past a radius of 1.
+	 */
+	private static final int CONVOLUTION_STEPS = 256;
+	
+	/**
+	 * The number of dimensions of the cube.
+	 */
+	private final int dimensions;
+
+	/**
+	 * This makes the three dimensional cube.
+	 * 
+	 * @param width The pixel width
+	 * @param height The pixel height
+	 */
+	public RGGUnitCube(int width, int height) {
+		this(width, height, 3);
+	}
+	
+	/**
+	 * @param width The pixel width
+	 * @param height The pixel height
+	 * @param dimensions The number of dimensions, at least 2.
+	 */
+	public RGGUnitCube(int width, int height, int dimensions) {
+		super(width, height);
+		if(dimensions < 2)
+			throw new IllegalArgumentException("A cube needs at least 2 dimensions, not " + dimensions);
+		this.dimensions = dimensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
+	 */
+	@Override
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
+		Random r = new Random();
+		double[] location = new double[dimensions];
+		
+		for (int i=0; i < n; i++) {
+			for(int a = 0; a < dimensions; a++) {
+				location[a] = r.nextDouble();
+			}
+			PointND p = new PointND(dimensions);
+			p.setLocation(location);
+			p.id = i;
+			points.add(p);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createPointAt(double, double, double)
+	 */
+	@Override
+	protected Point createPointAt(double x, double y, double z) {
+		Point p = new PointND(dimensions);
+		placePoint(p, x, y, z);
+		return p;
+	}
+	
+	/**
+	 * This places the point at the given location along the first three axes, and in the middle
+	 * of the cube along any others.
+	 * 
+	 * @see RandomGeometricGraph#placePoint(Point, double, double, double)
+	 */
+	@Override
+	protected void placePoint(Point p, double x, double y, double z) {
+		double[] location = new double[dimensions];
+		Arrays.fill(location, .5);
+		location[0] = x;
+		location[1] = y;
+		if(dimensions > 2)
+			location[2] = z;
+		((PointND) p).setLocation(location);
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#getDimensions()
+	 */
+	@Override
+	protected int getDimensions() {
+		return dimensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		if(rad <= 0)
+			return 0;
+		if(rad >= Math.sqrt(dimensions))
+			return 1;
+		if(rad > 1)
+			return convolvedProbability(rad*rad);
+		/*
+		 * Along each axis the chance of a difference u is 1-|u| out of the cube, so the chance is the
+		 * ball of radius r weighed by the product of 1-|u_i|. Multiplying it out, the terms with k of
+		 * the |u_i| add up to (-1)^k (d choose k) pi^((d-k)/2) r^(d+k) / gamma(1+(d+k)/2), which for the
+		 * square is pi r^2 - 8/3 r^3 + 1/2 r^4. That holds while the ball fits across the cube, up to r = 1.
+		 */
+		double p = 0;
+		double choose = 1;
+		for(int k = 0; k <= dimensions; k++) {
+			double term = choose*Math.pow(Math.PI, (dimensions-k)/2.0)*Math.pow(rad, dimensions+k)/gammaOfHalf(dimensions+k+2);
+			p += k % 2 == 0 ? term : -term;
+			choose = choose*(dimensions-k)/(k+1);
+		}
+		return Math.min(1, p);
+	}
+	
+	/**
+	 * This finds the edge probability past a radius of 1, where the ball pokes out of the cube on
+	 * every side and the series no longer holds. Along one axis the squared difference s is at most
+	 * 2 sqrt(s) - s with s up to 1, and the squared distance is the sum of d of them, so its chance
+	 * is built up one axis at a time on a grid of the squared distance.
+	 * 
+	 * @param distanceSq The squared edge radius, between 1 and d.
+	 * @return the chance that two points are within the radius
+	 */
+	private double convolvedProbability(double distanceSq) {
+		int steps = dimensions*CONVOLUTION_STEPS;
+		double[] mass = new double[CONVOLUTION_STEPS];
+		double[] chance = new double[steps+1];
+		for(int i = 0; i < CONVOLUTION_STEPS; i++) {
+			double low = (double) i/CONVOLUTION_STEPS;
+			double high = (double) (i+1)/CONVOLUTION_STEPS;
+			mass[i] = 2*Math.sqrt(high) - high - (2*Math.sqrt(low) - low);
+		}
+		for(int j = 0; j <= steps; j++) {
+			double s = Math.min(1, (double) j/CONVOLUTION_STEPS);
+			chance[j] = 2*Math.sqrt(s) - s;
+		}
+		for(int a = 1; a < dimensions; a++) {
+			double[] next = new double[steps+1];
+			for(int j = 0; j <= steps; j++) {
+				double sum = 0;
+				for(int i = 0; i < CONVOLUTION_STEPS && i < j; i++) {
+					// The mass of the step from i to i+1 is taken as sitting in its middle
+					sum += mass[i]*(chance[j-i] + chance[j-i-1])/2;
+				}
+				next[j] = sum;
+			}
+			chance = next;
+		}
+		double at = distanceSq*CONVOLUTION_STEPS;
+		int j = Math.min((int) at, steps-1);
+		return Math.min(1, chance[j] + (chance[j+1]-chance[j])*(at-j));
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#distributionType()
+	 */
+	@Override
+	public String distributionType() {
+		return dimensions == 3 ? "Cube" : dimensions + "D Cube";
+	}
+}
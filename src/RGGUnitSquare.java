@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.Random;
 
 /**
@@ -18,25 +19,34 @@ public class RGGUnitSquare extends RandomGeometricGraph {
 	}
 
 	/* (non-Javadoc)
-	 * @see RandomGeometricGraph#createDistributionOfPoints()
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
 	 */
 	@Override
-	protected void createDistributionOfPoints() {
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
 		Random r = new Random();
 		
-		for (int i=0; i < vertexCount; i++) {
+		for (int i=0; i < n; i++) {
 	    	double j = r.nextDouble();
 	    	double k = r.nextDouble();
-	    	
-	    	int x = (int) (j*pxlWidth);
-	        int y = (int)(k*pxlHeight);
 	        
-	        Point p = new Point(j,k,x,y);
+	        Point p = new DoublePoint(j,k);
 	        p.id = i;
-	    	listOfPoints.add(p);
+	    	points.add(p);
 	    }
 	}
 
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		// The circle around a point near an edge or corner is cut off by the square, which on
+		// average leaves pi r^2 - 8/3 r^3 + 1/2 r^4 of it inside for any r up to 1
+		if(rad >= 1)
+			return 1;
+		return Math.PI*rad*rad - 8*rad*rad*rad/3 + rad*rad*rad*rad/2;
+	}
+
 	/* (non-Javadoc)
 	 * @see RandomGeometricGraph#distributionType()
 	 */
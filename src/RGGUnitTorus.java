@@ -0,0 +1,99 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+
+/**
+ * This is the unit square with each side joined to the opposite one, so there is no boundary.
+ * Every point has the same chance of any neighbor, which takes away the lower degrees near the
+ * sides of the square. The points are TorusPoint objects, which measure the distance the short
+ * way around, and the spatial grid wraps around to find them.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class RGGUnitTorus extends RandomGeometricGraph {
+
+	/**
+	 * @param width The pixel width
+	 * @param height The pixel height
+	 */
+	public RGGUnitTorus(int width, int height) {
+		super(width, height);
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createDistributionOfPoints(ArrayList, int, double)
+	 */
+	@Override
+	protected void createDistributionOfPoints(ArrayList<Point> points, int n, double rad) {
+		Random r = new Random();
+		
+		for (int i=0; i < n; i++) {
+			Point p = new TorusPoint(r.nextDouble(), r.nextDouble());
+			p.id = i;
+			points.add(p);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#createPointAt(double, double, double)
+	 */
+	@Override
+	protected Point createPointAt(double x, double y, double z) {
+		Point p = new TorusPoint();
+		placePoint(p, x, y, z);
+		return p;
+	}
+	
+	/**
+	 * This wraps the location around into the unit square.
+	 * 
+	 * @see RandomGeometricGraph#placePoint(Point, double, double, double)
+	 */
+	@Override
+	protected void placePoint(Point p, double x, double y, double z) {
+		super.placePoint(p, wrap(x), wrap(y), z);
+	}
+	
+	/**
+	 * @param coord A coordinate anywhere.
+	 * @return the same place around the torus, in [0,1)
+	 */
+	private static double wrap(double coord) {
+		double wrapped = coord - Math.floor(coord);
+		// A tiny negative coordinate rounds up to 1
+		return wrapped < 1 ? wrapped : 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#isPeriodic()
+	 */
+	@Override
+	protected boolean isPeriodic() {
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#edgeProbability(double)
+	 */
+	@Override
+	protected double edgeProbability(double rad) {
+		// Nothing is cut off, so the whole circle pi r^2 counts until it is wider than the torus.
+		// Past r = 1/2 the four caps that reach over the sides are taken off.
+		if(rad <= .5)
+			return Math.PI*rad*rad;
+		if(rad >= Math.sqrt(.5))
+			return 1;
+		double cap = rad*rad*Math.acos(.5/rad) - .5*Math.sqrt(rad*rad-.25);
+		return Math.PI*rad*rad - 4*cap;
+	}
+
+	/* (non-Javadoc)
+	 * @see RandomGeometricGraph#distributionType()
+	 */
+	@Override
+	public String distributionType() {
+		return "Torus";
+	}
+}
@@ -2,7 +2,9 @@ import java.awt.Color;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Random;
 
 
@@ -19,6 +21,71 @@ import java.util.Random;
  *
  */
 public abstract class RandomGeometricGraph {
+	/**
+	 * This enum represents the ways the edges can be found when the points are created.
+	 * BRUTE_FORCE measures every pair, SORT_SWEEP looks along the points sorted by their horizontal location,
+	 * GRID looks in the cells of a SpatialGrid around each point, and KD_TREE searches a KDTree, which does
+	 * not slow down where the points are packed closely. AUTOMATIC picks one of them for each graph.
+	 * All of them find the same edges in the same order.
+	 * 
+	 * @author Vladimir Jovanovic
+	 * @version 1.0.0
+	 * @since December 19, 2012
+	 */
+	public enum EdgeStrategy { AUTOMATIC, BRUTE_FORCE, SORT_SWEEP, GRID, KD_TREE };
+	
+	/**
+	 * This enum represents the ways the IDs can be given to the points after they are placed.
+	 * GENERATION keeps the order they were made in, which is random. HILBERT and MORTON number them
+	 * along a HilbertCurve or a Morton curve, so points that are close together get nearby IDs.
+	 * 
+	 * @author Vladimir Jovanovic
+	 * @version 1.0.0
+	 * @since December 19, 2012
+	 */
+	public enum VertexNumbering { GENERATION, HILBERT, MORTON };
+	
+	/**
+	 * This enum represents the ways the k nearest neighbors of each point are turned into edges.
+	 * EITHER joins two points if either one is among the k nearest of the other, so every point
+	 * has a degree of at least k. MUTUAL joins them only if each one is among the k nearest of the
+	 * other, so no point has a degree of more than k.
+	 * 
+	 * @author Vladimir Jovanovic
+	 * @version 1.0.0
+	 * @since December 19, 2012
+	 */
+	public enum NeighborRule { EITHER, MUTUAL };
+	
+	/**
+	 * The most points for which every pair is measured without sampling the density first.
+	 */
+	private static final int BRUTE_FORCE_LIMIT = 100;
+	/**
+	 * How many times k neighbors the first search for the k nearest neighbors expects to find around a point,
+	 * so that most points find enough of them in the first round.
+	 */
+	private static final double NEAREST_MARGIN = 1.5;
+	/**
+	 * The fewest points worth splitting between threads.
+	 */
+	private static final int PARALLEL_LIMIT = 20000;
+	/**
+	 * The nanoseconds each strategy takes for one point, for each pair it measures, each neighbor it finds
+	 * and each cell or level it goes through. These were fitted to the times from EdgeStrategyBenchmark.
+	 */
+	private static final double BRUTE_PAIR = 10, SWEEP_PAIR = 4, SWEEP_NEIGHBOR = 500, SWEEP_POINT = 440,
+			GRID_PAIR = 15, GRID_NEIGHBOR = 50, GRID_CELL = 143, TREE_NEIGHBOR_LEVEL = 42, TREE_LEVEL = 118;
+	/**
+	 * This puts points in order of ID.
+	 */
+	private static final Comparator<Point> ID_ORDER = new Comparator<Point>() {
+		@Override
+		public int compare(Point a, Point b) {
+			return a.id - b.id;
+		}
+	};
+	
 	/**
 	 * The list of points for the graph
 	 */
@@ -127,16 +194,180 @@ public abstract class RandomGeometricGraph {
 	 */
 	protected Object[] bipartiteIISecondSets;
 	
+	/**
+	 * The same second sets of the second bipartite method, kept as sets of vertex IDs to quickly check if
+	 * a vertex is in one of them.
+	 */
+	protected VertexSet[] bipartiteIISecondMembers;
+	
 	/**
 	 * The point lists for a particular color.
 	 */
 	protected Object[] colorPointLists;
+	
+	/**
+	 * The vertices and edges of the graph copied into a form that does not change, for the
+	 * ordering, coloring and bipartite methods. It is made again after the graph changes.
+	 */
+	private ImmutableGraph immutableGraph;
+	/**
+	 * The core number of every vertex, made from the immutable graph the first time it is needed.
+	 */
+	private CoreDecomposition coreDecomposition;
+	/**
+	 * The triangles of every vertex, made from the immutable graph the first time they are needed.
+	 */
+	private TriangleStatistics triangleStatistics;
+	/**
+	 * The last ordering made, which the coloring and second bipartite method use.
+	 */
+	protected Ordering ordering;
+	/**
+	 * The name of the strategy that made the last ordering.
+	 */
+	protected String orderingName;
+	/**
+	 * The strategy that made the last ordering, which makes it again once the graph has changed.
+	 */
+	protected VertexOrdering orderingStrategy;
+	/**
+	 * The last full coloring made.
+	 */
+	protected Coloring coloring;
+	/**
+	 * The name of the engine that made the last full coloring.
+	 */
+	protected String coloringName;
+	/**
+	 * The bipartites of the first and second method, or null if they were not made.
+	 */
+	protected BipartiteSummary bipartitesI, bipartitesII;
 	/**
 	 * The Color object for a particular class.
 	 */
 	private Color[] classColors;
-	
-	
+
+	/**
+	 * The largest radius that the candidate edges of a radius sweep were computed for.
+	 */
+	protected double maxSweepRadius;
+	/**
+	 * The number of candidate edges found for the radius sweep.
+	 */
+	protected int sweepEdgeCount;
+	/**
+	 * The number of candidate edges, in increasing length order, currently added to the graph.
+	 */
+	protected int sweepEdgesAdded;
+	/**
+	 * The lower ID of each candidate edge, sorted by increasing length.
+	 */
+	protected int[] sweepEdgeFrom;
+	/**
+	 * The higher ID of each candidate edge, sorted by increasing length.
+	 */
+	protected int[] sweepEdgeTo;
+	/**
+	 * The squared length of each candidate edge, sorted in increasing order.
+	 */
+	protected double[] sweepEdgeLengthSq;
+	/**
+	 * The components over the radius found by the last analyzeConnectivity.
+	 */
+	protected ConnectivityAnalysis connectivity;
+
+	/**
+	 * The spatial index used to find the neighbors of a point that is added or moved.
+	 * It is built the first time the graph is changed after being created.
+	 */
+	protected SpatialGrid spatialGrid;
+	/**
+	 * The way the edges are found when the points are created.
+	 */
+	protected EdgeStrategy edgeStrategy = EdgeStrategy.AUTOMATIC;
+	/**
+	 * The number of threads the edges are found with, or 0 to pick it automatically.
+	 */
+	protected int edgeThreads = 0;
+	/**
+	 * The strategy and number of threads the edges were last found with.
+	 */
+	protected String edgeChoice;
+	/**
+	 * True if the points keep their coordinates as 32 bit fixed point numbers in a FixedCoordinates,
+	 * and the grid used to find the edges does too.
+	 */
+	protected boolean compactCoordinates = false;
+	/**
+	 * The store the coordinates of the points are kept in, or null if the points keep their own doubles.
+	 */
+	protected FixedCoordinates fixedCoordinates;
+	/**
+	 * The way the IDs are given to the points after they are placed.
+	 */
+	protected VertexNumbering vertexNumbering = VertexNumbering.GENERATION;
+	/**
+	 * The number of nearest neighbors each point was joined to, or 0 if the edges were made by the radius.
+	 */
+	protected int nearestNeighbors;
+	/**
+	 * The way the nearest neighbors were turned into edges, if they were.
+	 */
+	protected NeighborRule neighborRule = NeighborRule.EITHER;
+	/**
+	 * The originalId the next added point is given.
+	 */
+	private int nextOriginalId;
+	/**
+	 * The number of vertices with a particular degree. This is kept up to date as points
+	 * are added, removed and moved so that the minimum and maximum degree can be found
+	 * without looking at every point.
+	 */
+	protected int[] degreeHistogram;
+	/**
+	 * True when the points or edges have changed since the smallest last ordering was made.
+	 */
+	protected boolean orderingStale = true;
+	/**
+	 * True when the points or edges have changed since the color classes were made.
+	 */
+	protected boolean coloringStale = true;
+	/**
+	 * Marks for the points that were adjacent to a moved point, indexed by ID.
+	 */
+	private int[] neighborMarks;
+	/**
+	 * The value in neighborMarks for the current move.
+	 */
+	private int markStamp;
+
+	/**
+	 * The number of colors that the last full coloring from createColorClasses used.
+	 */
+	protected int fullColoringColorCount;
+	/**
+	 * How many more colors than the last full coloring the repaired coloring may use
+	 * before a full recoloring is recommended.
+	 */
+	protected int colorBound = 1;
+	/**
+	 * The number of points changed since the last full coloring.
+	 */
+	protected int changesSinceFullColoring;
+	/**
+	 * The points whose color has to be checked by repairColoring.
+	 */
+	private ArrayList<Point> pointsToRepair = new ArrayList<Point>();
+	/**
+	 * Marks for the colors used around a point being repaired, indexed by color.
+	 */
+	private int[] colorMarks;
+	/**
+	 * The value in colorMarks for the current point.
+	 */
+	private int colorStamp;
+
+
 	/**
 	 * @return the list of points
 	 */
@@ -186,6 +417,13 @@ public abstract class RandomGeometricGraph {
 		return totalEdges;
 	}
 	
+	/**
+	 * @return the threshold distance to form an edge
+	 */
+	public double getRadius() {
+		return radius;
+	}
+	
 	/**
 	 * @return the number of color classes
 	 */
@@ -256,6 +494,99 @@ public abstract class RandomGeometricGraph {
 		return bipartiteIISecondSets;
 	}
 	
+	/**
+	 * @return the vertex sets of the second sets for the second bipartite method
+	 */
+	public VertexSet[] getBipartiteIISecondMembers() {
+		return bipartiteIISecondMembers;
+	}
+	
+	/**
+	 * This returns the vertices and edges of the graph in a form that does not change.
+	 * Any number of orderings, colorings and bipartites can be made from it at the same time
+	 * without changing the points. A new one is made after the graph changes.
+	 * 
+	 * @return the graph that can not be changed
+	 */
+	public synchronized ImmutableGraph getImmutableGraph() {
+		if(immutableGraph == null)
+			immutableGraph = new ImmutableGraph(listOfPoints);
+		return immutableGraph;
+	}
+	
+	/**
+	 * This returns the core number of every vertex, found on all the processors.
+	 * It is made again after the graph changes.
+	 * 
+	 * @return the core decomposition of the graph
+	 */
+	public synchronized CoreDecomposition getCoreDecomposition() {
+		if(coreDecomposition == null)
+			coreDecomposition = CoreDecomposition.compute(getImmutableGraph());
+		return coreDecomposition;
+	}
+	
+	/**
+	 * This returns the triangles of every vertex, found on all the processors.
+	 * The edges are pointed by the smallest last ordering, which is made if the last ordering is another one
+	 * or was made before the graph last changed.
+	 * It is made again after the graph changes.
+	 * 
+	 * @return the triangle statistics of the graph
+	 */
+	public synchronized TriangleStatistics getTriangleStatistics() {
+		if(triangleStatistics == null) {
+			ImmutableGraph graph = getImmutableGraph();
+			Ordering degeneracyOrder = ordering;
+			if(degeneracyOrder == null || degeneracyOrder.size() != graph.getVertexCount() || orderingStale
+					|| !"Smallest Last".equals(orderingName))
+				degeneracyOrder = new SmallestLastOrdering().order(graph);
+			triangleStatistics = TriangleStatistics.compute(graph, degeneracyOrder, getCoreDecomposition());
+		}
+		return triangleStatistics;
+	}
+	
+	/**
+	 * @return the last ordering, or null if none was made
+	 */
+	public Ordering getOrdering() {
+		return ordering;
+	}
+	
+	/**
+	 * @return the last full coloring, or null if none was made. Local repairs are not included.
+	 */
+	public Coloring getColoring() {
+		return coloring;
+	}
+	
+	/**
+	 * @return the bipartites of the first method, or null if they were not made
+	 */
+	public BipartiteSummary getBipartitesI() {
+		return bipartitesI;
+	}
+	
+	/**
+	 * @return the bipartites of the second method, or null if they were not made
+	 */
+	public BipartiteSummary getBipartitesII() {
+		return bipartitesII;
+	}
+	
+	/**
+	 * This takes the colors the points have now, including any local repairs, as a coloring.
+	 * 
+	 * @return the current coloring
+	 */
+	private Coloring currentColoring() {
+		int[] colors = new int[listOfPoints.size()];
+		for(Point p : listOfPoints) {
+			colors[p.id] = p.color;
+		}
+		return new Coloring(colors);
+	}
+	
 	/**
 	 * @return the list of faces for the second bipartite method
 	 */
@@ -270,6 +601,38 @@ public abstract class RandomGeometricGraph {
 		return componentsForBipartiteII;
 	}
 	
+	/**
+	 * @return true if the graph changed since the smallest last ordering was made
+	 */
+	public boolean isOrderingStale() {
+		return orderingStale;
+	}
+
+	/**
+	 * @return true if the graph changed since the color classes were made
+	 */
+	public boolean isColoringStale() {
+		return coloringStale;
+	}
+	
+	/**
+	 * @param bound how many more colors than the last full coloring a repaired coloring may use
+	 */
+	public void setColorBound(int bound) {
+		colorBound = bound;
+	}
+
+	/**
+	 * A full recoloring is recommended when the repaired coloring uses more colors than the
+	 * color bound allows, or when a quarter of the points have changed since the last one.
+	 *
+	 * @return true if createSmallestLastOrdering and createColorClasses should be run again
+	 */
+	public boolean isFullRecolorRecommended() {
+		return numberOfColors > fullColoringColorCount + colorBound
+				|| changesSinceFullColoring > vertexCount/4;
+	}
+
 	/**
 	 * @param width the width of the pixels for this display
 	 * @param height the height of the pixels for this display
@@ -294,6 +657,7 @@ public abstract class RandomGeometricGraph {
 	    minDegreeCount = n+1;
 	    maxDegreeCount = -1;
 	    totalEdges = 0;
+	    resetDynamicState();
 	    
 	    // Set up the arrays to be used later.
 	    degreeRemovedAt = new int[vertexCount];
@@ -302,167 +666,1610 @@ public abstract class RandomGeometricGraph {
 	    
 	    // Create the random points
 	    createDistributionOfPoints();
+	    numberPoints();
 	    
 	    // Get the degrees
-	    for(Point p:listOfPoints)
-	    {
-	    	for(Point x:listOfPoints)
-	    	{
-	    		if(p != x && p.closeTo(x,distanceSq)){
-	    			p.degree++;
-	    			p.addAdjacent(x);
-	    			totalEdges++;
-	    		}
-	    			
-	    	}
-	    	if(p.degree > maxDegreeCount)
-	    	{
-	    		maxDegreeCount = p.degree;
-	    	}
-	    	if(p.degree < minDegreeCount)
-	    		minDegreeCount = p.degree;
-	    }
+	    connectPoints();
 	}
 	
 	/**
-	 * This abstract method changes for each subclass distribution type.
-	 */
-	protected abstract void createDistributionOfPoints();
-	
-	/**
-	 * @return the name of the distribution in String form
+	 * This creates the list of points for the RGG and joins each point to its k nearest neighbors,
+	 * instead of to every point within a radius. The radius is then the length of the longest edge.
+	 * The neighbors are found with the edge strategy, in rounds: every point searches the radius where
+	 * the area formula expects a bit more than k neighbors, and only the points that found fewer than k,
+	 * such as points near the edge of the distribution, search again with twice the radius.
+	 * Note that the dense rim disk places its rim according to the radius the area formula gives for k neighbors.
+	 * 
+	 * @param n the number of vertices for the RGG
+	 * @param k the number of nearest neighbors of each point
+	 * @param rule whether either or both points of an edge have to be among the nearest neighbors of the other
 	 */
-	public abstract String distributionType();
+	public void createNearestNeighborPoints(int n, int k, NeighborRule rule) {
+		listOfPoints = new ArrayList<Point>();
+		radius = formulaRadius(n, k);
+		distanceSq = radius*radius;
+		vertexCount = n;
+		
+		minDegreeCount = n+1;
+		maxDegreeCount = -1;
+		totalEdges = 0;
+		resetDynamicState();
+		nearestNeighbors = k;
+		neighborRule = rule;
+		
+		degreeRemovedAt = new int[vertexCount];
+		originalDegree  = new int[vertexCount];
+		smallestLastOrder = new int[vertexCount];
+		
+		createDistributionOfPoints();
+		numberPoints();
+		connectNearestNeighbors(k, rule);
+	}
 	
 	/**
-	 * This creates the smallest last ordering of the list of points in the graph.
-	 * This method also stores the degree when deleted for the points, and the order they were deleted in.
+	 * This gives the points that were just placed their IDs in the order of the vertex numbering.
+	 * Each point keeps the ID it was generated with as its originalId. Numbering along a curve puts
+	 * points that are close together next to each other in the list of points, so the adjacency lists,
+	 * the graph that can not be changed and the orderings and colorings made from it read memory
+	 * close together instead of jumping across it.
 	 */
-	@SuppressWarnings("unchecked")
-	public void createSmallestLastOrdering() {
-		Object[] degreeCounts = new Object[maxDegreeCount+1]; // Buckets to hold lists
-		
-		for(int i = 0; i < maxDegreeCount+1 ; i++) {
-			degreeCounts[i] = new ArrayList<Point>();
-		}
-		
-		// Create the buckets
-		// Also create the degree distribution
-		degreeDistribution = new int[maxDegreeCount+1];
+	protected void numberPoints() {
+		int n = listOfPoints.size();
 		for(Point p : listOfPoints) {
-			p.prepareRemoval();
-			degreeDistribution[p.degree]++;
-			ArrayList<Point> alp = (ArrayList<Point>) degreeCounts[p.degreeLeft];
-			alp.add(p);
+			p.originalId = p.id;
 		}
+		nextOriginalId = n;
+		if(vertexNumbering == VertexNumbering.GENERATION || n == 0)
+			return;
 		
-		// Go through this method the number of times there are vertices in the graph
-		for(int i = 0, j = vertexCount-1; j >= 0; i++) {
-			// search through the list of buckets and find the first non-empty one
-			if( i == maxDegreeCount+1 || i < 0)
-				i = 0;
-			ArrayList<Point> alp = (ArrayList<Point>)degreeCounts[i];
-			if(!alp.isEmpty()) {
-				Point p = alp.remove(0); // Get the next point to remove
-				for(Point x : p.edgeRemovalList) {
-					// Take out the adjacent ones from one bucket, move it down one
-					((ArrayList<Point>) degreeCounts[x.degreeLeft]).remove(x);
-					// Moving it down one
-					((ArrayList<Point>) degreeCounts[x.degreeLeft-1]).add(x);
-					x.degreeLeft--; // Subtract the degree
-					x.edgeRemovalList.remove(p); // remove the p from the adjacency
-				}
-				degreeRemovedAt[j] = p.degreeLeft;
-				originalDegree[j] = p.degree;
-				smallestLastOrder[j] = p.id;
-				p.SLOrderPosition = j;
-				i = i-2;
-				j--;
+		int dimensions = getDimensions();
+		double[] coords = new double[n*dimensions];
+		for(int i = 0; i < n; i++) {
+			Point p = listOfPoints.get(i);
+			for(int a = 0; a < dimensions; a++) {
+				coords[i*dimensions+a] = p.coordinate(a);
 			}
 		}
+		long[] keys = vertexNumbering == VertexNumbering.MORTON ? HilbertCurve.mortonKeys(coords, dimensions)
+				: HilbertCurve.keys(coords, dimensions);
+		int[] order = HilbertCurve.sortByKey(keys);
+		ArrayList<Point> numbered = new ArrayList<Point>(n);
+		for(int i = 0; i < n; i++) {
+			Point p = listOfPoints.get(order[i]);
+			p.id = i;
+			numbered.add(p);
+		}
+		listOfPoints = numbered;
 	}
 	
 	/**
-	 * This colors the vertices using SLO.
+	 * This finds the edges between the points that were just placed, using the edge strategy.
+	 * The points are split into chunks that find their neighbors at the same time. Each chunk only
+	 * adds to the adjacency lists of its own points, so they do not get in each other's way.
+	 * The neighbors of each point are added in order of ID whichever strategy is used, so the
+	 * orderings and colorings made from the graph do not depend on it.
+	 * The degrees, totalEdges and the smallest and largest degree are filled in.
 	 */
-	@SuppressWarnings("unchecked")
-	public void createColorClasses() {
-		numberOfColors = -1;
-		// This goes through all the points in SLO
-		for(int i=0; i < vertexCount; i++) {
-			Point p = listOfPoints.get(smallestLastOrder[i]);
-			
-			// Figure out which adjacenct verteces have a color already
-			int[] colorSet = new int[p.degree];
-			for(Point x : p.adjacencies) {
-				if(x.color != -1 && x.color < p.degree) {
-					if(colorSet[x.color] == 0)
-						p.distinctAdjacentColors++;
-					colorSet[x.color]++;
-				}
-			}
-			int color = p.degree;
-			// Find the first not used color
-			for(int j = 0; j < p.degree; j++)
-				if(colorSet[j] == 0) {
-					color = j;
-					break;
+	protected void connectPoints() {
+		EdgeStrategy strategy = currentEdgeStrategy();
+		int threads = edgeThreads > 0 ? edgeThreads : chooseEdgeThreads(strategy);
+		edgeChoice = strategy + (threads == 1 ? " with 1 thread" : " with " + threads + " threads")
+				+ (edgeStrategy == EdgeStrategy.AUTOMATIC || edgeThreads == 0 ? " (automatic)" : "");
+		
+		final SpatialIndex index = findIndex(strategy, radius);
+		final int chunks = threads <= 1 ? 1 : threads*4;
+		final int[] chunkEdges = new int[chunks];
+		final int[] chunkMin = new int[chunks];
+		final int[] chunkMax = new int[chunks];
+		ParallelRange.forEach(listOfPoints.size(), chunks, new ParallelRange.Body() {
+			@Override
+			public void run(int chunk, int start, int end) {
+				ArrayList<Point> neighbors = new ArrayList<Point>();
+				int edges = 0, min = Integer.MAX_VALUE, max = -1;
+				for(int i = start; i < end; i++) {
+					Point p = listOfPoints.get(i);
+					findNeighbors(index, p, neighbors);
+					for(Point x : neighbors) {
+						p.degree++;
+						p.addAdjacent(x);
+						edges++;
+					}
+					if(p.degree > max)
+						max = p.degree;
+					if(p.degree < min)
+						min = p.degree;
 				}
-			// Assign it
-			p.color = color;
-			if(color > numberOfColors) {
-				numberOfColors = color;
+				chunkEdges[chunk] = edges;
+				chunkMin[chunk] = min;
+				chunkMax[chunk] = max;
 			}
+		});
+		for(int c = 0; c < chunks; c++) {
+			totalEdges += chunkEdges[c];
+			if(chunkMax[c] > maxDegreeCount)
+				maxDegreeCount = chunkMax[c];
+			if(chunkMin[c] < minDegreeCount)
+				minDegreeCount = chunkMin[c];
 		}
-		numberOfColors++; //increase 1 because colors go form 0 to n
-		colorSizes = new int[numberOfColors];
-		// Create the size of each color set
-		for(Point p : listOfPoints) {
-			colorSizes[p.color]++;
+	}
+	
+	/**
+	 * This joins each point to its k nearest neighbors. The search goes in rounds, each with an index from
+	 * findIndex over all of the points, and each point keeps the k nearest of the points its search finds
+	 * in a NeighborHeap. A point that finds fewer than k searches again in the next round with twice the
+	 * radius, until the radius reaches across the whole distribution. Within a round the points are split
+	 * into chunks that search at the same time, like connectPoints.
+	 * Then every point goes through its own nearest neighbors and the points that have it among theirs,
+	 * both in order of ID, and adds their union or their intersection as its adjacencies.
+	 * The degrees, totalEdges, the smallest and largest degree and the radius are filled in.
+	 * 
+	 * @param k the number of nearest neighbors of each point
+	 * @param rule whether either or both points of an edge have to be among the nearest neighbors of the other
+	 */
+	private void connectNearestNeighbors(int k, final NeighborRule rule) {
+		final int n = listOfPoints.size();
+		final int want = Math.max(0, Math.min(k, n-1));
+		final int[] nearest = new int[n*want];
+		final boolean[] found = new boolean[n];
+		int[] pending = new int[n];
+		for(int i = 0; i < n; i++) {
+			pending[i] = i;
 		}
-		// Create the random colors for them
-		classColors = new Color[numberOfColors];
-		Random random = new Random();
-		float differenceValue = 1.0f/(float) numberOfColors;
-		float[] hueColors = new float[numberOfColors];
-		for(int i=0; i < numberOfColors; i++) {
-			//to get rainbow, pastel colors
-			float hue = differenceValue*random.nextInt(numberOfColors);
-			float saturation = 0.9f;//1.0 for brilliant, 0.0 for dull
-			float luminance = 1.0f; //1.0 for brighter, 0.0 for black
-			classColors[i] = Color.getHSBColor(hue, saturation, luminance);
-			hueColors[i] = hue;
-			// If the colors are not that much different...
-			for(int j = 0; j < i; j++) {
-				if(hueColors[j] == hue) {
-					i--;
-					break;
+		int pendingCount = n;
+		double far = (getMaxCoordinate()-getMinCoordinate())*Math.sqrt(getDimensions());
+		double rad = Math.min(far, formulaRadius(n, NEAREST_MARGIN*want));
+		int rounds = 0;
+		String firstChoice = null;
+		while(pendingCount > 0) {
+			radius = rad;
+			distanceSq = rad*rad;
+			EdgeStrategy strategy = currentEdgeStrategy();
+			int threads = edgeThreads > 0 ? edgeThreads : chooseEdgeThreads(strategy);
+			if(firstChoice == null)
+				firstChoice = strategy + (threads == 1 ? " with 1 thread" : " with " + threads + " threads")
+					+ (edgeStrategy == EdgeStrategy.AUTOMATIC || edgeThreads == 0 ? " (automatic)" : "");
+			
+			final SpatialIndex index = findIndex(strategy, rad);
+			final int[] searching = pending;
+			final boolean everyPoint = rad >= far;
+			ParallelRange.forEach(pendingCount, threads <= 1 ? 1 : threads*4, new ParallelRange.Body() {
+				@Override
+				public void run(int chunk, int start, int end) {
+					ArrayList<Point> neighbors = new ArrayList<Point>();
+					NeighborHeap heap = new NeighborHeap(want);
+					for(int s = start; s < end; s++) {
+						int i = searching[s];
+						Point p = listOfPoints.get(i);
+						findNeighbors(index, p, neighbors);
+						if(neighbors.size() < want && !everyPoint)
+							continue;
+						heap.clear();
+						for(Point x : neighbors) {
+							heap.offer(p.distanceSq(x), x.id);
+						}
+						heap.copyIds(nearest, i*want);
+						Arrays.sort(nearest, i*want, (i+1)*want);
+						found[i] = true;
+					}
 				}
+			});
+			int left = 0;
+			for(int s = 0; s < pendingCount; s++) {
+				if(!found[pending[s]])
+					pending[left++] = pending[s];
 			}
+			pendingCount = left;
+			rad = Math.min(far, 2*rad);
+			rounds++;
 		}
+		edgeChoice = firstChoice + ", " + k + " nearest in " + rounds + (rounds == 1 ? " round" : " rounds");
 		
-		colorPointLists = new Object[numberOfColors];
-		for(int i = 0; i < numberOfColors; i++) {
-			colorPointLists[i] = new ArrayList<Point>();
+		// The points that have each point among their nearest neighbors, in order of ID
+		final int[] chosenByStart = new int[n+1];
+		for(int j = 0; j < nearest.length; j++) {
+			chosenByStart[nearest[j]+1]++;
 		}
-		for(Point p : listOfPoints) {
-			((ArrayList<Point>) colorPointLists[p.color]).add(p);
+		for(int i = 0; i < n; i++) {
+			chosenByStart[i+1] += chosenByStart[i];
 		}
+		final int[] chosenBy = new int[nearest.length];
+		int[] next = chosenByStart.clone();
+		for(int j = 0; j < nearest.length; j++) {
+			chosenBy[next[nearest[j]]++] = j/want;
+		}
+		
+		int threads = edgeThreads > 0 ? edgeThreads : chooseEdgeThreads(EdgeStrategy.GRID);
+		final int chunks = threads <= 1 ? 1 : threads*4;
+		final int[] chunkEdges = new int[chunks];
+		final int[] chunkMin = new int[chunks];
+		final int[] chunkMax = new int[chunks];
+		final double[] chunkLongest = new double[chunks];
+		ParallelRange.forEach(n, chunks, new ParallelRange.Body() {
+			@Override
+			public void run(int chunk, int start, int end) {
+				int edges = 0, min = Integer.MAX_VALUE, max = -1;
+				double longest = 0;
+				for(int i = start; i < end; i++) {
+					Point p = listOfPoints.get(i);
+					// Merge the two lists, which are both in order of ID
+					int a = i*want, aEnd = a+want;
+					int b = chosenByStart[i], bEnd = chosenByStart[i+1];
+					while(a < aEnd || b < bEnd) {
+						int id;
+						boolean both = a < aEnd && b < bEnd && nearest[a] == chosenBy[b];
+						if(both) {
+							id = nearest[a++];
+							b++;
+						}
+						else if(b >= bEnd || (a < aEnd && nearest[a] < chosenBy[b]))
+							id = nearest[a++];
+						else
+							id = chosenBy[b++];
+						if(!both && rule == NeighborRule.MUTUAL)
+							continue;
+						Point x = listOfPoints.get(id);
+						p.degree++;
+						p.addAdjacent(x);
+						edges++;
+						longest = Math.max(longest, p.distanceSq(x));
+					}
+					if(p.degree > max)
+						max = p.degree;
+					if(p.degree < min)
+						min = p.degree;
+				}
+				chunkEdges[chunk] = edges;
+				chunkMin[chunk] = min;
+				chunkMax[chunk] = max;
+				chunkLongest[chunk] = longest;
+			}
+		});
+		double longest = 0;
+		for(int c = 0; c < chunks; c++) {
+			totalEdges += chunkEdges[c];
+			if(chunkMax[c] > maxDegreeCount)
+				maxDegreeCount = chunkMax[c];
+			if(chunkMin[c] < minDegreeCount)
+				minDegreeCount = chunkMin[c];
+			longest = Math.max(longest, chunkLongest[c]);
+		}
+		distanceSq = longest;
+		radius = Math.sqrt(longest);
 	}
 	
 	/**
-	 * This prints the results of the SLO and coloring to a file
+	 * The sweep and the k-d tree do not look around the wrap of a periodic distribution or past
+	 * three dimensions, so the grid is used instead of them there.
 	 * 
-	 * @param file The name of the file to print to.
+	 * @return the strategy to find the edges of the points with
 	 */
-	public void printToFileDegreePlots(String file) {
-		FileWriter out;
-		try {
-			out = new FileWriter(file);
-			out.write("sep=,\r\n");
-			out.write("ID,Original Degree,Degree at Deletion,Distinct Colors Adjacent\r\n");
-			for(int i=0; i < vertexCount; i++) {
-				out.write(String.format("%d,%d,%d,%d\r\n",smallestLastOrder[i],originalDegree[i],degreeRemovedAt[i],listOfPoints.get(smallestLastOrder[i]).distinctAdjacentColors));
+	private EdgeStrategy currentEdgeStrategy() {
+		if(edgeStrategy == EdgeStrategy.AUTOMATIC)
+			return chooseEdgeStrategy();
+		if(onlyGrid() && (edgeStrategy == EdgeStrategy.SORT_SWEEP || edgeStrategy == EdgeStrategy.KD_TREE))
+			return EdgeStrategy.GRID;
+		return edgeStrategy;
+	}
+	
+	/**
+	 * @return true if the grid is the only index that can find the edges of this distribution
+	 */
+	private boolean onlyGrid() {
+		return isPeriodic() || getDimensions() > 3;
+	}
+	
+	/**
+	 * This picks the quickest way to find the edges from the number of points, the radius, the
+	 * distribution and a quick density sample. A sample of the points is compared against itself to
+	 * find how many points a search of each index would look at, which shows where the points are
+	 * packed closely, and the expected degree comes from the area formula of the distribution.
+	 * Each cost is weighed by how long that index was measured to take by EdgeStrategyBenchmark.
+	 * 
+	 * @return the strategy expected to find the edges of the points the quickest
+	 */
+	private EdgeStrategy chooseEdgeStrategy() {
+		int n = listOfPoints.size();
+		if(n <= BRUTE_FORCE_LIMIT)
+			return EdgeStrategy.BRUTE_FORCE;
+		int dimensions = getDimensions();
+		double span = getMaxCoordinate()-getMinCoordinate();
+		// The cells the same size as the SpatialGrid would make them
+		int maxPerAxis = (int) Math.pow(2*n, 1.0/dimensions);
+		int cellsPerAxis = radius > 0 ? (int) Math.min(span/radius, maxPerAxis) : maxPerAxis;
+		double cellSize = span/Math.max(1, cellsPerAxis);
+		
+		// Enough of a sample to find a few neighbors of each kind without taking longer than the edges
+		int s = (int) Math.min(n, Math.max(128, 2*Math.sqrt(n)));
+		int[][] cells = new int[s][dimensions];
+		double[] xs = new double[s];
+		for(int i = 0; i < s; i++) {
+			// The points are placed at random, so every n/s-th one is a fair sample
+			Point p = listOfPoints.get((int) ((long) i*n/s));
+			xs[i] = p.getX();
+			for(int a = 0; a < dimensions; a++) {
+				cells[i][a] = (int) ((p.coordinate(a)-getMinCoordinate())/cellSize);
+			}
+		}
+		long inStrip = 0, inBlock = 0;
+		for(int i = 0; i < s; i++) {
+			for(int j = 0; j < s; j++) {
+				if(j == i)
+					continue;
+				if(Math.abs(xs[i]-xs[j]) <= radius)
+					inStrip++;
+				boolean near = true;
+				for(int a = 0; a < dimensions && near; a++) {
+					near = Math.abs(cells[i][a]-cells[j][a]) <= 1;
+				}
+				if(near)
+					inBlock++;
+			}
+		}
+		// The other points each search looks at, out of all n points
+		double strip = (double) inStrip*n/((double) s*(s-1));
+		double block = (double) inBlock*n/((double) s*(s-1));
+		double degree = expectedAverageDegree(n, radius);
+		double log = Math.log(n)/Math.log(2);
+		
+		double bruteCost = BRUTE_PAIR*n;
+		double sweepCost = SWEEP_PAIR*strip + SWEEP_NEIGHBOR*degree + SWEEP_POINT;
+		double gridCost = GRID_PAIR*block + GRID_NEIGHBOR*degree + GRID_CELL*Math.pow(3, dimensions);
+		double treeCost = (TREE_NEIGHBOR_LEVEL*degree + TREE_LEVEL)*log;
+		EdgeStrategy best = EdgeStrategy.BRUTE_FORCE;
+		double bestCost = bruteCost;
+		if(onlyGrid())
+			sweepCost = treeCost = Double.MAX_VALUE;
+		if(sweepCost < bestCost) {
+			best = EdgeStrategy.SORT_SWEEP;
+			bestCost = sweepCost;
+		}
+		if(gridCost < bestCost) {
+			best = EdgeStrategy.GRID;
+			bestCost = gridCost;
+		}
+		if(treeCost < bestCost) {
+			best = EdgeStrategy.KD_TREE;
+			bestCost = treeCost;
+		}
+		return best;
+	}
+	
+	/**
+	 * @param strategy the strategy that will find the edges
+	 * @return the number of threads worth using, one unless there are enough points to keep each thread busy
+	 */
+	private int chooseEdgeThreads(EdgeStrategy strategy) {
+		int n = listOfPoints.size();
+		if(strategy == EdgeStrategy.BRUTE_FORCE || n < PARALLEL_LIMIT)
+			return 1;
+		return Math.max(1, Math.min(ParallelRange.getThreads(), n/(PARALLEL_LIMIT/2)));
+	}
+	
+	/**
+	 * @param strategy the strategy to make the index for
+	 * @param rad the radius the index will be searched with
+	 * @return the index over the points for the strategy, or null to measure every pair
+	 */
+	private SpatialIndex findIndex(EdgeStrategy strategy, double rad) {
+		switch(strategy) {
+		case GRID:
+			return createGridIndex(listOfPoints, rad, compactCoordinates);
+		case KD_TREE:
+			return new KDTree(listOfPoints, getDimensions());
+		case SORT_SWEEP:
+			return new SortedSweep(listOfPoints, getDimensions());
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * This puts points into a grid for finding the neighbors of each of them. Distributions with more than
+	 * three dimensions use a GridIndex, and the others a packed SpatialGrid.
+	 * 
+	 * @param points the points to put in the grid
+	 * @param rad the radius the grid will be searched with
+	 * @param compact true to pack a SpatialGrid with fixed point coordinates
+	 * @return the grid holding the points
+	 */
+	private SpatialIndex createGridIndex(ArrayList<Point> points, double rad, boolean compact) {
+		if(getDimensions() > 3)
+			return new GridIndex(points, getDimensions(), getMinCoordinate(), getMaxCoordinate(), rad);
+		SpatialGrid grid = createGrid(rad, points.size());
+		for(Point p : points) {
+			grid.add(p);
+		}
+		grid.pack(compact);
+		return grid;
+	}
+	
+	/**
+	 * A distribution with more than three dimensions gets a grid over its first two axes. It finds the
+	 * same neighbors, since the points measure their own distances when the grid is not packed, only
+	 * more slowly, and it still finds the points inside a part of the view.
+	 * 
+	 * @param rad the radius the grid will be searched with
+	 * @param n the expected number of points
+	 * @return an empty grid over the box of the distribution, which wraps around if the distribution does
+	 */
+	private SpatialGrid createGrid(double rad, int n) {
+		return new SpatialGrid(getMinCoordinate(), getMaxCoordinate(), rad, getDimensions() > 3 ? 2 : getDimensions(), n, isPeriodic());
+	}
+	
+	/**
+	 * This finds every point within the radius of a point, in order of ID.
+	 * 
+	 * @param index the index from findIndex, or null to measure every pair
+	 * @param p the point
+	 * @param neighbors the list that is cleared and then filled with the neighbors
+	 */
+	private void findNeighbors(SpatialIndex index, Point p, ArrayList<Point> neighbors) {
+		neighbors.clear();
+		if(index == null) {
+			for(Point x : listOfPoints) {
+				if(p != x && p.distanceSq(x) <= distanceSq)
+					neighbors.add(x);
+			}
+			return;
+		}
+		index.findNeighbors(p, distanceSq, neighbors);
+		Collections.sort(neighbors, ID_ORDER);
+	}
+	
+	/**
+	 * This removes every edge, leaving the points where they are.
+	 */
+	protected void clearEdges() {
+		for(Point p : listOfPoints) {
+			p.adjacencies.clear();
+			p.edgePrint.clear();
+			p.degree = 0;
+		}
+		totalEdges = 0;
+		minDegreeCount = vertexCount+1;
+		maxDegreeCount = -1;
+	}
+	
+	/**
+	 * @param strategy the way the edges are found the next time the points are created, or AUTOMATIC.
+	 * A periodic distribution uses GRID in place of SORT_SWEEP and KD_TREE.
+	 */
+	public void setEdgeStrategy(EdgeStrategy strategy) {
+		edgeStrategy = strategy;
+	}
+	
+	/**
+	 * @return the way the edges are found when the points are created
+	 */
+	public EdgeStrategy getEdgeStrategy() {
+		return edgeStrategy;
+	}
+	
+	/**
+	 * @param threads the number of threads to find the edges with, or 0 to pick it automatically
+	 */
+	public void setEdgeThreads(int threads) {
+		edgeThreads = threads;
+	}
+	
+	/**
+	 * @return the strategy and number of threads the edges were last found with, and whether they were picked automatically
+	 */
+	public String getEdgeChoice() {
+		return edgeChoice;
+	}
+	
+	/**
+	 * The next points created then keep their coordinates as 32 bit fixed point numbers in a FixedCoordinates
+	 * instead of as doubles, in half the memory, and so do the graph that can not be changed and the grid
+	 * used to find the edges. The locations are rounded to within 2^-31 of the width of the box, and every
+	 * edge strategy finds exactly the same edges between the rounded points.
+	 * 
+	 * @param compact True to keep the coordinates as fixed point numbers.
+	 */
+	public void setCompactCoordinates(boolean compact) {
+		compactCoordinates = compact;
+	}
+	
+	/**
+	 * @return true if the next points created keep their coordinates as fixed point numbers
+	 */
+	public boolean isCompactCoordinates() {
+		return compactCoordinates;
+	}
+	
+	/**
+	 * @param numbering the way the IDs are given to the points the next time they are created
+	 */
+	public void setVertexNumbering(VertexNumbering numbering) {
+		vertexNumbering = numbering;
+	}
+	
+	/**
+	 * @return the way the IDs are given to the points when they are created
+	 */
+	public VertexNumbering getVertexNumbering() {
+		return vertexNumbering;
+	}
+	
+	/**
+	 * @return the number of nearest neighbors each point was joined to, or 0 if the edges were made by the radius
+	 */
+	public int getNearestNeighbors() {
+		return nearestNeighbors;
+	}
+	
+	/**
+	 * @return the way the nearest neighbors were turned into edges
+	 */
+	public NeighborRule getNeighborRule() {
+		return neighborRule;
+	}
+	
+	/**
+	 * @param id The ID of a point.
+	 * @return the ID the point was generated or added with, before any renumbering
+	 */
+	public int getOriginalId(int id) {
+		return listOfPoints.get(id).originalId;
+	}
+	
+	/**
+	 * This creates the list of points once for a sweep over the radius.
+	 * Every candidate edge up to maxRad is measured a single time and sorted by its length,
+	 * so that setSweepRadius can produce the graph for any smaller radius by adding edges
+	 * in increasing length order without another distance pass. The graph starts with no edges.
+	 * Note that the dense rim disk places its rim according to maxRad.
+	 *
+	 * @param n the number of vertices for the RGG
+	 * @param maxRad the largest radius that will be swept to
+	 */
+	public void createPointsForSweep(int n, double maxRad) {
+		listOfPoints = new ArrayList<Point>();
+		distanceSq = maxRad*maxRad;
+		radius = maxRad;
+		vertexCount = n;
+		maxSweepRadius = maxRad;
+		resetDynamicState();
+
+		degreeRemovedAt = new int[vertexCount];
+		originalDegree  = new int[vertexCount];
+		smallestLastOrder = new int[vertexCount];
+
+		// Create the random points
+		createDistributionOfPoints();
+		numberPoints();
+
+		// Measure every pair once, keeping only the ones that can ever form an edge
+		int capacity = Math.max(16, n);
+		int[] from = new int[capacity];
+		int[] to = new int[capacity];
+		double[] lengthSq = new double[capacity];
+		int count = 0;
+		SpatialIndex index = findIndex(currentEdgeStrategy(), maxRad);
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		for(Point p : listOfPoints) {
+			findNeighbors(index, p, neighbors);
+			for(Point x : neighbors) {
+				if(x.id < p.id) // Each pair once
+					continue;
+				if(count == from.length) { // Grow the arrays when full
+					capacity = from.length*2;
+					from = Arrays.copyOf(from, capacity);
+					to = Arrays.copyOf(to, capacity);
+					lengthSq = Arrays.copyOf(lengthSq, capacity);
+				}
+				from[count] = p.id;
+				to[count] = x.id;
+				lengthSq[count] = p.distanceSq(x);
+				count++;
+			}
+		}
+		sortSweepEdges(from, to, lengthSq, count, distanceSq);
+		sweepEdgeCount = count;
+
+		// Start from the empty graph
+		sweepEdgesAdded = 0;
+		setSweepRadius(0);
+	}
+
+	/**
+	 * This finds the radius where the graph becomes connected and how the giant component grows
+	 * up to it. The points are made once by createPointsForSweep, and its sorted candidate edges are
+	 * added in increasing length into a ConnectivityAnalysis, so no radius needs createPoints again.
+	 * The graph is left with no edges, ready for setSweepRadius.
+	 * 
+	 * @param n the number of vertices for the RGG
+	 * @param maxRad the largest radius to look at, which should be past the expected connectivity radius
+	 * @return the components at every radius up to maxRad
+	 */
+	public ConnectivityAnalysis analyzeConnectivity(int n, double maxRad) {
+		createPointsForSweep(n, maxRad);
+		connectivity = new ConnectivityAnalysis(n, sweepEdgeFrom, sweepEdgeTo, sweepEdgeLengthSq, sweepEdgeCount, maxRad);
+		return connectivity;
+	}
+	
+	/**
+	 * @return the components over the radius from the last analyzeConnectivity, or null if there is none
+	 * for the current points
+	 */
+	public ConnectivityAnalysis getConnectivity() {
+		return connectivity;
+	}
+	
+	/**
+	 * This changes the radius of a graph made with createPointsForSweep.
+	 * Growing the radius only adds the next edges in length order. Shrinking it clears
+	 * the adjacency lists and adds the edges again from the shortest one, which is still
+	 * linear in the number of edges. The degree counts and totalEdges are updated to match.
+	 *
+	 * @param rad the new threshold to form an edge, no larger than the sweep maximum
+	 */
+	public void setSweepRadius(double rad) {
+		if(sweepEdgeLengthSq == null || rad > maxSweepRadius || rad < 0) {
+			throw new IllegalArgumentException("Radius " + rad + " is outside of the sweep range [0," + maxSweepRadius + "]");
+		}
+		double radSq = rad*rad;
+		if(sweepEdgesAdded > 0 && sweepEdgeLengthSq[sweepEdgesAdded-1] > radSq) {
+			// Going down in size, so start over with no edges
+			clearEdges();
+			sweepEdgesAdded = 0;
+		}
+		else if(sweepEdgesAdded == 0) {
+			totalEdges = 0;
+		}
+
+		// Add the edges in increasing length until the new radius is reached
+		while(sweepEdgesAdded < sweepEdgeCount && sweepEdgeLengthSq[sweepEdgesAdded] <= radSq) {
+			Point p = listOfPoints.get(sweepEdgeFrom[sweepEdgesAdded]);
+			Point x = listOfPoints.get(sweepEdgeTo[sweepEdgesAdded]);
+			p.degree++;
+			p.addAdjacent(x);
+			x.degree++;
+			x.addAdjacent(p);
+			totalEdges += 2;
+			sweepEdgesAdded++;
+		}
+
+		radius = rad;
+		distanceSq = radSq;
+		// The grid cells depend on the radius
+		immutableGraph = null;
+		coreDecomposition = null;
+		triangleStatistics = null;
+		spatialGrid = null;
+		orderingStale = true;
+		coloringStale = true;
+		minDegreeCount = vertexCount+1;
+		maxDegreeCount = -1;
+		for(Point p : listOfPoints) {
+			if(p.degree > maxDegreeCount)
+				maxDegreeCount = p.degree;
+			if(p.degree < minDegreeCount)
+				minDegreeCount = p.degree;
+		}
+	}
+
+	/**
+	 * This sorts the candidate edges of the sweep by their length and stores them.
+	 * The squared lengths are bucketed over [0,maxLengthSq] first, which is close to uniform
+	 * for the distributions here, and then each bucket is finished with an insertion sort.
+	 *
+	 * @param from The lower ID of each edge.
+	 * @param to The higher ID of each edge.
+	 * @param lengthSq The squared length of each edge.
+	 * @param count The number of edges in the arrays.
+	 * @param maxLengthSq The largest possible squared length.
+	 */
+	private void sortSweepEdges(int[] from, int[] to, double[] lengthSq, int count, double maxLengthSq) {
+		sweepEdgeFrom = new int[count];
+		sweepEdgeTo = new int[count];
+		sweepEdgeLengthSq = new double[count];
+		if(count == 0)
+			return;
+
+		int buckets = count;
+		int[] bucketStart = new int[buckets+1];
+		int[] bucketOf = new int[count];
+		for(int i = 0; i < count; i++) {
+			int b = maxLengthSq > 0 ? (int)(lengthSq[i]/maxLengthSq*buckets) : 0;
+			if(b >= buckets)
+				b = buckets-1;
+			bucketOf[i] = b;
+			bucketStart[b+1]++;
+		}
+		for(int b = 0; b < buckets; b++) {
+			bucketStart[b+1] += bucketStart[b];
+		}
+		// Place each edge in its bucket
+		for(int i = 0; i < count; i++) {
+			int at = bucketStart[bucketOf[i]]++;
+			sweepEdgeFrom[at] = from[i];
+			sweepEdgeTo[at] = to[i];
+			sweepEdgeLengthSq[at] = lengthSq[i];
+		}
+		// The buckets are in order, so an insertion sort only moves edges within a bucket
+		for(int i = 1; i < count; i++) {
+			double d = sweepEdgeLengthSq[i];
+			int f = sweepEdgeFrom[i];
+			int t = sweepEdgeTo[i];
+			int j = i-1;
+			while(j >= 0 && sweepEdgeLengthSq[j] > d) {
+				sweepEdgeLengthSq[j+1] = sweepEdgeLengthSq[j];
+				sweepEdgeFrom[j+1] = sweepEdgeFrom[j];
+				sweepEdgeTo[j+1] = sweepEdgeTo[j];
+				j--;
+			}
+			sweepEdgeLengthSq[j+1] = d;
+			sweepEdgeFrom[j+1] = f;
+			sweepEdgeTo[j+1] = t;
+		}
+	}
+
+	/**
+	 * This clears the state used for changing the graph after it was created.
+	 * It is called whenever a new set of points is made.
+	 */
+	protected void resetDynamicState() {
+		immutableGraph = null;
+		connectivity = null;
+		coreDecomposition = null;
+		triangleStatistics = null;
+		spatialGrid = null;
+		degreeHistogram = null;
+		orderingStale = true;
+		coloringStale = true;
+		pointsToRepair.clear();
+		colorSizes = null;
+		colorPointLists = null;
+		nearestNeighbors = 0;
+	}
+
+	/**
+	 * @return the number of dimensions used by the points of this distribution
+	 */
+	protected int getDimensions() {
+		return 2;
+	}
+
+	/**
+	 * @return the smallest coordinate value of the points along any axis
+	 */
+	protected double getMinCoordinate() {
+		return 0;
+	}
+
+	/**
+	 * @return the largest coordinate value of the points along any axis
+	 */
+	protected double getMaxCoordinate() {
+		return 1;
+	}
+	
+	/**
+	 * @return true if each side of the box is joined to the opposite one, so the points measure their
+	 * distances around it and the spatial grid has to look around it too
+	 */
+	protected boolean isPeriodic() {
+		return false;
+	}
+	
+	/**
+	 * This is the chance that two random points of the distribution are within rad of each other.
+	 * It comes from the area formula of the distribution, taking off the part of the circle around a
+	 * point that falls outside of the distribution near its boundary. The expected average degree of
+	 * n points is n-1 times it.
+	 * 
+	 * @param rad the threshold to form an edge
+	 * @return the chance that two points form an edge
+	 */
+	protected abstract double edgeProbability(double rad);
+	
+	/**
+	 * This is the gamma function at half of a whole number, which comes up in the volume of a ball
+	 * and the edge probabilities of distributions with any number of dimensions.
+	 * 
+	 * @param k twice the argument, at least 1
+	 * @return gamma(k/2)
+	 */
+	protected static double gammaOfHalf(int k) {
+		double gamma = k % 2 == 0 ? 1 : Math.sqrt(Math.PI);
+		for(int j = 2 - k % 2; j < k; j += 2) {
+			gamma *= j/2.0;
+		}
+		return gamma;
+	}
+	
+	/**
+	 * @return true if the points are placed according to the radius, so points made for one radius
+	 * can not stand for the points of another
+	 */
+	protected boolean placementDependsOnRadius() {
+		return false;
+	}
+	
+	/**
+	 * @param n the number of vertices
+	 * @param rad the threshold to form an edge
+	 * @return the average degree expected from the area formula of the distribution
+	 */
+	public double expectedAverageDegree(int n, double rad) {
+		return (n-1)*edgeProbability(rad);
+	}
+	
+	/**
+	 * This picks the radius that gives n points an average degree, before any graph is made.
+	 * The area formula of the distribution gives a first radius. Then a few samples of the points are placed,
+	 * and the radius is refined to the length of the pair in the samples that gives the same share of
+	 * pairs as edges. The samples are just big enough that the average degree should be within the tolerance,
+	 * so a graph with millions of points needs samples in the tens of thousands.
+	 * The points of the graph are not changed.
+	 * 
+	 * @param n the number of vertices the graph will have
+	 * @param averageDegree the average degree wanted
+	 * @param tolerance how far off the average degree may be, as a share of it, such as 0.02
+	 * @return the radius to pass to createPoints
+	 */
+	public double estimateRadius(int n, double averageDegree, double tolerance) {
+		if(n < 2 || averageDegree <= 0)
+			return 0;
+		double probability = Math.min(1, averageDegree/(n-1));
+		double rad = formulaRadius(n, averageDegree);
+		
+		// A count of k pairs would be off by about its square root if the pairs were independent, but pairs
+		// sharing a point are not, so take enough pairs that four times that is inside the tolerance
+		double pairsNeeded = 16/(tolerance*tolerance);
+		// Several samples, since one can be off as a whole, such as the disk with too few points near its center
+		int samples = 4;
+		int m = (int) Math.min(n, Math.ceil(Math.sqrt(2*pairsNeeded/(samples*probability)))+1);
+		samples = (int) Math.max(samples, Math.ceil(pairsNeeded/(probability*m*(m-1.0)/2)));
+		long k = Math.max(1, Math.round(probability*samples*m*(m-1.0)/2));
+		for(int attempt = 0; attempt < 8; attempt++) {
+			ArrayList<ArrayList<Point>> placed = new ArrayList<ArrayList<Point>>();
+			for(int i = 0; i < samples; i++) {
+				placed.add(samplePoints(m, rad));
+			}
+			double sampled = pairLength(placed, k, rad);
+			boolean settled = Math.abs(sampled-rad) <= rad*tolerance/4;
+			rad = sampled;
+			// Only a distribution placed by the radius needs a new sample for the new radius
+			if(!placementDependsOnRadius() || settled)
+				break;
+		}
+		return rad;
+	}
+	
+	/**
+	 * The chance of an edge grows with the radius, so the area formula can be turned around by halving.
+	 * 
+	 * @param n the number of vertices
+	 * @param averageDegree the average degree wanted
+	 * @return the radius the area formula of the distribution gives the average degree at, or 0 if there is no edge to make
+	 */
+	private double formulaRadius(int n, double averageDegree) {
+		if(n < 2 || averageDegree <= 0)
+			return 0;
+		double probability = Math.min(1, averageDegree/(n-1));
+		double low = 0;
+		double high = (getMaxCoordinate()-getMinCoordinate())*Math.sqrt(getDimensions());
+		for(int i = 0; i < 60; i++) {
+			double mid = (low+high)/2;
+			if(edgeProbability(mid) < probability)
+				low = mid;
+			else
+				high = mid;
+		}
+		return high;
+	}
+	
+	/**
+	 * This places m points of the distribution without changing the points of the graph.
+	 * 
+	 * @param m the number of points
+	 * @param rad the radius to place them for
+	 * @return the points
+	 */
+	private ArrayList<Point> samplePoints(int m, double rad) {
+		ArrayList<Point> sample = new ArrayList<Point>(m);
+		createDistributionOfPoints(sample, m, rad);
+		return sample;
+	}
+	
+	/**
+	 * This finds the length of the k-th shortest pair of points, taking the pairs of every sample
+	 * together. The pairs are found through a SpatialGrid, starting a little past the guess and
+	 * looking further until there are k of them.
+	 * 
+	 * @param samples the samples of points
+	 * @param k which pair, from 1
+	 * @param guess a length near the answer
+	 * @return the length of the k-th shortest pair
+	 */
+	private double pairLength(ArrayList<ArrayList<Point>> samples, long k, double guess) {
+		double diameter = (getMaxCoordinate()-getMinCoordinate())*Math.sqrt(getDimensions());
+		int m = samples.get(0).size();
+		double search = guess > 0 ? guess*1.25 : diameter/Math.sqrt(m);
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		while(true) {
+			double[] lengthSq = new double[16];
+			int count = 0;
+			for(ArrayList<Point> sample : samples) {
+				SpatialIndex grid = createGridIndex(sample, search, false);
+				for(Point p : sample) {
+					neighbors.clear();
+					grid.findNeighbors(p, search*search, neighbors);
+					for(Point x : neighbors) {
+						if(x.id > p.id) { // Each pair once
+							if(count == lengthSq.length)
+								lengthSq = Arrays.copyOf(lengthSq, count*2);
+							lengthSq[count++] = p.distanceSq(x);
+						}
+					}
+				}
+			}
+			if(count >= k || search >= diameter) {
+				Arrays.sort(lengthSq, 0, count);
+				return Math.sqrt(lengthSq[(int) Math.min(k, count)-1]);
+			}
+			search *= 2;
+		}
+	}
+
+	/**
+	 * This creates a point for the distribution at the given location, without an ID.
+	 *
+	 * @param x The real_x location.
+	 * @param y The real_y location.
+	 * @param z The real_z location, ignored by the 2D distributions.
+	 * @return the new point
+	 */
+	protected Point createPointAt(double x, double y, double z) {
+		Point p = new DoublePoint();
+		placePoint(p, x, y, z);
+		return p;
+	}
+
+	/**
+	 * This changes the real location of a point.
+	 *
+	 * @param p The point to place.
+	 * @param x The real_x location.
+	 * @param y The real_y location.
+	 * @param z The real_z location, ignored by the 2D distributions.
+	 */
+	protected void placePoint(Point point, double x, double y, double z) {
+		DoublePoint p = (DoublePoint) point;
+		p.real_x = x;
+		p.real_y = y;
+		p.d = x*x+y*y;
+	}
+
+	/**
+	 * This returns the spatial grid of the points, building it the first time it is needed.
+	 * The grid is used for the dynamic updates and for finding the points inside a part of
+	 * the graph when a zoomed in view is drawn.
+	 *
+	 * @return the spatial grid holding every point
+	 */
+	public synchronized SpatialGrid getSpatialGrid() {
+		if(spatialGrid == null) {
+			spatialGrid = createGrid(radius, listOfPoints.size());
+			for(Point p : listOfPoints) {
+				spatialGrid.add(p);
+			}
+		}
+		return spatialGrid;
+	}
+
+	/**
+	 * This builds the spatial grid and degree counts the first time the graph is changed.
+	 * Any radius sweep is ended, because the IDs of the points may change.
+	 */
+	private void prepareDynamicUpdates() {
+		if(nearestNeighbors > 0)
+			throw new IllegalStateException("A graph of the " + nearestNeighbors + " nearest neighbors can not be changed a point at a time");
+		immutableGraph = null;
+		coreDecomposition = null;
+		triangleStatistics = null;
+		getSpatialGrid();
+		if(degreeHistogram == null) {
+			degreeHistogram = new int[Math.max(maxDegreeCount, 0)+2];
+			for(Point p : listOfPoints) {
+				degreeHistogram[p.degree]++;
+			}
+			updateDegreeBounds();
+		}
+		sweepEdgeLengthSq = null;
+		orderingStale = true;
+		coloringStale = true;
+	}
+
+	/**
+	 * This moves a point from its old degree count to its new one.
+	 *
+	 * @param p The point whose degree is changing.
+	 * @param change The amount to add to the degree.
+	 */
+	private void changeDegree(Point p, int change) {
+		degreeHistogram[p.degree]--;
+		p.degree += change;
+		if(p.degree >= degreeHistogram.length)
+			degreeHistogram = Arrays.copyOf(degreeHistogram, degreeHistogram.length*2);
+		degreeHistogram[p.degree]++;
+		if(p.degree > maxDegreeCount)
+			maxDegreeCount = p.degree;
+		if(p.degree < minDegreeCount)
+			minDegreeCount = p.degree;
+	}
+
+	/**
+	 * This moves the minimum and maximum degree to the nearest degrees that still have a vertex.
+	 * Degrees only change by one at a time, so this only steps a short way.
+	 */
+	private void updateDegreeBounds() {
+		if(maxDegreeCount >= degreeHistogram.length)
+			maxDegreeCount = degreeHistogram.length-1;
+		while(maxDegreeCount >= 0 && degreeHistogram[maxDegreeCount] == 0)
+			maxDegreeCount--;
+		if(maxDegreeCount < 0) { // No vertices left
+			minDegreeCount = vertexCount+1;
+			return;
+		}
+		if(minDegreeCount > maxDegreeCount)
+			minDegreeCount = 0;
+		while(degreeHistogram[minDegreeCount] == 0)
+			minDegreeCount++;
+	}
+
+	/**
+	 * This adds an edge between two points that are not yet adjacent.
+	 *
+	 * @param p The first point.
+	 * @param x The second point.
+	 */
+	private void addEdge(Point p, Point x) {
+		changeDegree(p, 1);
+		changeDegree(x, 1);
+		p.addAdjacent(x);
+		x.addAdjacent(p);
+		totalEdges += 2;
+	}
+
+	/**
+	 * This removes the edge between two adjacent points.
+	 *
+	 * @param p The first point.
+	 * @param x The second point.
+	 */
+	private void removeEdge(Point p, Point x) {
+		p.adjacencies.remove(x);
+		x.adjacencies.remove(p);
+		if(p.id < x.id)
+			p.edgePrint.remove(x);
+		else
+			x.edgePrint.remove(p);
+		changeDegree(p, -1);
+		changeDegree(x, -1);
+		totalEdges -= 2;
+	}
+
+	/**
+	 * This adds a new point to a 2D graph and connects it to every point within the radius.
+	 *
+	 * @param x The real_x location.
+	 * @param y The real_y location.
+	 * @return the new point, with an ID equal to the old vertex count
+	 */
+	public Point addPoint(double x, double y) {
+		return addPoint(x, y, 0);
+	}
+
+	/**
+	 * This adds a new point to the graph and connects it to every point within the radius.
+	 * Only the cells of the spatial grid around the point are searched.
+	 * The smallest last ordering and color classes are marked stale.
+	 *
+	 * @param x The real_x location.
+	 * @param y The real_y location.
+	 * @param z The real_z location, ignored by the 2D distributions.
+	 * @return the new point, with an ID equal to the old vertex count
+	 */
+	public Point addPoint(double x, double y, double z) {
+		prepareDynamicUpdates();
+		Point p = createPointAt(x, y, z);
+		if(fixedCoordinates != null)
+			p = new FixedPoint(fixedCoordinates, p);
+		p.id = listOfPoints.size();
+		p.originalId = nextOriginalId++;
+		listOfPoints.add(p);
+		vertexCount++;
+		degreeHistogram[0]++;
+		minDegreeCount = 0;
+		if(maxDegreeCount < 0)
+			maxDegreeCount = 0;
+
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		spatialGrid.findNeighbors(p, distanceSq, neighbors);
+		for(Point q : neighbors) {
+			addEdge(p, q);
+		}
+		spatialGrid.add(p);
+		updateDegreeBounds();
+		markForRepair(p);
+		return p;
+	}
+
+	/**
+	 * This removes a point and all of its edges from the graph.
+	 * To keep the IDs equal to the positions in the list of points, the point with the
+	 * highest ID takes over the ID of the removed one.
+	 * The smallest last ordering and color classes are marked stale.
+	 *
+	 * @param id The ID of the point to remove.
+	 */
+	public void removePoint(int id) {
+		prepareDynamicUpdates();
+		Point p = listOfPoints.get(id);
+		if(colorSizes != null && p.color != -1) {
+			// The old neighbors may be able to take a lower color now
+			for(Point q : p.adjacencies) {
+				pointsToRepair.add(q);
+			}
+			removeFromColorClass(p);
+			changesSinceFullColoring++;
+		}
+		while(!p.adjacencies.isEmpty()) {
+			removeEdge(p, p.adjacencies.get(p.adjacencies.size()-1));
+		}
+		spatialGrid.remove(p);
+		degreeHistogram[p.degree]--;
+		if(p instanceof FixedPoint)
+			((FixedPoint) p).release();
+
+		int lastId = listOfPoints.size()-1;
+		Point last = listOfPoints.remove(lastId);
+		if(last != p) {
+			// The last point had the highest ID, so all of its edges were printed by the other side.
+			// With its new lower ID, some of them now have to be printed from it instead.
+			last.id = id;
+			listOfPoints.set(id, last);
+			for(Point q : last.adjacencies) {
+				if(q.id > id) {
+					q.edgePrint.remove(last);
+					last.edgePrint.add(q);
+				}
+			}
+		}
+		vertexCount--;
+		updateDegreeBounds();
+	}
+
+	/**
+	 * This moves a point of a 2D graph to a new location and updates its edges.
+	 *
+	 * @param id The ID of the point to move.
+	 * @param x The new real_x location.
+	 * @param y The new real_y location.
+	 */
+	public void movePoint(int id, double x, double y) {
+		movePoint(id, x, y, 0);
+	}
+
+	/**
+	 * This moves a point to a new location and updates its edges.
+	 * Edges to old neighbors that are now out of range are removed, and the spatial grid
+	 * is searched around the new location for the new neighbors.
+	 * The smallest last ordering and color classes are marked stale.
+	 *
+	 * @param id The ID of the point to move.
+	 * @param x The new real_x location.
+	 * @param y The new real_y location.
+	 * @param z The new real_z location, ignored by the 2D distributions.
+	 */
+	public void movePoint(int id, double x, double y, double z) {
+		prepareDynamicUpdates();
+		Point p = listOfPoints.get(id);
+		spatialGrid.remove(p);
+		if(p instanceof FixedPoint)
+			((FixedPoint) p).setLocation(createPointAt(x, y, z));
+		else
+			placePoint(p, x, y, z);
+
+		if(neighborMarks == null || neighborMarks.length < listOfPoints.size())
+			neighborMarks = new int[listOfPoints.size()*2];
+		markStamp++;
+		// Drop the old neighbors that are now too far away and mark the ones that stay
+		for(int i = p.adjacencies.size()-1; i >= 0; i--) {
+			Point q = p.adjacencies.get(i);
+			if(p.distanceSq(q) <= distanceSq)
+				neighborMarks[q.id] = markStamp;
+			else
+				removeEdge(p, q);
+		}
+		// Connect to the new neighbors
+		ArrayList<Point> neighbors = new ArrayList<Point>();
+		spatialGrid.findNeighbors(p, distanceSq, neighbors);
+		for(Point q : neighbors) {
+			if(neighborMarks[q.id] != markStamp)
+				addEdge(p, q);
+		}
+		spatialGrid.add(p);
+		updateDegreeBounds();
+		markForRepair(p);
+	}
+
+	/**
+	 * This remembers a point whose color may no longer be valid after a change.
+	 * Nothing is kept if the graph has not been colored yet.
+	 *
+	 * @param p The point to check in the next repairColoring.
+	 */
+	private void markForRepair(Point p) {
+		if(colorSizes != null) {
+			pointsToRepair.add(p);
+			changesSinceFullColoring++;
+		}
+	}
+
+	/**
+	 * This takes a point out of its color class.
+	 * Empty classes at the top of the color range are dropped.
+	 *
+	 * @param p The point to take out.
+	 */
+	@SuppressWarnings("unchecked")
+	private void removeFromColorClass(Point p) {
+		colorSizes[p.color]--;
+		((ArrayList<Point>) colorPointLists[p.color]).remove(p);
+		p.color = -1;
+		int colors = numberOfColors;
+		while(colors > 0 && colorSizes[colors-1] == 0)
+			colors--;
+		if(colors != numberOfColors)
+			resizeColorClasses(colors);
+	}
+
+	/**
+	 * This puts a point in a color class, making a new class if needed.
+	 *
+	 * @param p The point to color.
+	 * @param color The color to give it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void addToColorClass(Point p, int color) {
+		if(color >= numberOfColors)
+			resizeColorClasses(color+1);
+		p.color = color;
+		colorSizes[color]++;
+		((ArrayList<Point>) colorPointLists[color]).add(p);
+	}
+
+	/**
+	 * This changes the number of color classes, keeping the ones that remain.
+	 * New classes get a new random display color.
+	 *
+	 * @param colors The new number of colors.
+	 */
+	private void resizeColorClasses(int colors) {
+		colorSizes = Arrays.copyOf(colorSizes, colors);
+		colorPointLists = Arrays.copyOf(colorPointLists, colors);
+		Random random = new Random();
+		Color[] oldColors = classColors;
+		classColors = Arrays.copyOf(classColors, colors);
+		for(int i = oldColors.length; i < colors; i++) {
+			colorPointLists[i] = new ArrayList<Point>();
+			classColors[i] = Color.getHSBColor(random.nextFloat(), 0.9f, 1.0f);
+		}
+		numberOfColors = colors;
+	}
+
+	/**
+	 * This finds the smallest color not used by any neighbor of a point.
+	 *
+	 * @param p The point to look around.
+	 * @param ignore A neighbor to leave out, or null.
+	 * @return the smallest free color, which may be numberOfColors if every color is taken
+	 */
+	private int smallestFreeColor(Point p, Point ignore) {
+		if(colorMarks == null || colorMarks.length < numberOfColors+1)
+			colorMarks = new int[numberOfColors*2+1];
+		colorStamp++;
+		for(Point x : p.adjacencies) {
+			if(x != ignore && x.color != -1)
+				colorMarks[x.color] = colorStamp;
+		}
+		int color = 0;
+		while(colorMarks[color] == colorStamp)
+			color++;
+		return color;
+	}
+
+	/**
+	 * This repairs the coloring after points were added, removed or moved.
+	 * Only the points touched by the changes are looked at. A moved or new point that
+	 * clashes with a neighbor is given the smallest free color. If that would need a new
+	 * color, a neighbor that is alone in its color class around the point is moved to another
+	 * existing color first. Neighbors of a removed point drop to a lower color when they can.
+	 * The color count is then compared against the last full coloring, see isFullRecolorRecommended.
+	 *
+	 * @return the number of points whose color changed
+	 */
+	public int repairColoring() {
+		int recolored = 0;
+		for(int i = 0; i < pointsToRepair.size(); i++) {
+			Point p = pointsToRepair.get(i);
+			// Skip points that were removed after they were marked
+			if(p.id >= listOfPoints.size() || listOfPoints.get(p.id) != p)
+				continue;
+
+			boolean invalid = p.color == -1;
+			for(int j = 0; !invalid && j < p.adjacencies.size(); j++) {
+				if(p.adjacencies.get(j).color == p.color)
+					invalid = true;
+			}
+			int color = smallestFreeColor(p, null);
+			if(invalid) {
+				if(color >= numberOfColors)
+					color = freeColorFromNeighbor(p, color);
+			}
+			else if(color >= p.color) {
+				continue; // Still valid and no lower color is free
+			}
+			if(p.color != -1)
+				removeFromColorClass(p);
+			addToColorClass(p, color);
+			p.distinctAdjacentColors = countDistinctAdjacentColors(p);
+			recolored++;
+		}
+		pointsToRepair.clear();
+		coloringStale = false;
+		return recolored;
+	}
+
+	/**
+	 * This tries to avoid a new color for a point by recoloring one of its neighbors.
+	 * A color that only one neighbor uses is freed if that neighbor can take another
+	 * existing color.
+	 *
+	 * @param p The point that needs a color.
+	 * @param newColor The new color it would otherwise get.
+	 * @return the color to give the point
+	 */
+	private int freeColorFromNeighbor(Point p, int newColor) {
+		int[] users = new int[numberOfColors];
+		for(Point x : p.adjacencies) {
+			if(x.color != -1)
+				users[x.color]++;
+		}
+		for(Point x : p.adjacencies) {
+			if(x.color == -1 || users[x.color] != 1)
+				continue;
+			int other = smallestFreeColor(x, p);
+			// The point p will take the color x has now, so x needs a different one
+			if(other == x.color) {
+				colorStamp++;
+				for(Point y : x.adjacencies) {
+					if(y != p && y.color != -1)
+						colorMarks[y.color] = colorStamp;
+				}
+				colorMarks[x.color] = colorStamp;
+				other = 0;
+				while(other < numberOfColors && colorMarks[other] == colorStamp)
+					other++;
+			}
+			if(other < numberOfColors) {
+				int freed = x.color;
+				removeFromColorClass(x);
+				addToColorClass(x, other);
+				x.distinctAdjacentColors = countDistinctAdjacentColors(x);
+				return freed;
+			}
+		}
+		return newColor;
+	}
+
+	/**
+	 * @param p The point to look around.
+	 * @return the number of distinct colors among the colored neighbors of the point
+	 */
+	private int countDistinctAdjacentColors(Point p) {
+		colorStamp++;
+		int distinct = 0;
+		for(Point x : p.adjacencies) {
+			if(x.color != -1 && colorMarks[x.color] != colorStamp) {
+				colorMarks[x.color] = colorStamp;
+				distinct++;
+			}
+		}
+		return distinct;
+	}
+
+	/**
+	 * This places the points of the graph itself for its current size and radius. If the coordinates
+	 * are kept compact, each point is then swapped for a FixedPoint at the same location, rounded to
+	 * the nearest step, and only the fixed point coordinates are kept.
+	 */
+	protected void createDistributionOfPoints() {
+		createDistributionOfPoints(listOfPoints, vertexCount, radius);
+		fixedCoordinates = null;
+		if(compactCoordinates) {
+			fixedCoordinates = new FixedCoordinates(getDimensions(), getMinCoordinate(), getMaxCoordinate(), isPeriodic(), listOfPoints.size());
+			for(int i = 0; i < listOfPoints.size(); i++) {
+				Point p = listOfPoints.get(i);
+				Point compact = new FixedPoint(fixedCoordinates, p);
+				compact.id = p.id;
+				listOfPoints.set(i, compact);
+			}
+		}
+	}
+	
+	/**
+	 * This abstract method changes for each subclass distribution type. It only adds to the
+	 * given list, so samples can be placed without touching the fields of the graph.
+	 * 
+	 * @param points the list to add the new points to
+	 * @param n the number of points to place
+	 * @param rad the radius the points are placed for
+	 */
+	protected abstract void createDistributionOfPoints(ArrayList<Point> points, int n, double rad);
+	
+	/**
+	 * @return the name of the distribution in String form
+	 */
+	public abstract String distributionType();
+	
+	/**
+	 * This creates the smallest last ordering of the list of points in the graph.
+	 * This method also stores the degree when deleted for the points, and the order they were deleted in.
+	 * 
+	 * @return the new ordering
+	 */
+	public Ordering createSmallestLastOrdering() {
+		return createOrdering(new SmallestLastOrdering());
+	}
+	
+	/**
+	 * This orders the points in the graph with any strategy. The coloring, the second bipartite method
+	 * and the reports all use the last ordering made.
+	 * This method also stores the number of neighbors before each point in the order, which for the smallest
+	 * last ordering is the degree when deleted.
+	 * The ordering is made from the graph that can not be changed, so the points are not touched.
+	 * 
+	 * @param strategy The way to order the vertices.
+	 * @return the new ordering
+	 */
+	public Ordering createOrdering(VertexOrdering strategy) {
+		// The graph may have changed size since the points were created
+		if(smallestLastOrder == null || smallestLastOrder.length != vertexCount) {
+			degreeRemovedAt = new int[vertexCount];
+			originalDegree  = new int[vertexCount];
+			smallestLastOrder = new int[vertexCount];
+		}
+		orderingStale = false;
+		ordering = strategy.order(getImmutableGraph());
+		orderingName = strategy.getName();
+		orderingStrategy = strategy;
+		
+		// Create the degree distribution
+		degreeDistribution = new int[maxDegreeCount+1];
+		for(Point p : listOfPoints) {
+			degreeDistribution[p.degree]++;
+		}
+		for(int j = 0; j < vertexCount; j++) {
+			smallestLastOrder[j] = ordering.vertexAt(j);
+			degreeRemovedAt[j] = ordering.degreeRemovedAt(j);
+			originalDegree[j] = listOfPoints.get(smallestLastOrder[j]).degree;
+		}
+		return ordering;
+	}
+	
+	/**
+	 * This colors the vertices using the last ordering, or SLO if there is none. If the graph has changed
+	 * since the ordering was made, it is made again with the same strategy first.
+	 * The coloring is made by Coloring from the graph that can not be changed, and then copied on to
+	 * the points so it can be shown and repaired.
+	 * 
+	 * @return the new coloring
+	 */
+	public Coloring createColorClasses() {
+		refreshOrdering();
+		useColoring(Coloring.greedy(getImmutableGraph(), ordering), "Greedy");
+		return coloring;
+	}
+	
+	/**
+	 * This colors the vertices with DSATUR instead of going through an ordering.
+	 * It fills the same color classes as createColorClasses, so the bipartite methods can use it the same way.
+	 * The second bipartite method still needs an ordering, so SLO is made if there is none, and
+	 * the last ordering is made again if the graph has changed since.
+	 * 
+	 * @return the new coloring
+	 */
+	public Coloring createDsaturColorClasses() {
+		refreshOrdering();
+		useColoring(Coloring.dsatur(getImmutableGraph()), "DSATUR");
+		return coloring;
+	}
+	
+	/**
+	 * The ordering has to match the points and edges as they are now. If there is no ordering, SLO is made,
+	 * and if the graph has changed since the last one was made, it is made again with the same strategy.
+	 */
+	private void refreshOrdering() {
+		if(ordering == null || orderingStrategy == null)
+			createSmallestLastOrdering();
+		else if(orderingStale || ordering.size() != listOfPoints.size())
+			createOrdering(orderingStrategy);
+	}
+	
+	/**
+	 * This makes a full coloring the one the graph shows. The colors are copied on to the points,
+	 * and the color class sizes, display colors and lists of points in each class are made again.
+	 * 
+	 * @param newColoring The coloring of the points as they are now.
+	 * @param name The name of the engine that made it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void useColoring(Coloring newColoring, String name) {
+		coloringStale = false;
+		pointsToRepair.clear();
+		changesSinceFullColoring = 0;
+		coloring = newColoring;
+		coloringName = name;
+		for(Point p : listOfPoints) {
+			p.color = coloring.colorOf(p.id);
+			p.distinctAdjacentColors = coloring.distinctAdjacentColors(p.id);
+		}
+		numberOfColors = coloring.getNumberOfColors();
+		fullColoringColorCount = numberOfColors;
+		colorSizes = new int[numberOfColors];
+		// Create the size of each color set
+		for(Point p : listOfPoints) {
+			colorSizes[p.color]++;
+		}
+		// Create the random colors for them
+		classColors = new Color[numberOfColors];
+		Random random = new Random();
+		float differenceValue = 1.0f/(float) numberOfColors;
+		float[] hueColors = new float[numberOfColors];
+		for(int i=0; i < numberOfColors; i++) {
+			//to get rainbow, pastel colors
+			float hue = differenceValue*random.nextInt(numberOfColors);
+			float saturation = 0.9f;//1.0 for brilliant, 0.0 for dull
+			float luminance = 1.0f; //1.0 for brighter, 0.0 for black
+			classColors[i] = Color.getHSBColor(hue, saturation, luminance);
+			hueColors[i] = hue;
+			// If the colors are not that much different...
+			for(int j = 0; j < i; j++) {
+				if(hueColors[j] == hue) {
+					i--;
+					break;
+				}
+			}
+		}
+		
+		colorPointLists = new Object[numberOfColors];
+		for(int i = 0; i < numberOfColors; i++) {
+			colorPointLists[i] = new ArrayList<Point>();
+		}
+		for(Point p : listOfPoints) {
+			((ArrayList<Point>) colorPointLists[p.color]).add(p);
+		}
+	}
+	
+	/**
+	 * This prints the results of the SLO and coloring to a file
+	 * 
+	 * @param file The name of the file to print to.
+	 */
+	public void printToFileDegreePlots(String file) {
+		FileWriter out;
+		try {
+			out = new FileWriter(file);
+			out.write("sep=,\r\n");
+			out.write("ID,Original Degree,Degree at Deletion,Distinct Colors Adjacent\r\n");
+			for(int i=0; i < vertexCount; i++) {
+				out.write(String.format("%d,%d,%d,%d\r\n",getOriginalId(smallestLastOrder[i]),originalDegree[i],degreeRemovedAt[i],listOfPoints.get(smallestLastOrder[i]).distinctAdjacentColors));
 			}
 			out.close();
 		} catch (IOException e) {
@@ -527,102 +2334,97 @@ public abstract class RandomGeometricGraph {
 		}
 	}
 	
+	/**
+	 * This prints the number of vertices with each core number.
+	 * 
+	 * @param file The name of the file to print to.
+	 */
+	public void printToFileCoreDistribution(String file) {
+		int[] distribution = getCoreDecomposition().coreDistribution();
+		FileWriter out;
+		try {
+			out = new FileWriter(file);
+			out.write("sep=,\r\n");
+			out.write("Core,Vertex Count\r\n");
+			for(int i=0; i < distribution.length; i++) {
+				out.write(String.format("%d,%d\r\n",i,distribution[i]));
+			}
+			out.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * This prints the number of triangles and the clustering coefficient of each point.
+	 * 
+	 * @param file The name of the file to print to.
+	 */
+	public void printToFileTriangles(String file) {
+		TriangleStatistics triangles = getTriangleStatistics();
+		FileWriter out;
+		try {
+			out = new FileWriter(file);
+			out.write("sep=,\r\n");
+			out.write("ID,Degree,Triangles,Clustering Coefficient\r\n");
+			for(int i=0; i < triangles.size(); i++) {
+				out.write(String.format("%d,%d,%d,%.4f\r\n",getOriginalId(i),listOfPoints.get(i).degree,triangles.trianglesOf(i),triangles.clusteringOf(i)));
+			}
+			out.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * This prints the number of components and the size of the giant component at every radius
+	 * where they change, from the last analyzeConnectivity.
+	 * 
+	 * @param file The name of the file to print to.
+	 */
+	public void printToFileConnectivity(String file) {
+		FileWriter out;
+		try {
+			out = new FileWriter(file);
+			out.write("sep=,\r\n");
+			out.write("Radius,Components,Giant Component Size\r\n");
+			out.write(String.format("%.6f,%d,%d\r\n",0.0,connectivity.getVertexCount(),connectivity.giantComponentAt(0)));
+			for(int i=0; i < connectivity.getStepCount(); i++) {
+				out.write(String.format("%.6f,%d,%d\r\n",connectivity.getStepRadius(i),connectivity.getStepComponents(i),connectivity.getStepGiant(i)));
+			}
+			out.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
 	/**
 	 * Tries to create the bipartites according to the first method.
 	 * It uses the color classes as the independent sets in the bipartite, and then
 	 * cycles through the second, third and fourth to create six possible bipartites.
+	 * The bipartites are made by BipartiteSummary from the current colors and copied into the arrays here.
 	 * 
 	 * @return true if the method created bipartites, false if otherwise.
 	 */
-	@SuppressWarnings("unchecked")
 	public boolean createFirstBipartites() {
-		// Four largest are always 1, 2, 3, 4...right?
-		if(numberOfColors >= 4) {
-			vertexCountForBipartiteI = new int[6];
-			edgesForBipartiteI = new int[6];
-			componentsForBipartiteI = new int[6];
-			facesForBipartiteI = new int[6];
-			
-			// Find the four largest vertices
-			fourLargestIndex = new int[]{0,1,2,3};
-			int[] copyOf4 = new int[4];
-			copyOf4[0] = colorSizes[0];
-			copyOf4[1] = colorSizes[1];
-			copyOf4[2] = colorSizes[2];
-			copyOf4[3] = colorSizes[3];
-			for(int i =0; i < 4; i++) {
-				int maxIndex = 0;
-				for(int j = 1; j < 4; j++) {
-					if(copyOf4[j] > copyOf4[maxIndex]){
-						maxIndex = j;
-					}
-				}
-				copyOf4[maxIndex] = -1;
-				fourLargestIndex[i] = maxIndex;
-			}
-			
-			for(int i = 4; i < colorSizes.length; i++) {
-				if(colorSizes[i] > colorSizes[fourLargestIndex[0]]) {
-					fourLargestIndex[0] = i;
-				}
-				else if(colorSizes[i] > colorSizes[fourLargestIndex[1]]) {
-					fourLargestIndex[1] = i;
-				}
-				else if(colorSizes[i] > colorSizes[fourLargestIndex[2]]) {
-					fourLargestIndex[2] = i;
-				}
-				else if(colorSizes[i] > colorSizes[fourLargestIndex[3]]) {
-					fourLargestIndex[3] = i;
-				}
-			}
-			
-			groupingsForBipartiteI = new String[6];
-			
-			for(int i = 0; i < 4; i++) { // First independent set
-				int edgeTotal = 0;
-				for(int j = i+1; j < 4; j++) { // Second independent set
-					for(Point p : (ArrayList<Point>) colorPointLists[fourLargestIndex[i]]) { // Points in first
-						for(Point x : p.adjacencies) { // A first point's adjacenties
-							if(x.color == fourLargestIndex[j]) { // See if there is an edge
-								edgeTotal++;
-							}
-						}
-					} // DOne looking through first and comparing to second
-					int indexToPlaceIn = 0;
-					// Find out which position in the array to place in
-					switch(i*4 + j) {
-					case 1:
-						indexToPlaceIn = 0;
-						break;
-					case 2:
-						indexToPlaceIn = 1;
-						break;
-					case 3:
-						indexToPlaceIn = 2;
-						break;
-					case 6:
-						indexToPlaceIn = 3;
-						break;
-					case 7:
-						indexToPlaceIn = 4;
-						break;
-					case 11:
-						indexToPlaceIn = 5;
-						break;
-					}
-					groupingsForBipartiteI[indexToPlaceIn] = "<"+fourLargestIndex[i]+","+fourLargestIndex[j]+">";
-					vertexCountForBipartiteI[indexToPlaceIn] = colorSizes[fourLargestIndex[i]] + colorSizes[fourLargestIndex[j]];
-					edgesForBipartiteI[indexToPlaceIn] = edgeTotal;
-					// Create the number of components and faces for this graph
-					findFacesI( (ArrayList<Point>) colorPointLists[fourLargestIndex[i]], (ArrayList<Point>) colorPointLists[fourLargestIndex[j]], fourLargestIndex[j], indexToPlaceIn, componentsForBipartiteI, facesForBipartiteI );
-					edgeTotal = 0;
-				}
-			}
-			return true;
-		}
-		else {
+		bipartitesI = BipartiteSummary.firstMethod(getImmutableGraph(), currentColoring());
+		if(bipartitesI == null)
 			return false;
+		
+		vertexCountForBipartiteI = new int[6];
+		edgesForBipartiteI = new int[6];
+		componentsForBipartiteI = new int[6];
+		facesForBipartiteI = new int[6];
+		groupingsForBipartiteI = new String[6];
+		fourLargestIndex = bipartitesI.getFourLargest();
+		for(int b = 0; b < 6; b++) {
+			groupingsForBipartiteI[b] = "<"+bipartitesI.getFirstColor(b)+","+bipartitesI.getSecondColor(b)+">";
+			vertexCountForBipartiteI[b] = bipartitesI.getVertexCount(b);
+			edgesForBipartiteI[b] = bipartitesI.getEdgeCount(b);
+			componentsForBipartiteI[b] = bipartitesI.getComponentCount(b);
+			facesForBipartiteI[b] = bipartitesI.getFaceCount(b);
 		}
+		return true;
 	}
 
 	/**
@@ -632,278 +2434,42 @@ public abstract class RandomGeometricGraph {
 	 * set two, or three or more times. Then, using SLO, the three or more set of vertices is colored again
 	 * followed by the two adjacent set.  This first, second and third color is looked to form the second
 	 * half of the bipartite.
+	 * The bipartites are made by BipartiteSummary from the current colors and copied into the arrays here.
+	 * The last ordering is made again first if the graph has changed since it was made.
 	 * 
 	 * @return true if the method created bipartites, false if otherwise.
 	 */
 	@SuppressWarnings("unchecked")
 	public boolean createSecondBipartites() {
-		if(numberOfColors > 1) {
-			// Go through list of points for 1st set. Set it's part2 value to 0 for all in coloring part. Set adjacent ones to increment each time
-			// Create list for R2 and R3
-			// Create sl ordering by going through R3 first, then R2 (go back to sl, give odering value to each point in Point that is set there).
-			// do first color with R3UR2 first color, second, third.
-			// Add in colors appropriately.
-			
-			// Check to make sure there are three colors before doing this part of the experiment
-			
-			// Figure out how much each point has an edge with first set
-			for(Point p : (ArrayList<Point>) colorPointLists[0]) {
-				for(Point x : p.adjacencies) {
-					x.timesAdjacentToFirst++;
-				}
-			}
-			
-			ArrayList<Point> R3 = new ArrayList<Point>();
-			ArrayList<Point> R2 = new ArrayList<Point>();
-			// Create list R3 and R2 depending on if >=3 edges shared with first set, or =2 edges shared with first set
-			for(int i = 1; i < numberOfColors; i++) {
-				for(Point p : (ArrayList<Point>) colorPointLists[i]) {
-					if(p.timesAdjacentToFirst == 2) {
-						R2.add(p);
-					}
-					else if(p.timesAdjacentToFirst == 3) {
-						R3.add(p);
-					}
-				}
-			}
-			// Sort the points based on their SL (smallest last) Order
-			Collections.sort(R3, new PointCompartor());
-			Collections.sort(R2, new PointCompartor());
-			// Combine the two into one large list
-			ArrayList<Point> R3UR2 = new ArrayList<Point>();
-			R3UR2.addAll(R3);
-			R3UR2.addAll(R2);
-			// Color the large list going through the SL order
-			int currentColorCount = -1;
-			for(Point p : R3UR2) { // Go through the list and do the coloring
-				int[] colorSet = new int[p.degree];
-				for(Point x : p.adjacencies) {
-					if(x.timesAdjacentToFirst >= 2 && x.R3UR2color != -1 && x.R3UR2color < p.degree) {
-						colorSet[x.R3UR2color]++;
-					}
-				}
-				int color = p.degree;
-				for(int j = 0; j < p.degree; j++)
-					if(colorSet[j] == 0) {
-						color = j;
-						break;
-					}
-				p.R3UR2color = color;
-				if(color > currentColorCount) {
-					currentColorCount = color;
-				}
-			}
-			currentColorCount++;
-			// If there are three or more colors made, then try to find the edges, faces and components.
-			if(currentColorCount >= 3) {
-				vertexCountForBipartiteII = new int[3];
-				edgesForBipartiteII = new int[3];
-				facesForBipartiteII = new int[3];
-				componentsForBipartiteII = new int[3];
-				bipartiteIISecondSets = new Object[3];
-				
-				for(int i=0; i < 3; i ++) {
-					edgesForBipartiteII[i] = 0;
-					facesForBipartiteII[i] = 0;
-					componentsForBipartiteII[i] = 0;
-					bipartiteIISecondSets[i] = new ArrayList<Point>();
-				}
-				
-				// Seperate the three sets
-				for(Point p : R3UR2) {
-					if(p.R3UR2color < 3) {
-						edgesForBipartiteII[p.R3UR2color] += p.timesAdjacentToFirst; // add in the edge count
-						((ArrayList<Point>) bipartiteIISecondSets[p.R3UR2color]).add(p); // add in the point into the set
-					}
-				}
-				ArrayList<Point> firstSet = (ArrayList<Point>) colorPointLists[0];
-				// Go through and find faces and components for each
-				for(int i = 0; i < 3; i ++) {
-					ArrayList<Point> secondSet = (ArrayList<Point>) bipartiteIISecondSets[i];
-					findFacesII(firstSet,secondSet,i,i,componentsForBipartiteII,facesForBipartiteII);
-					vertexCountForBipartiteII[i] = firstSet.size() + secondSet.size();
-				}
-				return true;
-			}
-			else
-				return false;
-		}
-		else 
+		if(ordering == null)
+			return false;
+		refreshOrdering();
+		bipartitesII = BipartiteSummary.secondMethod(getImmutableGraph(), currentColoring(), ordering);
+		if(bipartitesII == null)
 			return false;
-	}
-	
-	/**
-	 * This method takes two independent sets and tries to find all the components and faces in the resulting graph for the first bipartite method.
-	 * The components are created by first assuming each vertex in both sets is a component. Then, for each edge found in the set,
-	 * the two vertices' components have to be merged together.  Once each component is created, Euler's formula can be used to
-	 * determine how many faces are in the graph.  The faces will include only one "background" face.
-	 * 
-	 * @param firstSet The first independent set of vertices
-	 * @param secondSet The second independent set of vertices
-	 * @param secondColor The associated color of the second set for edge finding.
-	 * @param arrayIndex The position in the component and face arrays to fill in with the new values
-	 * @param componentCount The array of components for each bipartite combination.
-	 * @param facesCount The array of faces for each bipartite combination.
-	 */
-	public void findFacesI(ArrayList<Point> firstSet, ArrayList<Point> secondSet, int secondColor, int arrayIndex, int[] componentCount, int[] facesCount) {
-		ArrayList<ArrayList<Point>> componentsList = new ArrayList<ArrayList<Point>>(firstSet.size()+secondSet.size());
-		int[] numberOfEdgesPerComponent = new int[firstSet.size()+secondSet.size()];
-		
-		int id = 0;
-		// Make a component of size one, for each point
-		for(Point p : firstSet) {
-			ArrayList<Point> componentPointList = new ArrayList<Point>();
-			componentPointList.add(p);
-			componentsList.add(componentPointList);
-			numberOfEdgesPerComponent[id] = 0;
-			p.componentNumber = id++;
-		}
-		for(Point p : secondSet) {
-			ArrayList<Point> componentPointList = new ArrayList<Point>();
-			componentPointList.add(p);
-			componentsList.add(componentPointList);
-			p.componentNumber = id++;
-		}
 		
-		// Go through all the edges
-		for(Point p : firstSet) {
-			for(Point x : p.adjacencies) {
-				if(x.color == secondColor) {
-					// If they're not both in the same component then merge
-					if(p.componentNumber != x.componentNumber) {
-						int i = p.componentNumber;
-						int j = x.componentNumber;
-						if(componentsList.get(i).size() < componentsList.get(j).size()) { // swap pointers if needed
-							int temp = j;
-							j = i;
-							i = temp;
-						}
-						// Join two components into one
-						for(Point toJoinTo : componentsList.get(j)) {
-							componentsList.get(i).add(toJoinTo);
-							toJoinTo.componentNumber = i;
-						}
-						// Add the edges up from both components
-						numberOfEdgesPerComponent[i] += numberOfEdgesPerComponent[j] + 1;
-						// Null out the information for the smaller component, not needed anymore.
-						numberOfEdgesPerComponent[j] = 0;
-						componentsList.set(j, null);
-					}
-					else {
-						numberOfEdgesPerComponent[p.componentNumber]++;
-					}
-				}
-			}
-		}
-		int numberOfComponents = 0;
-		int numberOfFaces = 1; // Face for the whole white space first
-		// Go through each component and fine how many face there are minus the background face.
-		for(int i = 0; i < componentsList.size(); i++) {
-			ArrayList<Point> componentPointList = componentsList.get(i);
-			if(componentPointList != null) {
-				numberOfComponents++;
-				/*
-				 * v - e + f = 2
-				 * v - e + (1+x) = 2
-				 * (1+x) = 2 - v + e
-				 * x = 2 - v + e - - 1
-				 * f = 2 - v + e
-				 * f = 1 - v + e - Have to set to 1, because background already included
-				 */
-				if(componentPointList.size() > 1) {
-				//	 int faceCount = 2 - componentPointList.size() + numberOfEdgesPerComponent[i] - 1;
-					 numberOfFaces += 1 - componentPointList.size() + numberOfEdgesPerComponent[i];
-				}
+		vertexCountForBipartiteII = new int[3];
+		edgesForBipartiteII = new int[3];
+		facesForBipartiteII = new int[3];
+		componentsForBipartiteII = new int[3];
+		bipartiteIISecondSets = new Object[3];
+		bipartiteIISecondMembers = new VertexSet[3];
+		for(int b = 0; b < 3; b++) {
+			VertexSet secondSet = bipartitesII.getSecondSet(b);
+			ArrayList<Point> secondList = new ArrayList<Point>();
+			for(int id = secondSet.nextId(0); id >= 0; id = secondSet.nextId(id+1)) {
+				secondList.add(listOfPoints.get(id));
 			}
+			bipartiteIISecondSets[b] = secondList;
+			bipartiteIISecondMembers[b] = secondSet;
+			vertexCountForBipartiteII[b] = bipartitesII.getVertexCount(b);
+			edgesForBipartiteII[b] = bipartitesII.getEdgeCount(b);
+			componentsForBipartiteII[b] = bipartitesII.getComponentCount(b);
+			facesForBipartiteII[b] = bipartitesII.getFaceCount(b);
 		}
-		componentCount[arrayIndex] = numberOfComponents;
-		facesCount[arrayIndex] = numberOfFaces;
+		return true;
 	}
 	
-	/**
-	 * This method takes two independent sets and tries to find all the components and faces in the resulting graph for the second bipartite method.
-	 * The components are created by first assuming each vertex in both sets is a component. Then, for each edge found in the set,
-	 * the two vertices' components have to be merged together.  Once each component is created, Euler's formula can be used to
-	 * determine how many faces are in the graph.  The faces will include only one "background" face.
-	 * 
-	 * @param firstSet The first independent set of vertices
-	 * @param secondSet The second independent set of vertices
-	 * @param secondColor The associated color of the second set for edge finding in terms after it was colored a second time.
-	 * @param arrayIndex The position in the component and face arrays to fill in with the new values
-	 * @param componentCount The array of components for each bipartite combination.
-	 * @param facesCount The array of faces for each bipartite combination.
-	 */
-	public void findFacesII(ArrayList<Point> firstSet, ArrayList<Point> secondSet, int secondColor, int arrayIndex, int[] componentCount, int[] facesCount) {
-		// See the findFacesI commentary to see how this was done.
-		ArrayList<ArrayList<Point>> componentsList = new ArrayList<ArrayList<Point>>(firstSet.size()+secondSet.size());
-		int[] numberOfEdgesPerComponent = new int[firstSet.size()+secondSet.size()];
-		
-		int id = 0;
-		// Make a component of size one, for each point
-		for(Point p : firstSet) {
-			ArrayList<Point> componentPointList = new ArrayList<Point>();
-			componentPointList.add(p);
-			componentsList.add(componentPointList);
-			numberOfEdgesPerComponent[id] = 0;
-			p.componentNumber = id++;
-		}
-		for(Point p : secondSet) {
-			ArrayList<Point> componentPointList = new ArrayList<Point>();
-			componentPointList.add(p);
-			componentsList.add(componentPointList);
-			p.componentNumber = id++;
-		}
-		
-		for(Point p : firstSet) {
-			for(Point x : p.adjacencies) {
-				//Only difference is in this statement, R3UR2 color was looked at, not the color variable.
-				if(x.R3UR2color == secondColor) {
-					if(p.componentNumber != x.componentNumber) {
-						int i = p.componentNumber;
-						int j = x.componentNumber;
-						if(componentsList.get(i).size() < componentsList.get(j).size()) { // swap pointers if needed
-							int temp = j;
-							j = i;
-							i = temp;
-						}
-						// Join two components into one
-						for(Point toJoinTo : componentsList.get(j)) {
-							componentsList.get(i).add(toJoinTo);
-							toJoinTo.componentNumber = i;
-						}
-						numberOfEdgesPerComponent[i] += numberOfEdgesPerComponent[j] + 1;
-						numberOfEdgesPerComponent[j] = 0;
-						componentsList.set(j, null);
-					}
-					else {
-						numberOfEdgesPerComponent[p.componentNumber]++;
-					}
-				}
-			}
-		}
-		int numberOfComponents = 0;
-		int numberOfFaces = 1; // Face for the whole white space first
-		for(int i = 0; i < componentsList.size(); i++) {
-			ArrayList<Point> componentPointList = componentsList.get(i);
-			if(componentPointList != null) {
-				numberOfComponents++;
-				/*
-				 * v - e + f = 2
-				 * v - e + (1+x) = 2
-				 * (1+x) = 2 - v + e
-				 * x = 2 - v + e - - 1
-				 * f = 2 - v + e
-				 * f = 1 - v + e - Have to set to 1, because background already included
-				 */
-				if(componentPointList.size() > 1) {
-					 numberOfFaces += 1 - componentPointList.size() + numberOfEdgesPerComponent[i];
-				}
-			}
-		}
-		componentCount[arrayIndex] = numberOfComponents;
-		facesCount[arrayIndex] = numberOfFaces;
-	}
-
 	/**
 	 * Print out the summary table for the graph into a String to be used elsewhere.
 	 * 
@@ -920,6 +2486,17 @@ public abstract class RandomGeometricGraph {
 		out.append( String.format("%s,%.3f\r\n","R",radius) );
 		//Distribution Type
 		out.append( String.format("%s,%s\r\n","Distribution",distributionType()) );
+		//Ordering strategy
+		out.append( String.format("%s,%s\r\n","Ordering",orderingName) );
+		//Coloring engine
+		out.append( String.format("%s,%s\r\n","Coloring",coloringName) );
+		//Edge construction
+		out.append( String.format("%s,%s\r\n","Edge strategy",edgeChoice) );
+		//Vertex numbering
+		out.append( String.format("%s,%s\r\n","Vertex numbering",vertexNumbering) );
+		//Edge rule
+		out.append( String.format("%s,%s\r\n","Edge rule",nearestNeighbors == 0 ? "Radius"
+				: nearestNeighbors + " nearest, " + (neighborRule == NeighborRule.MUTUAL ? "mutual" : "either")) );
 		
 		int sumDegree = 0;
 		int maxDegreeWhenDeleted = 0;
@@ -954,6 +2531,18 @@ public abstract class RandomGeometricGraph {
 		out.append( String.format("%s,%s\r\n","Color Size of first two", colorSizes[0]+(colorSizes.length>1?colorSizes[1]:0) ) );
 		//Terminal clique size
 		out.append( String.format("%s,%d\r\n","Terminal clique size",terminalCliqueSize) );
+		//Degeneracy from the core numbers, which must match the max degree when deleted of SLO
+		CoreDecomposition cores = getCoreDecomposition();
+		out.append( String.format("%s,%d\r\n","Degeneracy",cores.getDegeneracy()) );
+		out.append( String.format("%s,%d\r\n","Max core size",cores.coreDistribution()[cores.getDegeneracy()]) );
+		if(ordering != null && "Smallest Last".equals(orderingName))
+			out.append( String.format("%s,%s\r\n","Cores match SLO",cores.agreesWith(ordering) ? "Yes" : "No") );
+		//Triangles and clustering
+		TriangleStatistics triangles = getTriangleStatistics();
+		out.append( String.format("%s,%d\r\n","Triangles",triangles.getTriangleCount()) );
+		out.append( String.format("%s,%.4f\r\n","Avg Clustering Coefficient",triangles.getAverageClustering()) );
+		out.append( String.format("%s,%.4f\r\n","Global Clustering Coefficient",triangles.getGlobalClustering()) );
+		out.append( String.format("%s,%d\r\n","Max clique upper bound",triangles.getCliqueBound()) );
 		
 		// If no bipartites were made, don't try to print the information
 		if(edgesForBipartiteI == null) {
@@ -0,0 +1,62 @@
+import java.util.Random;
+
+
+/**
+ * This strategy puts the vertices in a random order.
+ * It is the baseline the other orderings are compared against.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class RandomOrdering implements VertexOrdering {
+	
+	/**
+	 * The random numbers for the shuffle.
+	 */
+	private Random random;
+	
+	/**
+	 * This creates a strategy with a different order every time.
+	 */
+	public RandomOrdering() {
+		random = new Random();
+	}
+	
+	/**
+	 * This creates a strategy that gives the same orders for the same seed.
+	 * 
+	 * @param seed The seed for the random numbers.
+	 */
+	public RandomOrdering(long seed) {
+		random = new Random(seed);
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#order(ImmutableGraph)
+	 */
+	@Override
+	public Ordering order(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		int[] order = new int[n];
+		for(int v = 0; v < n; v++) {
+			order[v] = v;
+		}
+		// Fisher-Yates shuffle
+		for(int i = n-1; i > 0; i--) {
+			int j = random.nextInt(i+1);
+			int t = order[i];
+			order[i] = order[j];
+			order[j] = t;
+		}
+		return new Ordering(graph, order);
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#getName()
+	 */
+	@Override
+	public String getName() {
+		return "Random";
+	}
+}
@@ -0,0 +1,191 @@
+import java.util.Arrays;
+
+
+/**
+ * This class keeps the vertices waiting to be colored by DSATUR, so the one with the most distinct
+ * colors next to it (its saturation) and then the largest degree can be taken out quickly.
+ * There is one bucket for each saturation, from 0 up to the largest degree, and each bucket is a
+ * binary max-heap ordered by degree. Among vertices of the same saturation and degree, the one that
+ * has been in its bucket the longest comes first. The heap of a bucket grows and shrinks with it,
+ * so the memory stays linear in the number of vertices plus the largest degree.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class SaturationQueue {
+	
+	/**
+	 * The fewest entries a heap is made with.
+	 */
+	private static final int MIN_CAPACITY = 4;
+	
+	/**
+	 * The vertices of each bucket in heap order, or null while the bucket is empty.
+	 */
+	private final int[][] heaps;
+	
+	/**
+	 * The number of vertices in each bucket.
+	 */
+	private final int[] sizes;
+	
+	/**
+	 * The degree of each vertex.
+	 */
+	private final int[] degree;
+	
+	/**
+	 * When each vertex joined its bucket, counting up.
+	 */
+	private final long[] arrival;
+	
+	/**
+	 * The position of each vertex in the heap of its bucket.
+	 */
+	private final int[] position;
+	
+	/**
+	 * The bucket each vertex is in, or -1 if it is in none.
+	 */
+	private final int[] bucketOf;
+	
+	/**
+	 * The arrival of the next vertex to join a bucket.
+	 */
+	private long arrivals;
+	
+	/**
+	 * @param degree The degree of each vertex, which is not copied.
+	 * @param buckets The number of saturations, numbered from 0.
+	 */
+	public SaturationQueue(int[] degree, int buckets) {
+		int n = degree.length;
+		this.degree = degree;
+		heaps = new int[buckets][];
+		sizes = new int[buckets];
+		arrival = new long[n];
+		position = new int[n];
+		bucketOf = new int[n];
+		Arrays.fill(bucketOf, -1);
+	}
+	
+	/**
+	 * This adds a vertex to a bucket.
+	 * 
+	 * @param v The vertex, which must not be in a bucket.
+	 * @param bucket The saturation of the vertex.
+	 */
+	public void add(int v, int bucket) {
+		int size = sizes[bucket];
+		if(heaps[bucket] == null)
+			heaps[bucket] = new int[MIN_CAPACITY];
+		else if(size == heaps[bucket].length)
+			heaps[bucket] = Arrays.copyOf(heaps[bucket], 2*size);
+		bucketOf[v] = bucket;
+		arrival[v] = arrivals++;
+		sizes[bucket] = size+1;
+		up(heaps[bucket], v, size);
+	}
+	
+	/**
+	 * This takes a vertex out of its bucket.
+	 * 
+	 * @param v The vertex, which must be in a bucket.
+	 */
+	public void remove(int v) {
+		int bucket = bucketOf[v];
+		int[] heap = heaps[bucket];
+		int size = --sizes[bucket];
+		int i = position[v];
+		bucketOf[v] = -1;
+		if(size == 0) {
+			heaps[bucket] = null;
+			return;
+		}
+		if(i < size) {
+			// The last vertex fills the hole, and goes up or down from there
+			int last = heap[size];
+			if(i > 0 && before(last, heap[(i-1) >>> 1]))
+				up(heap, last, i);
+			else
+				down(heap, last, i, size);
+		}
+		if(size < heap.length/4 && heap.length > MIN_CAPACITY)
+			heaps[bucket] = Arrays.copyOf(heap, Math.max(MIN_CAPACITY, heap.length/2));
+	}
+	
+	/**
+	 * This moves a vertex to another bucket, where it is the latest to arrive.
+	 * 
+	 * @param v The vertex, which must be in a bucket.
+	 * @param bucket The new saturation of the vertex.
+	 */
+	public void move(int v, int bucket) {
+		remove(v);
+		add(v, bucket);
+	}
+	
+	/**
+	 * @param bucket A saturation.
+	 * @return the vertex of the bucket with the largest degree, the longest in the bucket among those,
+	 * or -1 if it is empty
+	 */
+	public int first(int bucket) {
+		return sizes[bucket] == 0 ? -1 : heaps[bucket][0];
+	}
+	
+	/**
+	 * @param v A vertex.
+	 * @param w Another vertex.
+	 * @return true if v comes out before w
+	 */
+	private boolean before(int v, int w) {
+		return degree[v] > degree[w] || (degree[v] == degree[w] && arrival[v] < arrival[w]);
+	}
+	
+	/**
+	 * This places a vertex at a position in a heap, or above it past the vertices it comes out before.
+	 * 
+	 * @param heap The heap.
+	 * @param v The vertex.
+	 * @param i The position to start from.
+	 */
+	private void up(int[] heap, int v, int i) {
+		while(i > 0) {
+			int parent = (i-1) >>> 1;
+			if(!before(v, heap[parent]))
+				break;
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = v;
+		position[v] = i;
+	}
+	
+	/**
+	 * This places a vertex at a position in a heap, or below it past the vertices that come out before it.
+	 * 
+	 * @param heap The heap.
+	 * @param v The vertex.
+	 * @param i The position to start from.
+	 * @param size The number of vertices in the heap.
+	 */
+	private void down(int[] heap, int v, int i, int size) {
+		while(true) {
+			int child = 2*i+1;
+			if(child >= size)
+				break;
+			if(child+1 < size && before(heap[child+1], heap[child]))
+				child++;
+			if(!before(heap[child], v))
+				break;
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = v;
+		position[v] = i;
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * This strategy creates the smallest last ordering of a graph.
+ * The vertex with the smallest degree is removed over and over, and the vertices are ordered
+ * from the last removed to the first removed. Every vertex sits in a bucket for the degree it
+ * has left, so moving a vertex to a lower bucket takes constant time and the whole ordering takes
+ * time in proportion to the vertices plus edges. Ties go to the vertex that has been in its bucket
+ * the longest.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public class SmallestLastOrdering implements VertexOrdering {
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#order(ImmutableGraph)
+	 */
+	@Override
+	public Ordering order(ImmutableGraph graph) {
+		int n = graph.getVertexCount();
+		BucketQueue buckets = new BucketQueue(n, graph.getMaxDegree()+1);
+		int[] degreeLeft = new int[n];
+		
+		// Create the buckets
+		for(int v = 0; v < n; v++) {
+			degreeLeft[v] = graph.degree(v);
+			buckets.add(v, degreeLeft[v]);
+		}
+		
+		int[] order = new int[n];
+		int[] degreeRemovedAt = new int[n];
+		int i = 0;
+		for(int j = n-1; j >= 0; j--) {
+			// Find the first non-empty bucket. Nothing below i can be filled, since a removal
+			// only moves the neighbors down by one.
+			while(buckets.first(i) == -1)
+				i++;
+			int v = buckets.first(i);
+			buckets.remove(v);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int x = graph.neighbor(k);
+				if(buckets.bucketOf(x) != -1) {
+					// Move it down one bucket
+					degreeLeft[x]--;
+					buckets.move(x, degreeLeft[x]);
+				}
+			}
+			order[j] = v;
+			degreeRemovedAt[j] = degreeLeft[v];
+			if(i > 0)
+				i--;
+		}
+		return new Ordering(order, degreeRemovedAt);
+	}
+	
+	/* (non-Javadoc)
+	 * @see VertexOrdering#getName()
+	 */
+	@Override
+	public String getName() {
+		return "Smallest Last";
+	}
+}
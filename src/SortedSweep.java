@@ -0,0 +1,114 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/**
+ * This class finds the points near a point by sorting all of them by their horizontal location.
+ * The neighbors of a point can only be in the strip of points less than the radius to its left or right,
+ * so the search starts where the point would be in the sorted order and looks both ways until it leaves
+ * the strip. It takes nothing more than a sort to build, so it is the quickest index to make for a small
+ * graph, but the strip gets long when there are many points.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class SortedSweep implements SpatialIndex {
+	
+	/**
+	 * The points, sorted by their horizontal location.
+	 */
+	private final Point[] points;
+	
+	/**
+	 * The coordinates of the points in sorted order, one array for each axis.
+	 */
+	private final double[][] coords;
+	
+	/**
+	 * The number of dimensions, either 2 or 3.
+	 */
+	private final int dimensions;
+	
+	/**
+	 * This sorts the points. The list is not changed.
+	 * 
+	 * @param list The points, with the depth from Point.coordinate(2) for three dimensions.
+	 * @param dimensions The number of dimensions, either 2 or 3.
+	 */
+	public SortedSweep(ArrayList<Point> list, int dimensions) {
+		this.dimensions = dimensions;
+		int n = list.size();
+		points = list.toArray(new Point[n]);
+		Arrays.sort(points, new Comparator<Point>() {
+			@Override
+			public int compare(Point a, Point b) {
+				return Double.compare(a.getX(), b.getX());
+			}
+		});
+		coords = new double[dimensions][n];
+		for(int k = 0; k < n; k++) {
+			coords[0][k] = points[k].getX();
+			coords[1][k] = points[k].getY();
+			if(dimensions == 3)
+				coords[2][k] = points[k].coordinate(2);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see SpatialIndex#findNeighbors(Point, double, java.util.ArrayList)
+	 */
+	@Override
+	public void findNeighbors(Point p, double distanceSq, ArrayList<Point> neighbors) {
+		double x = p.getX();
+		double y = p.getY();
+		double z = dimensions == 3 ? p.coordinate(2) : 0;
+		double[] xs = coords[0];
+		// The first position that is not to the left of the point
+		int low = 0, high = xs.length;
+		while(low < high) {
+			int mid = (low+high) >>> 1;
+			if(xs[mid] < x)
+				low = mid+1;
+			else
+				high = mid;
+		}
+		// A neighbor is never further away horizontally than the radius
+		for(int k = low-1; k >= 0; k--) {
+			double dx = x-xs[k];
+			if(dx*dx > distanceSq)
+				break;
+			check(k, p, dx, y, z, distanceSq, neighbors);
+		}
+		for(int k = low; k < xs.length; k++) {
+			double dx = x-xs[k];
+			if(dx*dx > distanceSq)
+				break;
+			check(k, p, dx, y, z, distanceSq, neighbors);
+		}
+	}
+	
+	/**
+	 * This adds the point at a position to the neighbors if it is within the distance.
+	 * The distance is measured the same way as Point.distanceSq, so the sweep finds exactly the same edges.
+	 * 
+	 * @param k The position.
+	 * @param p The point to find the neighbors of.
+	 * @param dx The horizontal difference to the point at the position.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point, if there are three dimensions.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	private void check(int k, Point p, double dx, double y, double z, double distanceSq, ArrayList<Point> neighbors) {
+		double dy = y-coords[1][k];
+		double d = dx*dx+dy*dy;
+		if(dimensions == 3) {
+			double dz = z-coords[2][k];
+			d += dz*dz;
+		}
+		if(d <= distanceSq && points[k] != p)
+			neighbors.add(points[k]);
+	}
+}
@@ -0,0 +1,418 @@
+import java.util.ArrayList;
+
+
+/**
+ * This class is a uniform grid over the points of a random geometric graph.
+ * The cells are at least as wide as the radius, so every point within the radius of
+ * another point is found in the same cell or one of the cells surrounding it. This lets
+ * the neighbors of a single point be found without looking at the entire graph.
+ * The grid works in two dimensions, or in three dimensions using the depth from Point.coordinate(2).
+ * A periodic grid joins each side of the box to the opposite one, so the cells at one end of an
+ * axis are next to the cells at the other end, and the points across the wrap are found without
+ * copying them. Its points must measure their distances around the wrap, like TorusPoint does.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 14, 2012
+ */
+public class SpatialGrid implements SpatialIndex {
+	
+	/**
+	 * The smallest coordinate value along every axis.
+	 */
+	private double minCoord;
+	
+	/**
+	 * The width of a single cell along every axis.
+	 */
+	private double cellSize;
+	
+	/**
+	 * The number of cells along every axis.
+	 */
+	private int cellsPerAxis;
+	
+	/**
+	 * The number of dimensions, either 2 or 3.
+	 */
+	private int dimensions;
+	
+	/**
+	 * True if each side of the box is joined to the opposite one.
+	 */
+	private boolean periodic;
+	
+	/**
+	 * The lists of points for each cell.
+	 */
+	private Object[] cells;
+	
+	/**
+	 * The points of every cell, one cell after another, once the grid is packed, or null if it is not.
+	 * The cells next to each other along the last axis follow each other, so the cells around a point
+	 * come in a few runs that can be tested a block at a time.
+	 */
+	private Point[] packedPoints;
+	
+	/**
+	 * The coordinates of the packed points, one array for each axis.
+	 */
+	private double[][] packedCoords;
+	
+	/**
+	 * The position of the first packed point of each cell, with one more entry for the end.
+	 */
+	private int[] cellStart;
+	
+	/**
+	 * The coordinates of the packed points as fixed point numbers, one array for each axis, if the
+	 * grid was packed that way, in which case packedCoords is null.
+	 */
+	private int[][] packedFixed;
+	
+	/**
+	 * The number of fixed point steps in one coordinate unit.
+	 */
+	private double fixedScale;
+	
+	/**
+	 * The number of fixed point steps across the box. The difference of two coordinates fits in an int
+	 * and the squared distance in three dimensions fits in a long.
+	 */
+	private static final int FIXED_STEPS = 1 << 30;
+	
+	/**
+	 * This creates an empty grid over the box [minCoord,maxCoord] in every dimension.
+	 * The number of cells is limited to about twice the number of points so that
+	 * very small radii do not create mostly empty cells.
+	 * 
+	 * @param minCoord The smallest coordinate value along every axis.
+	 * @param maxCoord The largest coordinate value along every axis.
+	 * @param radius The threshold to form an edge.
+	 * @param dimensions The number of dimensions, either 2 or 3.
+	 * @param n The expected number of points.
+	 */
+	public SpatialGrid(double minCoord, double maxCoord, double radius, int dimensions, int n) {
+		this(minCoord, maxCoord, radius, dimensions, n, false);
+	}
+	
+	/**
+	 * This creates an empty grid like the other constructor, which may wrap around.
+	 * 
+	 * @param minCoord The smallest coordinate value along every axis.
+	 * @param maxCoord The largest coordinate value along every axis.
+	 * @param radius The threshold to form an edge.
+	 * @param dimensions The number of dimensions, either 2 or 3.
+	 * @param n The expected number of points.
+	 * @param periodic True if each side of the box is joined to the opposite one.
+	 */
+	public SpatialGrid(double minCoord, double maxCoord, double radius, int dimensions, int n, boolean periodic) {
+		this.minCoord = minCoord;
+		this.dimensions = dimensions;
+		this.periodic = periodic;
+		double span = maxCoord - minCoord;
+		
+		int maxPerAxis = (int) Math.pow(Math.max(1, 2*n), 1.0/dimensions);
+		cellsPerAxis = radius > 0 ? (int) (span/radius) : maxPerAxis;
+		if(cellsPerAxis > maxPerAxis)
+			cellsPerAxis = maxPerAxis;
+		if(cellsPerAxis < 1)
+			cellsPerAxis = 1;
+		cellSize = span/cellsPerAxis;
+		
+		int cellCount = cellsPerAxis*cellsPerAxis;
+		if(dimensions == 3)
+			cellCount *= cellsPerAxis;
+		cells = new Object[cellCount];
+		for(int i = 0; i < cellCount; i++) {
+			cells[i] = new ArrayList<Point>();
+		}
+	}
+	
+	/**
+	 * This finds which cell along an axis a coordinate falls in.
+	 * Coordinates outside of the box are kept in the closest cell.
+	 * 
+	 * @param coord The coordinate value.
+	 * @return The cell index along the axis.
+	 */
+	private int axisCell(double coord) {
+		int c = (int) ((coord - minCoord)/cellSize);
+		if(c < 0)
+			return 0;
+		if(c >= cellsPerAxis)
+			return cellsPerAxis-1;
+		return c;
+	}
+	
+	/**
+	 * @param c A cell along an axis, which may be one past either end.
+	 * @return the cell, taken around to the other end in a periodic grid, or -1 if it is past the end of another grid
+	 */
+	private int wrapCell(int c) {
+		if(c >= 0 && c < cellsPerAxis)
+			return c;
+		if(!periodic)
+			return -1;
+		return (c + cellsPerAxis) % cellsPerAxis;
+	}
+	
+	/**
+	 * This finds the cells along an axis that are next to a cell, and the cell itself, each only once
+	 * even when a periodic grid has so few cells that the wrap comes back to the same ones.
+	 * 
+	 * @param c The cell along the axis.
+	 * @param around The array the cells are put in, with room for three.
+	 * @return the number of cells put in around
+	 */
+	private int cellsAround(int c, int[] around) {
+		int count = 0;
+		for(int a = c-1; a <= c+1; a++) {
+			int cell = wrapCell(a);
+			boolean seen = cell < 0;
+			for(int k = 0; k < count && !seen; k++) {
+				seen = around[k] == cell;
+			}
+			if(!seen)
+				around[count++] = cell;
+		}
+		return count;
+	}
+	
+	/**
+	 * @param p The point to locate.
+	 * @return The index in cells that the point belongs to.
+	 */
+	private int cellOf(Point p) {
+		int index = axisCell(p.getX())*cellsPerAxis + axisCell(p.getY());
+		if(dimensions == 3)
+			index = index*cellsPerAxis + axisCell(p.coordinate(2));
+		return index;
+	}
+	
+	/**
+	 * This adds a point to the cell it is located in.
+	 * 
+	 * @param p The point to add.
+	 */
+	@SuppressWarnings("unchecked")
+	public void add(Point p) {
+		((ArrayList<Point>) cells[cellOf(p)]).add(p);
+		packedPoints = null;
+	}
+	
+	/**
+	 * This removes a point from the cell it is located in.
+	 * The point must not have moved since it was added.
+	 * 
+	 * @param p The point to remove.
+	 */
+	@SuppressWarnings("unchecked")
+	public void remove(Point p) {
+		ArrayList<Point> cell = (ArrayList<Point>) cells[cellOf(p)];
+		packedPoints = null;
+		// Swap the last point in the cell into the hole to avoid shifting the list
+		int index = cell.indexOf(p);
+		int last = cell.size()-1;
+		cell.set(index, cell.get(last));
+		cell.remove(last);
+	}
+	
+	/**
+	 * This copies the points of every cell into arrays, one cell after another, so that findNeighbors
+	 * can test them with the DistanceKernel. Adding or removing a point afterwards unpacks the grid.
+	 * This is worth doing once all the points are added and many searches are about to be made.
+	 */
+	public void pack() {
+		pack(false);
+	}
+	
+	/**
+	 * This packs the grid like pack, keeping the coordinates either as doubles or as 32 bit fixed point
+	 * numbers, which take half the memory. The fixed point coordinates count steps of 2^-30 of the width
+	 * of the box from its smallest corner, and find exactly the same neighbors as the doubles.
+	 * 
+	 * @param fixedPoint True to keep the coordinates as fixed point numbers.
+	 */
+	@SuppressWarnings("unchecked")
+	public void pack(boolean fixedPoint) {
+		int total = 0;
+		cellStart = new int[cells.length+1];
+		for(int c = 0; c < cells.length; c++) {
+			cellStart[c] = total;
+			total += ((ArrayList<Point>) cells[c]).size();
+		}
+		cellStart[cells.length] = total;
+		packedPoints = new Point[total];
+		packedCoords = fixedPoint ? null : new double[dimensions][total];
+		packedFixed = fixedPoint ? new int[dimensions][total] : null;
+		fixedScale = FIXED_STEPS/(cellSize*cellsPerAxis);
+		int k = 0;
+		for(int c = 0; c < cells.length; c++) {
+			for(Point p : (ArrayList<Point>) cells[c]) {
+				packedPoints[k] = p;
+				if(fixedPoint) {
+					packedFixed[0][k] = toFixed(p.getX());
+					packedFixed[1][k] = toFixed(p.getY());
+					if(dimensions == 3)
+						packedFixed[2][k] = toFixed(p.coordinate(2));
+				}
+				else {
+					packedCoords[0][k] = p.getX();
+					packedCoords[1][k] = p.getY();
+					if(dimensions == 3)
+						packedCoords[2][k] = p.coordinate(2);
+				}
+				k++;
+			}
+		}
+	}
+	
+	/**
+	 * @param coord The coordinate value.
+	 * @return the coordinate as a fixed point number, the nearest number of steps from the smallest corner
+	 */
+	private int toFixed(double coord) {
+		return (int) Math.round((coord - minCoord)*fixedScale);
+	}
+	
+	/**
+	 * @return the number of bytes the packed coordinates take, or 0 if the grid is not packed
+	 */
+	public long getPackedCoordinateBytes() {
+		if(packedPoints == null)
+			return 0;
+		return (long) dimensions*packedPoints.length*(packedFixed != null ? 4 : 8);
+	}
+	
+	/**
+	 * This finds every point within the distance of a given point, not counting the point itself.
+	 * Only the cell of the point and the cells around it are looked at.
+	 * In a periodic grid, the cells reached around the wrap are measured by the points themselves,
+	 * and the rest by the DistanceKernel if the grid is packed. A periodic grid with fewer than three
+	 * cells along an axis is searched without the kernel, since its cells are next to each other both ways.
+	 * 
+	 * @param p The point to find the neighbors of.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void findNeighbors(Point p, double distanceSq, ArrayList<Point> neighbors) {
+		int cx = axisCell(p.getX());
+		int cy = axisCell(p.getY());
+		int cz = dimensions == 3 ? axisCell(p.coordinate(2)) : 0;
+		
+		if(packedPoints != null && (!periodic || cellsPerAxis >= 3)) {
+			double z = dimensions == 3 ? p.coordinate(2) : 0;
+			int fx = 0, fy = 0, fz = 0;
+			long inside = 0, outside = 0;
+			if(packedFixed != null) {
+				fx = toFixed(p.getX());
+				fy = toFixed(p.getY());
+				fz = toFixed(z);
+				// Half a step for each point on each axis, and a step more for the rounding of everything else
+				double steps = Math.sqrt(distanceSq)*fixedScale;
+				double margin = Math.sqrt(dimensions) + 1 + steps*1e-9;
+				inside = steps > margin ? (long) Math.floor((steps-margin)*(steps-margin)) : -1;
+				outside = (long) Math.ceil((steps+margin)*(steps+margin));
+			}
+			// The depth cells of one row and column are next to each other, or in 2D the vertical cells of one column
+			int last = dimensions == 3 ? cz : cy;
+			int lastFrom = Math.max(0, last-1);
+			int lastTo = Math.min(cellsPerAxis-1, last+1);
+			for(int a = cx-1; a <= cx+1; a++) {
+				int i = wrapCell(a);
+				if(i < 0)
+					continue;
+				int bFrom = dimensions == 3 ? cy-1 : 0;
+				int bTo = dimensions == 3 ? cy+1 : 0;
+				for(int b = bFrom; b <= bTo; b++) {
+					int j = dimensions == 3 ? wrapCell(b) : 0;
+					if(j < 0)
+						continue;
+					int row = dimensions == 3 ? (i*cellsPerAxis + j)*cellsPerAxis : i*cellsPerAxis;
+					int from = cellStart[row+lastFrom];
+					int to = cellStart[row+lastTo+1];
+					if(i != a || j != b)
+						addAroundWrap(p, from, to, distanceSq, neighbors);
+					else if(packedFixed != null)
+						DistanceKernel.addNeighborsFixed(p, fx, fy, fz, packedPoints, packedFixed, from, to, inside, outside, distanceSq, neighbors);
+					else
+						DistanceKernel.addNeighbors(p, p.getX(), p.getY(), z, packedPoints, packedCoords, from, to, distanceSq, neighbors);
+					// The cell around the wrap from either end of the run
+					if(periodic && last == 0)
+						addAroundWrap(p, cellStart[row+cellsPerAxis-1], cellStart[row+cellsPerAxis], distanceSq, neighbors);
+					if(periodic && last == cellsPerAxis-1)
+						addAroundWrap(p, cellStart[row], cellStart[row+1], distanceSq, neighbors);
+				}
+			}
+			return;
+		}
+		int[] xCells = new int[3], yCells = new int[3], zCells = new int[3];
+		int xCount = cellsAround(cx, xCells);
+		int yCount = cellsAround(cy, yCells);
+		int zCount = dimensions == 3 ? cellsAround(cz, zCells) : 1;
+		for(int a = 0; a < xCount; a++) {
+			for(int b = 0; b < yCount; b++) {
+				for(int c = 0; c < zCount; c++) {
+					int index = xCells[a]*cellsPerAxis + yCells[b];
+					if(dimensions == 3)
+						index = index*cellsPerAxis + zCells[c];
+					for(Point x : (ArrayList<Point>) cells[index]) {
+						if(x != p && p.distanceSq(x) <= distanceSq)
+							neighbors.add(x);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * This adds the packed points in a run that are within the distance of a point, measured by the point
+	 * itself. It is used for the cells reached around the wrap, where the coordinates can not be compared directly.
+	 * 
+	 * @param p The point to find the neighbors of.
+	 * @param from The position of the first packed point in the run.
+	 * @param to The position after the last packed point in the run.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	private void addAroundWrap(Point p, int from, int to, double distanceSq, ArrayList<Point> neighbors) {
+		for(int k = from; k < to; k++) {
+			Point x = packedPoints[k];
+			if(x != p && p.distanceSq(x) <= distanceSq)
+				neighbors.add(x);
+		}
+	}
+	
+	/**
+	 * This finds every point whose horizontal and vertical location is inside a box.
+	 * In three dimensions the depth is not limited, so the box is really a column.
+	 * This is used to find the points that can be seen in a zoomed in view.
+	 * 
+	 * @param minX The smallest real_x value in the box.
+	 * @param maxX The largest real_x value in the box.
+	 * @param minY The smallest real_y value in the box.
+	 * @param maxY The largest real_y value in the box.
+	 * @param found The list the points inside the box are added to.
+	 */
+	@SuppressWarnings("unchecked")
+	public void findInBox(double minX, double maxX, double minY, double maxY, ArrayList<Point> found) {
+		int zTo = dimensions == 3 ? cellsPerAxis-1 : 0;
+		
+		for(int i = axisCell(minX); i <= axisCell(maxX); i++) {
+			for(int j = axisCell(minY); j <= axisCell(maxY); j++) {
+				for(int k = 0; k <= zTo; k++) {
+					int index = i*cellsPerAxis + j;
+					if(dimensions == 3)
+						index = index*cellsPerAxis + k;
+					for(Point x : (ArrayList<Point>) cells[index]) {
+						if(x.getX() >= minX && x.getX() <= maxX && x.getY() >= minY && x.getY() <= maxY)
+							found.add(x);
+					}
+				}
+			}
+		}
+	}
+}
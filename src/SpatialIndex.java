@@ -0,0 +1,22 @@
+import java.util.ArrayList;
+
+
+/**
+ * This interface represents a way of finding the points near a point without looking at every point
+ * in the graph. It is used to find the edges when a graph is created.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public interface SpatialIndex {
+	
+	/**
+	 * This finds every point within the distance of a given point, not counting the point itself.
+	 * 
+	 * @param p The point to find the neighbors of.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @param neighbors The list the neighbors are added to.
+	 */
+	void findNeighbors(Point p, double distanceSq, ArrayList<Point> neighbors);
+}
@@ -0,0 +1,109 @@
+import java.awt.Color;
+import java.io.PrintWriter;
+
+
+/**
+ * This sink writes the drawing calls for a view straight out as SVG elements.
+ * Nothing is kept in memory, so a graph with millions of edges can be written to a file
+ * as it is walked. Every line and outline is black, as on the screen, so only the fill
+ * colors of the circles are written with each element.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 16, 2012
+ */
+public class SvgSink implements PrimitiveSink {
+	
+	/**
+	 * Where the SVG text is written.
+	 */
+	private PrintWriter out;
+	
+	/**
+	 * This writes the start of the SVG document with a white background.
+	 * Every element after this is drawn with a black stroke unless it says otherwise.
+	 * 
+	 * @param writer Where the SVG text is written.
+	 * @param width The width of the picture in pixels.
+	 * @param height The height of the picture in pixels.
+	 */
+	public SvgSink(PrintWriter writer, int width, int height) {
+		out = writer;
+		out.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+		out.println("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+				+ "\" viewBox=\"0 0 " + width + " " + height + "\">");
+		out.println("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>");
+		out.println("<g stroke=\"black\" stroke-width=\"1\" fill=\"none\">");
+	}
+	
+	/**
+	 * This writes the end of the SVG document and flushes it.
+	 * The writer itself is left open.
+	 */
+	public void finish() {
+		out.println("</g>");
+		out.println("</svg>");
+		out.flush();
+	}
+	
+	/**
+	 * @param c The color to write.
+	 * @return the color as an SVG hex value
+	 */
+	private static String hex(Color c) {
+		return String.format("#%06x", c.getRGB() & 0xFFFFFF);
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#line(int, int, int, int)
+	 */
+	@Override
+	public void line(int x1, int y1, int x2, int y2) {
+		// Lines go through the middle of the pixels, like they do on the screen
+		out.print("<line x1=\"");
+		out.print(x1 + .5);
+		out.print("\" y1=\"");
+		out.print(y1 + .5);
+		out.print("\" x2=\"");
+		out.print(x2 + .5);
+		out.print("\" y2=\"");
+		out.print(y2 + .5);
+		out.println("\"/>");
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#fillOval(int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void fillOval(int x, int y, int size, Color fill) {
+		double r = size/2.0;
+		out.println("<circle cx=\"" + (x + r) + "\" cy=\"" + (y + r) + "\" r=\"" + r
+				+ "\" fill=\"" + hex(fill) + "\" stroke=\"none\"/>");
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#drawOval(int, int, int)
+	 */
+	@Override
+	public void drawOval(int x, int y, int size) {
+		double r = size/2.0;
+		out.println("<circle cx=\"" + (x + r + .5) + "\" cy=\"" + (y + r + .5) + "\" r=\"" + r + "\"/>");
+	}
+	
+	/* (non-Javadoc)
+	 * @see PrimitiveSink#marker(int, int, int, int, java.awt.Color)
+	 */
+	@Override
+	public void marker(int x, int y, int fillSize, int outlineSize, Color fill) {
+		if(fillSize == outlineSize) {
+			// One element can hold both the fill and the outline
+			double r = fillSize/2.0;
+			out.println("<circle cx=\"" + (x + r) + "\" cy=\"" + (y + r) + "\" r=\"" + r
+					+ "\" fill=\"" + hex(fill) + "\"/>");
+		}
+		else {
+			fillOval(x, y, fillSize, fill);
+			drawOval(x, y, outlineSize);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * This subclass of Point represents a vector on the unit torus, the unit square with each side
+ * joined to the opposite one. The distance to another point is measured the short way around,
+ * so a point near the left side is close to the points near the right side.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class TorusPoint extends DoublePoint {
+	
+	/**
+	 * This constructor makes a point with no location yet.
+	 */
+	public TorusPoint() {
+		super();
+	}
+	
+	/**
+	 * @param i Translates to real_x, which must be in [0,1).
+	 * @param j Translates to real_y, which must be in [0,1).
+	 */
+	public TorusPoint(double i, double j) {
+		super(i, j);
+	}
+	
+	/**
+	 * @param delta The difference of two coordinates in [0,1).
+	 * @return the length of the shorter way around between them
+	 */
+	static double wrap(double delta) {
+		delta = Math.abs(delta);
+		return delta > .5 ? 1-delta : delta;
+	}
+	
+	/**
+	 * This is used to override the closeTo function from the Point superclass
+	 * so the distance wraps around both axes.
+	 * 
+	 * @param p The other point to compare to.
+	 * @param distanceSq The threshold value for the distance.
+	 * @return True if this point and the other are within distanceSq. False otherwise.
+	 */
+	@Override
+	public boolean closeTo(Point p, double distanceSq) {
+		return distanceSq(p) <= distanceSq;
+	}
+	
+	/**
+	 * This overrides the distanceSq function from the Point superclass so the distance
+	 * wraps around both axes.
+	 * 
+	 * @param p The other point to measure to.
+	 * @return The distance squared between this point and the other, the short way around.
+	 */
+	@Override
+	public double distanceSq(Point point) {
+		DoublePoint p = (DoublePoint) point;
+		double dx = wrap(real_x-p.real_x);
+		double dy = wrap(real_y-p.real_y);
+		return dx*dx+dy*dy;
+	}
+}
@@ -0,0 +1,240 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+/**
+ * This class holds the triangles of a graph: how many each vertex is in, the local clustering
+ * coefficients, and a bound on the largest clique.
+ * <p>
+ * Every edge is pointed from the vertex later in an ordering to the one earlier in it. With the
+ * smallest last ordering a vertex points to no more vertices than the degeneracy. A triangle is
+ * then found only once, from its latest vertex, by merging the two lists of the latest vertex and
+ * the middle one. The vertices are split into chunks that are worked on at the same time.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 18, 2012
+ */
+public class TriangleStatistics {
+	
+	/**
+	 * The number of triangles each vertex ID is in.
+	 */
+	private final int[] triangles;
+	
+	/**
+	 * The degree of each vertex ID.
+	 */
+	private final int[] degrees;
+	
+	/**
+	 * The number of triangles in the graph.
+	 */
+	private final long totalTriangles;
+	
+	/**
+	 * The number of paths of two edges in the graph, the possible triangles.
+	 */
+	private final long wedges;
+	
+	/**
+	 * The largest clique there can be.
+	 */
+	private final int cliqueBound;
+	
+	/**
+	 * @param triangles The triangles of each vertex, which is kept, not copied.
+	 * @param degrees The degree of each vertex, which is kept, not copied.
+	 * @param totalTriangles The number of triangles.
+	 * @param cliqueBound The largest clique there can be.
+	 */
+	private TriangleStatistics(int[] triangles, int[] degrees, long totalTriangles, int cliqueBound) {
+		this.triangles = triangles;
+		this.degrees = degrees;
+		this.totalTriangles = totalTriangles;
+		this.cliqueBound = cliqueBound;
+		long paths = 0;
+		for(int d : degrees) {
+			paths += (long) d*(d-1)/2;
+		}
+		wedges = paths;
+	}
+	
+	/**
+	 * This counts the triangles with a thread for each processor.
+	 * 
+	 * @param graph The graph.
+	 * @param ordering The order to point the edges by, best the smallest last ordering.
+	 * @param cores The core numbers of the graph, used for the clique bound.
+	 * @return the triangle statistics
+	 */
+	public static TriangleStatistics compute(ImmutableGraph graph, Ordering ordering, CoreDecomposition cores) {
+		return compute(graph, ordering, cores, ParallelRange.getThreads());
+	}
+	
+	/**
+	 * This counts the triangles.
+	 * 
+	 * @param graph The graph.
+	 * @param ordering The order to point the edges by, best the smallest last ordering.
+	 * @param cores The core numbers of the graph, used for the clique bound.
+	 * @param threads The number of threads to use.
+	 * @return the triangle statistics
+	 */
+	public static TriangleStatistics compute(final ImmutableGraph graph, final Ordering ordering, CoreDecomposition cores, int threads) {
+		final int n = graph.getVertexCount();
+		
+		// Each position points to the earlier positions it is next to, in order
+		final int[] start = new int[n+1];
+		for(int j = 0; j < n; j++) {
+			int v = ordering.vertexAt(j);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				if(ordering.positionOf(graph.neighbor(k)) < j)
+					start[j+1]++;
+			}
+		}
+		for(int j = 0; j < n; j++) {
+			start[j+1] += start[j];
+		}
+		final int[] earlier = new int[start[n]];
+		int[] fill = new int[n];
+		System.arraycopy(start, 0, fill, 0, n);
+		// Going through the positions in order adds them to each list in order
+		for(int j = 0; j < n; j++) {
+			int v = ordering.vertexAt(j);
+			for(int k = graph.neighborsStart(v); k < graph.neighborsEnd(v); k++) {
+				int i = ordering.positionOf(graph.neighbor(k));
+				if(i > j)
+					earlier[fill[i]++] = j;
+			}
+		}
+		
+		// The count for a position is only added to by the chunks, it is turned into IDs at the end
+		final AtomicIntegerArray counts = new AtomicIntegerArray(n);
+		final int chunks = threads <= 1 ? 1 : threads*4;
+		final long[] chunkTotals = new long[chunks];
+		ParallelRange.forEach(n, chunks, new ParallelRange.Body() {
+			@Override
+			public void run(int chunk, int first, int end) {
+				long total = 0;
+				for(int j = first; j < end; j++) {
+					int found = 0;
+					for(int a = start[j]; a < start[j+1]; a++) {
+						int middle = earlier[a];
+						// The last vertices are the ones both point to
+						int x = start[j], y = start[middle];
+						while(x < start[j+1] && y < start[middle+1]) {
+							if(earlier[x] < earlier[y])
+								x++;
+							else if(earlier[x] > earlier[y])
+								y++;
+							else {
+								counts.incrementAndGet(middle);
+								counts.incrementAndGet(earlier[x]);
+								found++;
+								x++;
+								y++;
+							}
+						}
+					}
+					if(found > 0)
+						counts.addAndGet(j, found);
+					total += found;
+				}
+				chunkTotals[chunk] = total;
+			}
+		});
+		
+		long totalTriangles = 0;
+		for(long t : chunkTotals) {
+			totalTriangles += t;
+		}
+		int[] triangles = new int[n];
+		int[] degrees = new int[n];
+		int cliqueBound = n > 0 ? 1 : 0;
+		for(int j = 0; j < n; j++) {
+			int v = ordering.vertexAt(j);
+			triangles[v] = counts.get(j);
+			degrees[v] = graph.degree(v);
+			// A vertex in a clique of k is in at least k-1 choose 2 triangles and is in the (k-1)-core
+			int k = Math.min(cliqueFromTriangles(triangles[v]), cores.coreOf(v)+1);
+			if(k > cliqueBound)
+				cliqueBound = k;
+		}
+		return new TriangleStatistics(triangles, degrees, totalTriangles, cliqueBound);
+	}
+	
+	/**
+	 * @param t A number of triangles at one vertex.
+	 * @return the largest k such that a vertex in a clique of k can have only t triangles
+	 */
+	private static int cliqueFromTriangles(int t) {
+		// (k-1)(k-2)/2 <= t
+		int k = (int) ((3+Math.sqrt(1+8.0*t))/2);
+		while((long) (k-1)*(k-2)/2 > t)
+			k--;
+		while((long) k*(k-1)/2 <= t)
+			k++;
+		return k;
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the number of triangles the vertex is in
+	 */
+	public int trianglesOf(int v) {
+		return triangles[v];
+	}
+	
+	/**
+	 * @param v A vertex ID.
+	 * @return the share of pairs of neighbors of the vertex that are next to each other, or 0 for
+	 * a vertex with less than two neighbors
+	 */
+	public double clusteringOf(int v) {
+		int d = degrees[v];
+		if(d < 2)
+			return 0;
+		return 2.0*triangles[v]/((double) d*(d-1));
+	}
+	
+	/**
+	 * @return the number of vertices
+	 */
+	public int size() {
+		return triangles.length;
+	}
+	
+	/**
+	 * @return the number of triangles in the graph
+	 */
+	public long getTriangleCount() {
+		return totalTriangles;
+	}
+	
+	/**
+	 * @return the average of the local clustering coefficients
+	 */
+	public double getAverageClustering() {
+		if(triangles.length == 0)
+			return 0;
+		double sum = 0;
+		for(int v = 0; v < triangles.length; v++) {
+			sum += clusteringOf(v);
+		}
+		return sum/triangles.length;
+	}
+	
+	/**
+	 * @return three times the triangles over the paths of two edges, the global clustering coefficient
+	 */
+	public double getGlobalClustering() {
+		return wedges == 0 ? 0 : 3.0*totalTriangles/wedges;
+	}
+	
+	/**
+	 * @return the largest clique the graph can have, from the triangles and core number of each vertex
+	 */
+	public int getCliqueBound() {
+		return cliqueBound;
+	}
+}
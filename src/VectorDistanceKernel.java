@@ -0,0 +1,227 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * This class tests the blocks of the DistanceKernel with the vector instructions of the processor,
+ * as many candidates at once as there are lanes in its widest vector of doubles. Each lane takes the
+ * difference the other way around, which only flips its sign, and does the same products and sums in the
+ * same order as the scalar loop, with no fused multiply and add, so every distance is rounded the same way
+ * and the masks are exactly the same. The compiler did not always turn the subtraction from the point
+ * into a vector instruction, but it does the subtraction of the point. The candidates
+ * past the last full vector of a block are left to the scalar loop. The comparison is turned into bits
+ * by keeping the bit of each lane that passed and adding the lanes up, because turning a vector mask
+ * into a long directly is not done with vector instructions by this version of the module and was
+ * slower than the scalar loop. Each number of dimensions has its own small method, since the compiler
+ * only turns the vector calls into instructions in methods it can compile whole.
+ * It needs the jdk.incubator.vector module, so it is compiled and run with
+ * --add-modules jdk.incubator.vector. Without it the DistanceKernel cannot load this class and keeps
+ * testing the blocks itself.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class VectorDistanceKernel extends DistanceKernel {
+	
+	/**
+	 * The widest vector of doubles the processor has.
+	 */
+	private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+	
+	/**
+	 * The vector of longs with as many lanes as the vector of doubles.
+	 */
+	private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+	
+	/**
+	 * The vector of ints with as many lanes as the vector of doubles, which is half as wide.
+	 */
+	private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length()*32));
+	
+	/**
+	 * The number of lanes in each vector.
+	 */
+	private static final int LANES = DOUBLES.length();
+	
+	/**
+	 * The bit of each lane, 1 in the first lane, 2 in the second and so on.
+	 */
+	private static final LongVector LANE_BITS = laneBits();
+	
+	/**
+	 * No bits in any lane.
+	 */
+	private static final LongVector NO_BITS = LongVector.zero(LONGS);
+	
+	/**
+	 * The kernel is made by the DistanceKernel when the module is there.
+	 */
+	public VectorDistanceKernel() {
+	}
+	
+	/* (non-Javadoc)
+	 * @see DistanceKernel#mask(double, double, double, double[][], int, int, double)
+	 */
+	@Override
+	public long mask(double x, double y, double z, double[][] coords, int from, int count, double distanceSq) {
+		int full = count - count%LANES;
+		long mask = coords.length == 2 ? mask2D(x, y, coords, from, full, distanceSq) : mask3D(x, y, z, coords, from, full, distanceSq);
+		if(full < count)
+			mask |= super.mask(x, y, z, coords, from+full, count-full, distanceSq) << full;
+		return mask;
+	}
+	
+	/* (non-Javadoc)
+	 * @see DistanceKernel#maskFixed(int, int, int, int[][], int, int, long)
+	 */
+	@Override
+	public long maskFixed(int x, int y, int z, int[][] fixed, int from, int count, long limit) {
+		int full = count - count%LANES;
+		long mask = fixed.length == 2 ? maskFixed2D(x, y, fixed, from, full, limit) : maskFixed3D(x, y, z, fixed, from, full, limit);
+		if(full < count)
+			mask |= super.maskFixed(x, y, z, fixed, from+full, count-full, limit) << full;
+		return mask;
+	}
+	
+	/**
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param coords The coordinates of the candidates, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param full The number of candidates to test, a multiple of the number of lanes.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @return the mask with bit k set if the candidate at from+k is within the distance
+	 */
+	private static long mask2D(double x, double y, double[][] coords, int from, int full, double distanceSq) {
+		double[] xs = coords[0];
+		double[] ys = coords[1];
+		DoubleVector px = DoubleVector.broadcast(DOUBLES, x);
+		DoubleVector py = DoubleVector.broadcast(DOUBLES, y);
+		DoubleVector limit = DoubleVector.broadcast(DOUBLES, distanceSq);
+		long mask = 0;
+		for(int k = 0; k < full; k += LANES) {
+			DoubleVector dx = DoubleVector.fromArray(DOUBLES, xs, from+k).sub(px);
+			DoubleVector dy = DoubleVector.fromArray(DOUBLES, ys, from+k).sub(py);
+			DoubleVector d = dx.mul(dx).add(dy.mul(dy));
+			mask |= bits(d.compare(VectorOperators.LE, limit).cast(LONGS)) << k;
+		}
+		return mask;
+	}
+	
+	/**
+	 * @param x The horizontal location of the point.
+	 * @param y The vertical location of the point.
+	 * @param z The depth location of the point.
+	 * @param coords The coordinates of the candidates, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param full The number of candidates to test, a multiple of the number of lanes.
+	 * @param distanceSq The distance squared maximum for a neighbor.
+	 * @return the mask with bit k set if the candidate at from+k is within the distance
+	 */
+	private static long mask3D(double x, double y, double z, double[][] coords, int from, int full, double distanceSq) {
+		double[] xs = coords[0];
+		double[] ys = coords[1];
+		double[] zs = coords[2];
+		DoubleVector px = DoubleVector.broadcast(DOUBLES, x);
+		DoubleVector py = DoubleVector.broadcast(DOUBLES, y);
+		DoubleVector pz = DoubleVector.broadcast(DOUBLES, z);
+		DoubleVector limit = DoubleVector.broadcast(DOUBLES, distanceSq);
+		long mask = 0;
+		for(int k = 0; k < full; k += LANES) {
+			DoubleVector dx = DoubleVector.fromArray(DOUBLES, xs, from+k).sub(px);
+			DoubleVector dy = DoubleVector.fromArray(DOUBLES, ys, from+k).sub(py);
+			DoubleVector dz = DoubleVector.fromArray(DOUBLES, zs, from+k).sub(pz);
+			DoubleVector d = dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz));
+			mask |= bits(d.compare(VectorOperators.LE, limit).cast(LONGS)) << k;
+		}
+		return mask;
+	}
+	
+	/**
+	 * @param x The horizontal location of the point in steps.
+	 * @param y The vertical location of the point in steps.
+	 * @param fixed The coordinates of the candidates in steps, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param full The number of candidates to test, a multiple of the number of lanes.
+	 * @param limit The largest squared distance in steps to set the bit for.
+	 * @return the mask with bit k set if the candidate at from+k is at most the limit away
+	 */
+	private static long maskFixed2D(int x, int y, int[][] fixed, int from, int full, long limit) {
+		int[] xs = fixed[0];
+		int[] ys = fixed[1];
+		IntVector px = IntVector.broadcast(INTS, x);
+		IntVector py = IntVector.broadcast(INTS, y);
+		LongVector most = LongVector.broadcast(LONGS, limit);
+		long mask = 0;
+		for(int k = 0; k < full; k += LANES) {
+			// The differences are taken in ints and then widened, like the scalar loop does, so they wrap the same way
+			LongVector dx = widen(IntVector.fromArray(INTS, xs, from+k).sub(px));
+			LongVector dy = widen(IntVector.fromArray(INTS, ys, from+k).sub(py));
+			LongVector d = dx.mul(dx).add(dy.mul(dy));
+			mask |= bits(d.compare(VectorOperators.LE, most)) << k;
+		}
+		return mask;
+	}
+	
+	/**
+	 * @param x The horizontal location of the point in steps.
+	 * @param y The vertical location of the point in steps.
+	 * @param z The depth location of the point in steps.
+	 * @param fixed The coordinates of the candidates in steps, one array for each axis.
+	 * @param from The position of the first candidate in the block.
+	 * @param full The number of candidates to test, a multiple of the number of lanes.
+	 * @param limit The largest squared distance in steps to set the bit for.
+	 * @return the mask with bit k set if the candidate at from+k is at most the limit away
+	 */
+	private static long maskFixed3D(int x, int y, int z, int[][] fixed, int from, int full, long limit) {
+		int[] xs = fixed[0];
+		int[] ys = fixed[1];
+		int[] zs = fixed[2];
+		IntVector px = IntVector.broadcast(INTS, x);
+		IntVector py = IntVector.broadcast(INTS, y);
+		IntVector pz = IntVector.broadcast(INTS, z);
+		LongVector most = LongVector.broadcast(LONGS, limit);
+		long mask = 0;
+		for(int k = 0; k < full; k += LANES) {
+			LongVector dx = widen(IntVector.fromArray(INTS, xs, from+k).sub(px));
+			LongVector dy = widen(IntVector.fromArray(INTS, ys, from+k).sub(py));
+			LongVector dz = widen(IntVector.fromArray(INTS, zs, from+k).sub(pz));
+			LongVector d = dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz));
+			mask |= bits(d.compare(VectorOperators.LE, most)) << k;
+		}
+		return mask;
+	}
+	
+	/**
+	 * @return the bit of each lane
+	 */
+	private static LongVector laneBits() {
+		long[] bits = new long[LONGS.length()];
+		for(int i = 0; i < bits.length; i++) {
+			bits[i] = 1L << i;
+		}
+		return LongVector.fromArray(LONGS, bits, 0);
+	}
+	
+	/**
+	 * @param passed The lanes that passed the comparison.
+	 * @return the bits of those lanes together
+	 */
+	private static long bits(VectorMask<Long> passed) {
+		return NO_BITS.blend(LANE_BITS, passed).reduceLanes(VectorOperators.OR);
+	}
+	
+	/**
+	 * @param v The ints.
+	 * @return the same numbers as longs, in a vector twice as wide
+	 */
+	private static LongVector widen(IntVector v) {
+		return (LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0);
+	}
+}
@@ -0,0 +1,144 @@
+import java.util.Arrays;
+
+/**
+ * This class times the smallest last ordering and the colorings with the points numbered in the order
+ * they were generated and numbered along the Hilbert and Morton curves. For each setting a graph is made
+ * with each numbering, from its own random points of the same distribution, count and radius, and then the
+ * graph that can not be changed is copied from the points, ordered and colored again in a few rounds that
+ * go through the numberings in turn, keeping the quickest of each. Each run starts after a garbage collection,
+ * and everything is first run on a small graph so that it is compiled before it is timed.
+ * The time to create the points, which includes the numbering and finding the edges, is from a single run.
+ * The last column is how many times quicker the copy, ordering and greedy coloring are together than with
+ * the generated numbering.
+ * The arguments are the vertex counts and then, after a dash, the average degrees, if other ones are wanted.
+ * For example: 200000 1000000 - 32
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 19, 2012
+ */
+public class VertexNumberingBenchmark {
+	
+	/**
+	 * The number of rounds in which each graph is ordered and colored, keeping the quickest.
+	 */
+	private static final int RUNS = 5;
+	
+	/**
+	 * @param args The vertex counts, a dash and the average degrees, or nothing for the usual settings.
+	 */
+	public static void main(String[] args) {
+		int[] counts = {200000, 500000};
+		int[] degrees = {16, 64};
+		if(args.length > 0) {
+			int dash = args.length;
+			for(int i = 0; i < args.length; i++) {
+				if(args[i].equals("-"))
+					dash = i;
+			}
+			counts = new int[dash];
+			for(int i = 0; i < dash; i++) {
+				counts[i] = Integer.parseInt(args[i]);
+			}
+			if(dash < args.length) {
+				degrees = new int[args.length-dash-1];
+				for(int i = 0; i < degrees.length; i++) {
+					degrees[i] = Integer.parseInt(args[dash+1+i]);
+				}
+			}
+		}
+		RandomGeometricGraph.VertexNumbering[] numberings = RandomGeometricGraph.VertexNumbering.values();
+		
+		// Warm up every numbering on a small graph
+		for(RandomGeometricGraph.VertexNumbering numbering : numberings) {
+			RandomGeometricGraph rgg = makeGraph("square");
+			rgg.setVertexNumbering(numbering);
+			rgg.createPoints(20000, rgg.estimateRadius(20000, 32, 0.05));
+			time(rgg, new double[4]);
+		}
+		
+		System.out.println("Distribution,N,Avg Degree,Numbering,Create ms,Graph ms,SLO ms,Greedy ms,DSATUR ms,Colors,Max Degree when deleted,Speedup");
+		for(String distribution : new String[] {"square", "disk", "rim", "sphere"}) {
+			for(int n : counts) {
+				for(int degree : degrees) {
+					RandomGeometricGraph[] graphs = new RandomGeometricGraph[numberings.length];
+					double[] create = new double[numberings.length];
+					double r = makeGraph(distribution).estimateRadius(n, degree, 0.02);
+					for(int k = 0; k < numberings.length; k++) {
+						graphs[k] = makeGraph(distribution);
+						graphs[k].setVertexNumbering(numberings[k]);
+						System.gc();
+						long start = System.nanoTime();
+						graphs[k].createPoints(n, r);
+						create[k] = (System.nanoTime()-start)/1e6;
+					}
+					
+					double[][] times = new double[numberings.length][4];
+					for(double[] t : times) {
+						Arrays.fill(t, Double.MAX_VALUE);
+					}
+					int[][] results = new int[numberings.length][];
+					for(int run = 0; run < RUNS; run++) {
+						for(int k = 0; k < numberings.length; k++) {
+							results[k] = time(graphs[k], times[k]);
+						}
+					}
+					
+					double before = times[0][0]+times[0][1]+times[0][2];
+					for(int k = 0; k < numberings.length; k++) {
+						double after = times[k][0]+times[k][1]+times[k][2];
+						System.out.println(String.format("%s,%d,%d,%s,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%.2f", graphs[k].distributionType(),
+								n, degree, numberings[k], create[k], times[k][0], times[k][1], times[k][2], times[k][3],
+								results[k][0], results[k][1], before/after));
+					}
+					graphs = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param distribution square, disk, rim or sphere
+	 * @return a new graph of that distribution
+	 */
+	private static RandomGeometricGraph makeGraph(String distribution) {
+		if(distribution.equals("disk"))
+			return new RGGUnitCircle(650, 650);
+		else if(distribution.equals("rim"))
+			return new RGGDenseDisk(650, 650);
+		else if(distribution.equals("sphere"))
+			return new RGGSphere(650, 650);
+		else
+			return new RGGUnitSquare(650, 650);
+	}
+	
+	/**
+	 * This copies the graph from the points, orders it smallest last and colors it greedily and with DSATUR.
+	 * 
+	 * @param rgg the graph with its points and edges already made
+	 * @param best the quickest times so far in milliseconds of the copy, ordering, greedy coloring and DSATUR, which are lowered
+	 * @return the number of greedy colors and the max degree when deleted
+	 */
+	private static int[] time(RandomGeometricGraph rgg, double[] best) {
+		System.gc();
+		long start = System.nanoTime();
+		ImmutableGraph graph = new ImmutableGraph(rgg.getListOfPoints());
+		long copied = System.nanoTime();
+		Ordering ordering = new SmallestLastOrdering().order(graph);
+		long ordered = System.nanoTime();
+		Coloring coloring = Coloring.greedy(graph, ordering);
+		long colored = System.nanoTime();
+		Coloring.dsatur(graph);
+		long saturated = System.nanoTime();
+		best[0] = Math.min(best[0], (copied-start)/1e6);
+		best[1] = Math.min(best[1], (ordered-copied)/1e6);
+		best[2] = Math.min(best[2], (colored-ordered)/1e6);
+		best[3] = Math.min(best[3], (saturated-colored)/1e6);
+		
+		int maxDegreeWhenDeleted = 0;
+		for(int j = 0; j < ordering.size(); j++) {
+			maxDegreeWhenDeleted = Math.max(maxDegreeWhenDeleted, ordering.degreeRemovedAt(j));
+		}
+		return new int[] {coloring.getNumberOfColors(), maxDegreeWhenDeleted};
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * This interface is a way of choosing the order the vertices of a graph are colored in.
+ * Each strategy makes an Ordering from an ImmutableGraph without changing it, so different
+ * strategies can be run on the same graph and compared by how many colors they lead to
+ * against how long they take.
+ * 
+ * @author Vladimir Jovanovic
+ * @version 1.0.0
+ * @since December 17, 2012
+ */
+public interface VertexOrdering {
+	
+	/**
+	 * This orders the vertices of a graph.
+	 * 
+	 * @param graph The graph to order.
+	 * @return the ordering, with the vertex to color first at position 0
+	 */
+	public Ordering order(ImmutableGraph graph);
+	
+	/**
+	 * @return the name of the strategy for the reports
+	 */
+	public String getName();
+}